@@ -0,0 +1,58 @@
+package com.Assignment.Task_Tracker.Benchmark;
+
+import com.Assignment.Task_Tracker.Security.JwtUtil;
+import com.Assignment.Task_Tracker.Security.TokenVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT issue and verification: raw parsing through {@link JwtUtil} and the cached path
+ * through {@link TokenVerifier} used by the authentication filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-32-bytes";
+
+    private JwtUtil jwtUtil;
+    private TokenVerifier tokenVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L);
+        tokenVerifier = new TokenVerifier(jwtUtil, 10_000);
+        token = jwtUtil.generateToken("user-1");
+        tokenVerifier.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user-1");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "user-1");
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return tokenVerifier.verify(token);
+    }
+}
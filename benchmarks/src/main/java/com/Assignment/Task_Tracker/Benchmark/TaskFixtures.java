@@ -0,0 +1,63 @@
+package com.Assignment.Task_Tracker.Benchmark;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.Team;
+import com.Assignment.Task_Tracker.Entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached, fully populated entities shaped like a typical team page.
+ */
+public final class TaskFixtures {
+
+    private TaskFixtures() {
+        // Utility class
+    }
+
+    public static List<Task> tasks(int count) {
+        User creator = user("creator", "Ada", "Lovelace");
+        User assignee = user("assignee", "Grace", "Hopper");
+        Team team = Team.builder()
+                .id("team-1")
+                .name("Platform")
+                .description("Platform team")
+                .createdBy(creator)
+                .build();
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 9, 30);
+        Task.Priority[] priorities = Task.Priority.values();
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.builder()
+                    .id("task-" + i)
+                    .title("Task number " + i)
+                    .description("Investigate and fix the issue reported in ticket #" + (1000 + i))
+                    .dueDate(now.plusDays(i % 30))
+                    .priority(priorities[i % priorities.length])
+                    .status(statuses[i % statuses.length])
+                    .team(team)
+                    .createdBy(creator)
+                    .assignedTo(i % 3 == 0 ? null : assignee)
+                    .createdAt(now.minusHours(i))
+                    .updatedAt(now)
+                    .commentCount(i % 7)
+                    .attachmentCount(i % 2)
+                    .build());
+        }
+        return tasks;
+    }
+
+    private static User user(String id, String firstName, String lastName) {
+        return User.builder()
+                .id(id)
+                .username(id)
+                .email(id + "@example.com")
+                .firstName(firstName)
+                .lastName(lastName)
+                .build();
+    }
+}
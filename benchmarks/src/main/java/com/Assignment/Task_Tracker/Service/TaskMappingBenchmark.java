@@ -0,0 +1,61 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Benchmark.TaskFixtures;
+import com.Assignment.Task_Tracker.DTO.TaskResponse;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to {@link TaskResponse} mapping, once per task in a page. Lives in the service
+ * package so it can call {@link TaskService}'s package-private mapper directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"50", "200"})
+    int pageSize;
+
+    private List<Task> tasks;
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        tasks = TaskFixtures.tasks(pageSize);
+        // Mapping touches no collaborators
+        taskService = new TaskService(null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public void taskServiceMapping(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(taskService.mapToTaskResponse(task));
+        }
+    }
+
+    @Benchmark
+    public void taskMapperMapping(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(TaskMapper.mapToTaskResponse(task));
+        }
+    }
+}
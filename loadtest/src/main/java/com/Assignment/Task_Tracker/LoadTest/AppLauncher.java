@@ -0,0 +1,34 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+import com.Assignment.Task_Tracker.TaskTrackerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application in this JVM on a random port against the load-test database.
+ * SQL logging is switched off so the log does not become the bottleneck being measured.
+ */
+final class AppLauncher {
+
+    private AppLauncher() {
+        // Utility class
+    }
+
+    static ConfigurableApplicationContext start(LoadTestOptions options) {
+        return SpringApplication.run(TaskTrackerApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + options.jdbcUrl(),
+                "--spring.datasource.username=" + options.dbUser(),
+                "--spring.datasource.password=" + options.dbPassword(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.com.Assignment.Task_Tracker=INFO");
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return "http://localhost:" + port + contextPath;
+    }
+}
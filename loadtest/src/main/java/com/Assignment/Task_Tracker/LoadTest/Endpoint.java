@@ -0,0 +1,23 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+/**
+ * The request types a run mixes, named as they appear in the report.
+ */
+enum Endpoint {
+    LIST_TASKS("GET /tasks"),
+    TEAM_TASKS("GET /teams/{teamId}/tasks"),
+    GET_TASK("GET /tasks/{taskId}"),
+    CREATE_TASK("POST /tasks"),
+    UPDATE_STATUS("PATCH /tasks/{taskId}/status"),
+    LOGIN("POST /auth/login");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
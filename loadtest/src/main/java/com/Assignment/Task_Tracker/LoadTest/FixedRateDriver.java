@@ -0,0 +1,154 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model driver: arrivals are scheduled at a fixed rate regardless of how fast the server
+ * answers, each on behalf of a randomly chosen seeded user. Reads, writes and logins are mixed
+ * according to the options; arrivals beyond {@code maxInFlight} are counted as dropped.
+ */
+@Slf4j
+final class FixedRateDriver {
+
+    private final ApiClient api;
+    private final LoadTestOptions options;
+    private final Seeder.SeedData data;
+    private final LatencyReport report;
+    private final AtomicReferenceArray<String> tokens;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger createdTasks = new AtomicInteger();
+
+    FixedRateDriver(ApiClient api, LoadTestOptions options, Seeder.SeedData data, LatencyReport report) {
+        this.api = api;
+        this.options = options;
+        this.data = data;
+        this.report = report;
+        this.tokens = new AtomicReferenceArray<>(data.users().size());
+        for (int i = 0; i < data.users().size(); i++) {
+            tokens.set(i, data.users().get(i).token());
+        }
+    }
+
+    /**
+     * Runs warmup then the measured period and returns the measured wall time.
+     */
+    Duration run() {
+        Random random = new Random(options.seed());
+        long interval = 1_000_000_000L / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        log.info("Driving {} req/s for {}s warmup + {}s measured", options.rate(),
+                options.warmup().toSeconds(), options.duration().toSeconds());
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pick(random);
+            int user = random.nextInt(data.users().size());
+            int n = random.nextInt(Integer.MAX_VALUE);
+            boolean measured = intended >= measureFrom;
+
+            if (inFlight.get() >= options.maxInFlight()) {
+                if (measured) {
+                    report.dropped(endpoint);
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            CompletableFuture<HttpResponse<byte[]>> call;
+            try {
+                call = send(endpoint, user, n);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intended;
+                inFlight.decrementAndGet();
+                boolean success = error == null && response.statusCode() / 100 == 2;
+                if (success) {
+                    onSuccess(endpoint, user, response);
+                }
+                if (measured) {
+                    report.record(endpoint, latency, success);
+                }
+            });
+        }
+        awaitDrain();
+        log.info("Run finished, {} tasks created during the run", createdTasks.get());
+        return options.duration();
+    }
+
+    private Endpoint pick(Random random) {
+        double roll = random.nextDouble();
+        if (roll < options.loginRatio()) {
+            return Endpoint.LOGIN;
+        }
+        if (roll < options.loginRatio() + options.writeRatio()) {
+            return random.nextBoolean() ? Endpoint.CREATE_TASK : Endpoint.UPDATE_STATUS;
+        }
+        double read = random.nextDouble();
+        return read < 0.4 ? Endpoint.LIST_TASKS : read < 0.7 ? Endpoint.TEAM_TASKS : Endpoint.GET_TASK;
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(Endpoint endpoint, int user, int n) {
+        Seeder.SeededUser seeded = data.users().get(user);
+        Seeder.SeededTeam team = data.teams().get(seeded.team());
+        String token = tokens.get(user);
+        return switch (endpoint) {
+            case LIST_TASKS -> api.send("GET", "/tasks?limit=50", token, null);
+            case TEAM_TASKS -> api.send("GET", "/teams/" + team.id() + "/tasks", token, null);
+            case GET_TASK -> api.send("GET", "/tasks/" + randomTask(team, n), token, null);
+            case CREATE_TASK -> api.send("POST", "/tasks", token, TaskPayloads.create(team.id(), n));
+            case UPDATE_STATUS -> {
+                String ownerId = data.users().get(team.owner()).id();
+                yield api.send("PATCH", "/tasks/" + randomTask(team, n) + "/status", token,
+                        TaskPayloads.status(n, ownerId));
+            }
+            case LOGIN -> api.send("POST", "/auth/login", null,
+                    Map.of("email", seeded.email(), "password", Seeder.PASSWORD));
+        };
+    }
+
+    private void onSuccess(Endpoint endpoint, int user, HttpResponse<byte[]> response) {
+        if (endpoint == Endpoint.CREATE_TASK) {
+            createdTasks.incrementAndGet();
+            JsonNode task = api.readTree(response.body());
+            data.teams().get(data.users().get(user).team()).taskIds().add(task.path("id").asText());
+        } else if (endpoint == Endpoint.LOGIN) {
+            tokens.set(user, api.readTree(response.body()).path("token").asText());
+        }
+    }
+
+    private static String randomTask(Seeder.SeededTeam team, int n) {
+        List<String> ids = team.taskIds();
+        return ids.get(n % ids.size());
+    }
+
+    private void awaitDrain() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still outstanding after the run", inFlight.get());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and counters for the measured part of a run.
+ * <p>
+ * Latency is taken from the arrival's scheduled start, not from when it was actually sent, so
+ * a stalled server shows up in the percentiles instead of silently lowering the request rate.
+ * Each endpoint's histogram is also embedded in compressed HdrHistogram form so runs can be
+ * merged or re-plotted later.
+ */
+final class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(5).toNanos() / 1000;
+
+    private static final class Stats {
+        final Histogram histogram = new ConcurrentHistogram(1, MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, boolean success) {
+        Stats s = stats.get(endpoint);
+        s.histogram.recordValue(Math.min(Math.max(1, latencyNanos / 1000), MAX_LATENCY_MICROS));
+        if (!success) {
+            s.errors.increment();
+        }
+    }
+
+    void dropped(Endpoint endpoint) {
+        stats.get(endpoint).dropped.increment();
+    }
+
+    String toTable(Duration measured) {
+        StringBuilder out = new StringBuilder(String.format("%n%-30s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "dropped", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        stats.forEach((endpoint, s) -> {
+            Histogram h = s.histogram;
+            out.append(String.format("%-30s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.label(), h.getTotalCount(), s.errors.sum(), s.dropped.sum(),
+                    h.getTotalCount() / seconds(measured),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue())));
+        });
+        return out.toString();
+    }
+
+    void writeJson(Path file, LoadTestOptions options, Duration measured) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode root = mapper.createObjectNode();
+        root.put("finishedAt", Instant.now().toString());
+        root.put("users", options.users());
+        root.put("teams", options.teams());
+        root.put("tasksPerTeam", options.tasksPerTeam());
+        root.put("targetRate", options.rate());
+        root.put("writeRatio", options.writeRatio());
+        root.put("loginRatio", options.loginRatio());
+        root.put("seed", options.seed());
+        root.put("measuredSeconds", seconds(measured));
+
+        ObjectNode endpoints = root.putObject("endpoints");
+        stats.forEach((endpoint, s) -> {
+            Histogram h = s.histogram;
+            ObjectNode node = endpoints.putObject(endpoint.label());
+            node.put("requests", h.getTotalCount());
+            node.put("errors", s.errors.sum());
+            node.put("dropped", s.dropped.sum());
+            node.put("throughputPerSecond", h.getTotalCount() / seconds(measured));
+            node.put("meanMs", h.getTotalCount() == 0 ? 0 : h.getMean() / 1000);
+            node.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            node.put("p90Ms", millis(h.getValueAtPercentile(90)));
+            node.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            node.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            node.put("maxMs", millis(h.getMaxValue()));
+            node.put("histogram", encode(h));
+        });
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        mapper.writeValue(file.toFile(), root);
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double seconds(Duration duration) {
+        return Math.max(duration.toMillis(), 1) / 1000.0;
+    }
+}
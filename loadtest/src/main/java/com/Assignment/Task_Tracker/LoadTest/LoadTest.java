@@ -0,0 +1,48 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+/**
+ * Entry point: optionally boots the app, seeds data, drives the mixed scenario at a fixed
+ * arrival rate and writes the latency report.
+ *
+ * <pre>
+ * java ... com.Assignment.Task_Tracker.LoadTest.LoadTest users=500 rate=800 duration=120
+ * </pre>
+ * See {@link LoadTestOptions} for every option.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext app = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl == null) {
+            app = AppLauncher.start(options);
+            baseUrl = AppLauncher.baseUrl(app);
+        }
+        try {
+            ApiClient api = new ApiClient(baseUrl);
+            log.info("Load testing {}", baseUrl);
+            Seeder.SeedData data = new Seeder(api, options).seed();
+
+            LatencyReport report = new LatencyReport();
+            Duration measured = new FixedRateDriver(api, options, data, report).run();
+
+            System.out.println(report.toTable(measured));
+            report.writeJson(options.report(), options, measured);
+            log.info("Report written to {}", options.report().toAbsolutePath());
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for one load-test run, parsed from {@code key=value} arguments.
+ *
+ * @param baseUrl         API root including the servlet context path; null boots the app in-process
+ * @param jdbcUrl         database for the in-process app, ideally a dedicated one
+ * @param dbUser          database user for the in-process app
+ * @param dbPassword      database password for the in-process app
+ * @param users           number of users to register; each becomes a virtual client
+ * @param teams           number of teams; users are spread evenly across them
+ * @param tasksPerTeam    tasks seeded into every team before the run
+ * @param rate            target arrivals per second across all endpoints
+ * @param warmup          period run at full rate but excluded from the report
+ * @param duration        measured period
+ * @param writeRatio      share of arrivals that create or update tasks
+ * @param loginRatio      share of arrivals that log in again
+ * @param maxInFlight     requests allowed outstanding before new arrivals are dropped
+ * @param seed            random seed, so the same options replay the same request mix
+ * @param report          where the JSON report is written
+ */
+public record LoadTestOptions(String baseUrl,
+                              String jdbcUrl,
+                              String dbUser,
+                              String dbPassword,
+                              int users,
+                              int teams,
+                              int tasksPerTeam,
+                              int rate,
+                              Duration warmup,
+                              Duration duration,
+                              double writeRatio,
+                              double loginRatio,
+                              int maxInFlight,
+                              long seed,
+                              Path report) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String trimmed = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            values.put(trimmed.substring(0, eq), trimmed.substring(eq + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.get("baseUrl"),
+                values.getOrDefault("jdbcUrl", "jdbc:postgresql://localhost:5432/tasktracker_load"),
+                values.getOrDefault("dbUser", "postgres"),
+                values.getOrDefault("dbPassword", "postgres"),
+                intValue(values, "users", 500),
+                intValue(values, "teams", 25),
+                intValue(values, "tasksPerTeam", 200),
+                intValue(values, "rate", 500),
+                Duration.ofSeconds(intValue(values, "warmup", 15)),
+                Duration.ofSeconds(intValue(values, "duration", 60)),
+                Double.parseDouble(values.getOrDefault("writeRatio", "0.2")),
+                Double.parseDouble(values.getOrDefault("loginRatio", "0.02")),
+                intValue(values, "maxInFlight", 5000),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report", "loadtest-report.json")));
+        if (options.users() < options.teams()) {
+            throw new IllegalArgumentException("Need at least one user per team");
+        }
+        if (options.writeRatio() + options.loginRatio() > 1) {
+            throw new IllegalArgumentException("writeRatio + loginRatio must not exceed 1");
+        }
+        return options;
+    }
+
+    private static int intValue(Map<String, String> values, String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
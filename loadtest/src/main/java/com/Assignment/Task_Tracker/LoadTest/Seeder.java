@@ -0,0 +1,157 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Creates the users, teams and tasks a run needs through the public API, so seeding also
+ * exercises registration and batch creation. Names carry a run id, so repeated runs against
+ * the same database do not collide.
+ */
+@Slf4j
+final class Seeder {
+
+    static final String PASSWORD = "load-test-password";
+    private static final int PARALLELISM = 16;
+    private static final int BATCH_SIZE = 500;
+
+    record SeededUser(String id, String email, String token, int team) {
+    }
+
+    record SeededTeam(String id, int owner, List<Integer> members, List<String> taskIds) {
+    }
+
+    record SeedData(List<SeededUser> users, List<SeededTeam> teams) {
+    }
+
+    private final ApiClient api;
+    private final LoadTestOptions options;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    Seeder(ApiClient api, LoadTestOptions options) {
+        this.api = api;
+        this.options = options;
+    }
+
+    SeedData seed() {
+        long start = System.nanoTime();
+        List<SeededUser> users = registerUsers();
+        List<SeededTeam> teams = createTeams(users);
+        log.info("Seeded {} users, {} teams and {} tasks in {} ms", users.size(), teams.size(),
+                teams.stream().mapToInt(t -> t.taskIds().size()).sum(), (System.nanoTime() - start) / 1_000_000);
+        return new SeedData(users, teams);
+    }
+
+    private List<SeededUser> registerUsers() {
+        int perTeam = options.users() / options.teams();
+        List<Supplier<SeededUser>> work = new ArrayList<>();
+        for (int i = 0; i < options.users(); i++) {
+            int index = i;
+            int team = Math.min(index / perTeam, options.teams() - 1);
+            work.add(() -> {
+                String username = "lt-" + runId + "-" + index;
+                String email = username + "@loadtest.local";
+                JsonNode auth = withRetry(() -> api.call("POST", "/auth/register", null, Map.of(
+                        "username", username,
+                        "email", email,
+                        "password", PASSWORD,
+                        "firstName", "Load",
+                        "lastName", "User " + index)));
+                return new SeededUser(auth.path("user").path("id").asText(), email,
+                        auth.path("token").asText(), team);
+            });
+        }
+        return runAll(work);
+    }
+
+    private List<SeededTeam> createTeams(List<SeededUser> users) {
+        List<Supplier<SeededTeam>> work = new ArrayList<>();
+        for (int t = 0; t < options.teams(); t++) {
+            int team = t;
+            work.add(() -> {
+                List<Integer> members = new ArrayList<>();
+                for (int i = 0; i < users.size(); i++) {
+                    if (users.get(i).team() == team) {
+                        members.add(i);
+                    }
+                }
+                SeededUser owner = users.get(members.get(0));
+                String teamId = withRetry(() -> api.call("POST", "/teams", owner.token(), Map.of(
+                        "name", "lt-" + runId + "-team-" + team,
+                        "description", "Load test team"))).path("id").asText();
+                for (int member : members.subList(1, members.size())) {
+                    withRetry(() -> api.call("POST", "/teams/" + teamId + "/members", owner.token(),
+                            Map.of("userId", users.get(member).id())));
+                }
+                return new SeededTeam(teamId, members.get(0), members, createTasks(teamId, owner));
+            });
+        }
+        return runAll(work);
+    }
+
+    private List<String> createTasks(String teamId, SeededUser owner) {
+        List<String> taskIds = new ArrayList<>(options.tasksPerTeam());
+        for (int offset = 0; offset < options.tasksPerTeam(); offset += BATCH_SIZE) {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + BATCH_SIZE, options.tasksPerTeam()); i++) {
+                batch.add(TaskPayloads.create(teamId, i));
+            }
+            JsonNode response = withRetry(() -> api.call("POST", "/tasks/batch", owner.token(),
+                    Map.of("tasks", batch)));
+            for (JsonNode result : response.path("results")) {
+                if (result.path("success").asBoolean()) {
+                    taskIds.add(result.path("task").path("id").asText());
+                }
+            }
+        }
+        return new CopyOnWriteArrayList<>(taskIds);
+    }
+
+    private <T> List<T> runAll(List<Supplier<T>> work) {
+        Semaphore permits = new Semaphore(PARALLELISM);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<T>> futures = work.stream()
+                    .map(task -> CompletableFuture.supplyAsync(() -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                            return task.get();
+                        } finally {
+                            permits.release();
+                        }
+                    }, executor))
+                    .toList();
+            return futures.stream().map(CompletableFuture::join).toList();
+        }
+    }
+
+    /**
+     * Retries while the server sheds load (429), honouring its Retry-After.
+     */
+    private static <T> T withRetry(Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (ApiClient.ApiException e) {
+                if (e.status() != 429 || attempt >= 10) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(e.retryAfterSeconds() * 1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+}
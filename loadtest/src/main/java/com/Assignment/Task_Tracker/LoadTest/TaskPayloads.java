@@ -0,0 +1,34 @@
+package com.Assignment.Task_Tracker.LoadTest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request bodies shared by seeding and the write scenarios.
+ */
+final class TaskPayloads {
+
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "IN_REVIEW", "DONE"};
+
+    private TaskPayloads() {
+        // Utility class
+    }
+
+    static Map<String, Object> create(String teamId, int n) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("title", "Load task " + n);
+        body.put("description", "Generated by the load driver, item " + n);
+        body.put("priority", PRIORITIES[n % PRIORITIES.length]);
+        body.put("projectId", teamId);
+        if (n % 4 != 0) {
+            body.put("dueDate", LocalDateTime.now().plusDays(n % 45).withNano(0));
+        }
+        return body;
+    }
+
+    static Map<String, Object> status(int n, String currentUserId) {
+        return Map.of("status", STATUSES[n % STATUSES.length], "currentUserId", currentUserId);
+    }
+}
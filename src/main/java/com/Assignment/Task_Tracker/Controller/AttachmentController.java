@@ -0,0 +1,246 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.DTO.AttachmentResponse;
+import com.Assignment.Task_Tracker.DTO.CreateUploadRequest;
+import com.Assignment.Task_Tracker.DTO.UploadSessionResponse;
+import com.Assignment.Task_Tracker.Service.AttachmentService;
+import com.Assignment.Task_Tracker.Service.AttachmentUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/tasks/{taskId}/attachments")
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    // Tomcat's sendfile request attributes (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Below this a plain copy is cheaper than handing the file to the poller
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private final AttachmentService attachmentService;
+    private final AttachmentUploadService uploadService;
+
+    /**
+     * Uploads an attachment. The request body is the raw file content (not multipart), read
+     * straight from the socket into the store; the name comes from the {@code fileName}
+     * parameter or a {@code Content-Disposition} header.
+     */
+    @PostMapping
+    public ResponseEntity<AttachmentResponse> upload(
+            @PathVariable String taskId,
+            @RequestParam(required = false) String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_DISPOSITION, required = false) String contentDisposition,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        String userId = (String) authentication.getPrincipal();
+        if (fileName == null && contentDisposition != null) {
+            fileName = ContentDisposition.parse(contentDisposition).getFilename();
+        }
+        AttachmentResponse attachment = attachmentService.upload(
+                taskId, userId, fileName, request.getContentType(), request.getInputStream());
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQuery(null)
+                        .path("/{attachmentId}")
+                        .buildAndExpand(attachment.getId())
+                        .toUri())
+                .body(attachment);
+    }
+
+    /**
+     * Opens a resumable upload. The response gives the chunk size to send the file in.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSessionResponse> createUpload(
+            @PathVariable String taskId,
+            @Valid @RequestBody CreateUploadRequest request,
+            Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(uploadService.createSession(taskId, userId, request));
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionResponse> getUpload(
+            @PathVariable String taskId,
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        return ResponseEntity.ok(uploadService.getSession(taskId, uploadId, userId));
+    }
+
+    /**
+     * Receives one chunk as the raw request body, with a {@code Content-Digest: sha-256=:…:}
+     * header. Chunks may be sent in any order and in parallel.
+     */
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    public ResponseEntity<Void> uploadChunk(
+            @PathVariable String taskId,
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestHeader(value = "Content-Digest", required = false) String contentDigest,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        String userId = (String) authentication.getPrincipal();
+        uploadService.uploadChunk(taskId, uploadId, index, userId, contentDigest, request.getInputStream());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<AttachmentResponse> completeUpload(
+            @PathVariable String taskId,
+            @PathVariable String uploadId,
+            Authentication authentication) throws IOException {
+        String userId = (String) authentication.getPrincipal();
+        AttachmentResponse attachment = uploadService.complete(taskId, uploadId, userId);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path(attachment.getFileUrl())
+                        .build()
+                        .toUri())
+                .body(attachment);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(
+            @PathVariable String taskId,
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        uploadService.abort(taskId, uploadId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Downloads an attachment. Stored content is immutable and tagged with its SHA-256, so
+     * {@code If-None-Match} and {@code If-Range} are exact, and a single byte range may be
+     * requested to resume a download. The file is handed to Tomcat's sendfile when the
+     * connector supports it, and otherwise copied with {@link FileChannel#transferTo}.
+     * Attachments that were never uploaded here redirect to their external URL.
+     */
+    @GetMapping("/{attachmentId}")
+    public void download(
+            @PathVariable String taskId,
+            @PathVariable String attachmentId,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Authentication authentication) throws IOException {
+        String userId = (String) authentication.getPrincipal();
+        AttachmentService.Download download = attachmentService.open(taskId, attachmentId, userId);
+        if (download.isExternal()) {
+            response.setStatus(HttpStatus.FOUND.value());
+            response.setHeader(HttpHeaders.LOCATION, download.file().getFileUrl());
+            return;
+        }
+
+        ETag etag = ETag.create("\"" + download.sha256() + "\"");
+        response.setHeader(HttpHeaders.ETAG, etag.formattedTag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = Files.size(download.path());
+        long start = 0;
+        long end = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Several ranges would need a multipart body; a full response is also correct
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size) + 1;
+                if (start >= size) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+            }
+        }
+
+        response.setContentType(download.file().getFileType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(download.file().getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentLengthLong(end - start);
+        send(request, response, download.path(), start, end);
+    }
+
+    private static void send(HttpServletRequest request, HttpServletResponse response,
+                             Path path, long start, long end) throws IOException {
+        if (end - start >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file from the kernel once this handler returns
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += file.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    /**
+     * Weak comparison, as RFC 9110 requires for {@code If-None-Match}.
+     */
+    private static boolean matchesAny(String header, ETag current) {
+        if (header == null) {
+            return false;
+        }
+        for (ETag candidate : ETag.parse(header)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A Range is served only if {@code If-Range} is absent or strongly matches the current
+     * tag; a date there is never exact enough for content that has no modification time.
+     */
+    private static boolean rangeApplies(String ifRange, ETag current) {
+        if (ifRange == null) {
+            return true;
+        }
+        ETag candidate = ETag.create(ifRange.trim());
+        return candidate.compare(current, true);
+    }
+}
@@ -1,13 +1,27 @@
 package com.Assignment.Task_Tracker.Controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+/**
+ * Kept for existing clients; reports the aggregated Actuator health ({@code /actuator/health}).
+ */
 @RestController
 @RequestMapping("/health")
+@RequiredArgsConstructor
 public class HealthController {
+
+    private final HealthEndpoint healthEndpoint;
+
     @GetMapping
     public ResponseEntity<String> healthCheck() {
-        return ResponseEntity.ok("OK");
+        Status status = healthEndpoint.health().getStatus();
+        return Status.UP.equals(status)
+                ? ResponseEntity.ok("OK")
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(status.getCode());
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,27 @@
 package com.Assignment.Task_Tracker.Controller;
 
+import com.Assignment.Task_Tracker.DTO.BatchCreateTasksRequest;
+import com.Assignment.Task_Tracker.DTO.BatchCreateTasksResponse;
+import com.Assignment.Task_Tracker.DTO.BulkTaskRequest;
+import com.Assignment.Task_Tracker.DTO.BulkTaskResponse;
 import com.Assignment.Task_Tracker.DTO.CreateTaskRequest;
 import com.Assignment.Task_Tracker.DTO.MessageResponse;
+import com.Assignment.Task_Tracker.DTO.TaskChangesResponse;
+import com.Assignment.Task_Tracker.DTO.TaskPageResponse;
 import com.Assignment.Task_Tracker.DTO.TaskResponse;
 import com.Assignment.Task_Tracker.DTO.UpdateTaskRequest;
+import com.Assignment.Task_Tracker.Service.ETags;
+import com.Assignment.Task_Tracker.Service.TaskBatchService;
 import com.Assignment.Task_Tracker.Service.TaskService;
+import com.Assignment.Task_Tracker.Service.TaskSyncService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -21,6 +32,8 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskSyncService taskSyncService;
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
@@ -31,47 +44,106 @@ public class TaskController {
                 .body(taskService.createTask(userId, request));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateTasksResponse> createTasks(
+            @Valid @RequestBody BatchCreateTasksRequest request,
+            Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        BatchCreateTasksResponse response = taskBatchService.createTasks(userId, request.getTasks());
+        return ResponseEntity.status(response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(response);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> applyBulk(
+            @Valid @RequestBody BulkTaskRequest request,
+            Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        return ResponseEntity.ok(taskBatchService.applyBulk(userId, request));
+    }
+
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks(
+    public ResponseEntity<TaskPageResponse> getAllTasks(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String search) {
-        return ResponseEntity.ok(taskService.getAllTasks(status, search));
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(taskService.getAllTasks(status, search, sort, limit, cursor));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskResponse>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.searchTasks(query, limit));
+    }
+
+    /**
+     * Delta sync for offline clients: tasks created, changed or deleted since {@code since}.
+     * Without a token the first page of a full sync is returned. A 410 means the token is
+     * too old and the client must drop its local copy and sync from scratch.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String teamId,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        return ResponseEntity.ok(taskSyncService.getChanges(userId, since, teamId, limit));
+    }
+
+    /**
+     * Conditional GET: with a matching If-None-Match the answer is a 304 decided from the
+     * task's version row alone, without loading or serializing the task.
+     */
     @GetMapping("/{taskId}")
-    public ResponseEntity<TaskResponse> getTask(@PathVariable String taskId) {
-        return ResponseEntity.ok(taskService.getTaskById(taskId));
+    public ResponseEntity<TaskResponse> getTask(@PathVariable String taskId, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(taskService.getTaskETag(taskId))) {
+            return null;
+        }
+        return withETag(taskService.getTaskById(taskId));
     }
 
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable String taskId,
-            @Valid @RequestBody UpdateTaskRequest request) {
-        return ResponseEntity.ok(taskService.updateTask(taskId, request));
+            @Valid @RequestBody UpdateTaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(taskService.updateTask(taskId, request, ifMatch));
     }
 
     @PatchMapping("/{taskId}/assign")
     public ResponseEntity<TaskResponse> assignTask(
             @PathVariable String taskId,
-            @RequestBody Map<String, String> body) {
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         String userId = body.get("userId");
-        return ResponseEntity.ok(taskService.assignTask(taskId, userId, body.get("currentUserId")));
+        return withETag(taskService.assignTask(taskId, userId, body.get("currentUserId"), ifMatch));
     }
 
     @PatchMapping("/{taskId}/status")
     public ResponseEntity<TaskResponse> updateStatus(
             @PathVariable String taskId,
-            @RequestBody Map<String, String> body) {
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         String status = body.get("status");
-        return ResponseEntity.ok(taskService.updateTaskStatus(taskId, status,body.get("currentUserId")));
+        return withETag(taskService.updateTaskStatus(taskId, status, body.get("currentUserId"), ifMatch));
     }
 
     @DeleteMapping("/{taskId}")
     public ResponseEntity<MessageResponse> deleteTask(
             @PathVariable String taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String userId = (String) authentication.getPrincipal();
-        taskService.deleteTask(taskId, userId);
+        taskService.deleteTask(taskId, userId, ifMatch);
         return ResponseEntity.ok(new MessageResponse("Task deleted successfully"));
     }
+
+    private static ResponseEntity<TaskResponse> withETag(TaskResponse task) {
+        return ResponseEntity.ok().eTag(ETags.forTask(task)).body(task);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 package com.Assignment.Task_Tracker.Controller;
 
 import com.Assignment.Task_Tracker.DTO.*;
+import com.Assignment.Task_Tracker.Events.TeamEventBroker;
+import com.Assignment.Task_Tracker.Service.TaskExportService;
 import com.Assignment.Task_Tracker.Service.TeamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,6 +25,8 @@ import java.util.List;
 public class TeamController {
 
     private final TeamService teamService;
+    private final TaskExportService taskExportService;
+    private final TeamEventBroker eventBroker;
 
     @PostMapping
     public ResponseEntity<TeamResponse> createTeam(
@@ -34,9 +44,56 @@ public class TeamController {
         return ResponseEntity.ok(teamService.addMember(teamId, request));
     }
 
+    /**
+     * Conditional GET keyed on the team's change stamp; a matching If-None-Match gets a 304
+     * without the tasks being loaded.
+     */
     @GetMapping("/{teamId}/tasks")
-    public ResponseEntity<List<TaskResponse>> getTeamTasks(@PathVariable String teamId) {
-        return ResponseEntity.ok(teamService.getTeamTasks(teamId));
+    public ResponseEntity<List<TaskResponse>> getTeamTasks(@PathVariable String teamId, WebRequest webRequest) {
+        String eTag = teamService.getTeamTasksETag(teamId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(teamService.getTeamTasks(teamId));
+    }
+
+    /**
+     * Task counts by status, priority and assignee, read from the team's precomputed stats.
+     */
+    @GetMapping("/{teamId}/summary")
+    public ResponseEntity<TeamSummaryResponse> getTeamSummary(@PathVariable String teamId) {
+        return ResponseEntity.ok(teamService.getTeamSummary(teamId));
+    }
+
+    /**
+     * Server-Sent Events stream of the team's task changes. A reconnecting client sends the
+     * last id it saw in Last-Event-ID and receives the events it missed, or a reset event if
+     * they are no longer buffered.
+     */
+    @GetMapping(path = "/{teamId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @PathVariable String teamId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        return eventBroker.subscribe(teamId, userId, lastEventId);
+    }
+
+    @GetMapping("/{teamId}/tasks/export")
+    public ResponseEntity<StreamingResponseBody> exportTeamTasks(
+            @PathVariable String teamId,
+            @RequestParam(required = false) String format) {
+        TaskExportService.ExportFormat exportFormat = TaskExportService.ExportFormat.fromParam(format);
+        taskExportService.assertTeamExists(teamId);
+
+        StreamingResponseBody body = out -> taskExportService.exportTeamTasks(teamId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("team-" + teamId + "-tasks." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @PostMapping("/tasks/{taskId}/comments")
@@ -49,8 +106,15 @@ public class TeamController {
                 .body(teamService.addComment(taskId, userId, request));
     }
 
+    /**
+     * A task's comments, oldest first, {@code limit} at a time. Follow {@code nextCursor}
+     * for the rest of the thread.
+     */
     @GetMapping("/tasks/{taskId}/comments")
-    public ResponseEntity<List<CommentResponse>> getTaskComments(@PathVariable String taskId) {
-        return ResponseEntity.ok(teamService.getTaskComments(taskId));
+    public ResponseEntity<CommentPageResponse> getTaskComments(
+            @PathVariable String taskId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(teamService.getTaskComments(taskId, limit, cursor));
     }
 }
\ No newline at end of file
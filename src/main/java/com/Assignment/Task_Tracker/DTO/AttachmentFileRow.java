@@ -0,0 +1,19 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What a download needs to know about an attachment: where its bytes are, how to label
+ * them, and the team whose members may read them.
+ */
+@Getter
+@AllArgsConstructor
+public class AttachmentFileRow {
+    private String id;
+    private String teamId;
+    private String fileName;
+    private String fileType;
+    private Long fileSize;
+    private String fileUrl;
+}
@@ -0,0 +1,14 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchCreateTasksRequest {
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 2000, message = "At most 2000 tasks can be created per batch")
+    private List<CreateTaskRequest> tasks;
+}
@@ -0,0 +1,19 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateTasksResponse {
+    private int requested;
+    private int created;
+    private int failed;
+    private List<BatchItemResult> results;
+}
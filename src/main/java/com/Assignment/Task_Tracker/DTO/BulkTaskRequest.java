@@ -0,0 +1,30 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A bulk change applied to the tasks selected either by {@code taskIds} or by {@code filter}.
+ * {@code value} is the new status, priority or assignee ID, depending on {@code action}.
+ */
+@Data
+public class BulkTaskRequest {
+    private List<String> taskIds;
+    private Filter filter;
+
+    @NotBlank(message = "Action is required")
+    private String action;
+
+    private String value;
+
+    @Data
+    public static class Filter {
+        @NotBlank(message = "Team ID is required")
+        private String teamId;
+        private String status;
+        private String priority;
+        private String assignedToId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of a bulk task operation.
+ * {@code matched} tasks were selected, {@code denied} of them were not the caller's to change,
+ * and {@code affected} rows were actually changed; {@code skipped} permitted tasks were left
+ * alone, e.g. because the new assignee is not a member of their team.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResponse {
+    private String action;
+    private int matched;
+    private int denied;
+    private int affected;
+    private int skipped;
+}
@@ -0,0 +1,25 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a task's comments, oldest first.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to fetch the following page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommentPageResponse {
+    private List<CommentResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+}
@@ -16,5 +16,6 @@ public class CommentResponse {
     private String content;
     private String userId;
     private String username;
+    private String userDisplayName;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment joined with its author, one row per comment of a timeline page.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentRow {
+    private String id;
+    private String content;
+    private String userId;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The searchable text of a comment, loaded in id order when the search index is rebuilt.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentSearchRow {
+    private String id;
+    private String taskId;
+    private String content;
+}
@@ -0,0 +1,26 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Starts a resumable upload. {@code sha256}, the hex digest of the whole file, is optional;
+ * when given, the assembled file is checked against it.
+ */
+@Data
+public class CreateUploadRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    private String fileType;
+
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be positive")
+    private Long size;
+
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "SHA-256 must be 64 hex digits")
+    private String sha256;
+}
@@ -0,0 +1,93 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to one task, published as an application event by the write paths and
+ * delivered to the team's event stream once the transaction commits.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeEvent {
+
+    public enum Type {
+        CREATED, UPDATED, ASSIGNED, STATUS_CHANGED, DELETED, COMMENT_ADDED, ATTACHMENT_ADDED, REMINDER, OVERDUE
+    }
+
+    private Type type;
+    private String teamId;
+    private String taskId;
+
+    // The task after the change. Absent for deletions and for bulk changes, where clients
+    // should refetch the task instead.
+    private TaskResponse task;
+
+    // The new comment, for COMMENT_ADDED
+    private CommentResponse comment;
+
+    // The new attachment, for ATTACHMENT_ADDED
+    private AttachmentResponse attachment;
+
+    // The due date a REMINDER or OVERDUE event is for
+    private LocalDateTime dueDate;
+
+    private LocalDateTime occurredAt;
+
+    public static TaskChangeEvent of(Type type, TaskResponse task) {
+        return TaskChangeEvent.builder()
+                .type(type)
+                .teamId(task.getTeamId())
+                .taskId(task.getId())
+                .task(task)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static TaskChangeEvent withoutBody(Type type, String teamId, String taskId) {
+        return TaskChangeEvent.builder()
+                .type(type)
+                .teamId(teamId)
+                .taskId(taskId)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static TaskChangeEvent commentAdded(String teamId, String taskId, CommentResponse comment) {
+        return TaskChangeEvent.builder()
+                .type(Type.COMMENT_ADDED)
+                .teamId(teamId)
+                .taskId(taskId)
+                .comment(comment)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static TaskChangeEvent attachmentAdded(String teamId, String taskId, AttachmentResponse attachment) {
+        return TaskChangeEvent.builder()
+                .type(Type.ATTACHMENT_ADDED)
+                .teamId(teamId)
+                .taskId(taskId)
+                .attachment(attachment)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static TaskChangeEvent due(Type type, String teamId, String taskId, LocalDateTime dueDate) {
+        return TaskChangeEvent.builder()
+                .type(type)
+                .teamId(teamId)
+                .taskId(taskId)
+                .dueDate(dueDate)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
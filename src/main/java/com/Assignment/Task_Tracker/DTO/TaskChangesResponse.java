@@ -0,0 +1,34 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of the task delta feed: tasks created or changed, and tasks deleted, since the
+ * token the client sent. Pass {@code nextToken} back as {@code since}; while {@code hasMore}
+ * is true the next page follows immediately, otherwise the client is up to date.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskResponse> changed;
+    private List<DeletedTask> deleted;
+    private String nextToken;
+    private boolean hasMore;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeletedTask {
+        private String taskId;
+        private String teamId;
+        private LocalDateTime deletedAt;
+    }
+}
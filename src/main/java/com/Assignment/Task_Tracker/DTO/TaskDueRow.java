@@ -0,0 +1,19 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task's due date and the due dates its reminder and overdue event were last fired for.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskDueRow {
+    private String taskId;
+    private String teamId;
+    private LocalDateTime dueDate;
+    private LocalDateTime remindedFor;
+    private LocalDateTime overdueFor;
+}
@@ -0,0 +1,28 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of a task used by the streaming export.
+ * Built directly by a JPQL constructor expression, so exported rows never become managed entities.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskExportRow {
+    private String id;
+    private String title;
+    private String description;
+    private Task.TaskStatus status;
+    private Task.Priority priority;
+    private LocalDateTime dueDate;
+    private String assignedToId;
+    private String assignedToUsername;
+    private String createdById;
+    private String createdByUsername;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated task listing.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to fetch the following page.
+ * {@code truncated} is only present, and true, when a search matched more tasks than the
+ * listing considers; the pages then cover the best-ranked matches only.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskPageResponse {
+    private List<TaskResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private Boolean truncated;
+    private String sort;
+    private int limit;
+}
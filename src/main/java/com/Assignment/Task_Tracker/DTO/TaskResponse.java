@@ -69,4 +69,7 @@ public class TaskResponse {
     // Additional metadata
     private Integer commentCount;
     private Integer attachmentCount;
+
+    // Optimistic lock version; also part of the ETag
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A task's summary cell together with the version state it was read at, so a conditional
+ * UPDATE can require that the cell has not moved since.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskStateRow {
+    private String taskId;
+    private String teamId;
+    private Task.TaskStatus status;
+    private Task.Priority priority;
+    private String assigneeId;
+    private Long version;
+    private int commentCount;
+    private int attachmentCount;
+
+    public TaskStatsRow toStatsRow() {
+        return new TaskStatsRow(taskId, teamId, status, priority, assigneeId);
+    }
+
+    public TaskVersionRow toVersionRow() {
+        return new TaskVersionRow(version, commentCount, attachmentCount);
+    }
+}
@@ -0,0 +1,18 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The fields of a task that decide which team summary cell it is counted in.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskStatsRow {
+    private String taskId;
+    private String teamId;
+    private Task.TaskStatus status;
+    private Task.Priority priority;
+    private String assigneeId;
+}
@@ -0,0 +1,14 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A task id with the id of its team, as returned by set-based permission queries.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskTeamRow {
+    private String taskId;
+    private String teamId;
+}
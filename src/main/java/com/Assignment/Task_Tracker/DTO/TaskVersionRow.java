@@ -0,0 +1,15 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The parts of a task row its ETag is derived from, read without loading the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskVersionRow {
+    private Long version;
+    private int commentCount;
+    private int attachmentCount;
+}
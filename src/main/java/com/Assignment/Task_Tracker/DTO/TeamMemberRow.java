@@ -0,0 +1,14 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One (team, user) membership pair, as returned by set-based membership queries.
+ */
+@Getter
+@AllArgsConstructor
+public class TeamMemberRow {
+    private String teamId;
+    private String userId;
+}
@@ -0,0 +1,37 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task counts of one team for dashboards: totals by status, status counts per priority and
+ * per assignee. Every status and priority is present, with zero where the team has no tasks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSummaryResponse {
+    private String teamId;
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Map<String, Long>> byPriority;
+    private List<AssigneeSummary> byAssignee;
+
+    /**
+     * Status counts of one assignee's tasks; {@code assigneeId} is null for unassigned tasks.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssigneeSummary {
+        private String assigneeId;
+        private long total;
+        private Map<String, Long> byStatus;
+    }
+}
@@ -0,0 +1,29 @@
+package com.Assignment.Task_Tracker.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of a resumable upload. A client resuming after a failure sends only the chunks
+ * missing from {@code receivedChunks}; chunk {@code i} covers bytes
+ * {@code [i * chunkSize, min((i + 1) * chunkSize, size))}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+    private String uploadId;
+    private String taskId;
+    private String fileName;
+    private Long size;
+    private Integer chunkSize;
+    private Integer chunkCount;
+    private List<Integer> receivedChunks;
+    private LocalDateTime expiresAt;
+}
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "attachments")
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachments_task_id", columnList = "task_id"),
+        @Index(name = "idx_attachments_file_url", columnList = "file_url")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,7 +24,8 @@ public class Attachment {
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    @Column(nullable = false, length = 1000)
+    // External URL, or the content address ("sha256:<hex>") of a blob in the attachment store
+    @Column(name = "file_url", nullable = false, length = 1000)
     private String fileUrl;
 
     @Column(nullable = false, length = 255)
@@ -0,0 +1,37 @@
+package com.Assignment.Task_Tracker.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reference count of a blob in the attachment store, keyed by its SHA-256. Each attachment
+ * row that points at the blob holds one reference, whichever task it belongs to, so
+ * identical content uploaded many times is stored once. Blobs whose count has dropped to
+ * zero are deleted by the attachment cleanup.
+ * <p>
+ * The row doubles as the blob's lock: writers take a reference before publishing the file,
+ * and the cleanup deletes the file only while holding the row, so neither can race the other.
+ */
+@Entity
+@Table(name = "blobs", indexes = @Index(name = "idx_blobs_ref_count", columnList = "ref_count"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Blob {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.Assignment.Task_Tracker.Entity;
 
+import com.Assignment.Task_Tracker.Search.TaskSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -9,7 +10,9 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "comments")
+@EntityListeners(TaskSearchIndexListener.class)
+// Also serves lookups by task_id alone; the timeline pages through it in (created_at, id) order
+@Table(name = "comments", indexes = @Index(name = "idx_comments_task_created", columnList = "task_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,73 @@
+package com.Assignment.Task_Tracker.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event written in the same transaction as the change it describes and delivered
+ * later by the outbox dispatcher.
+ * <p>
+ * Ids come from a pooled sequence, so they grow in commit-ish order and inserts can be
+ * batched. The dispatcher picks up {@code PENDING} rows whose {@code availableAt} has passed,
+ * which covers both new events and retries that are waiting out their backoff. Every node also
+ * reads recent rows by {@code createdAt} to broadcast them to its own listeners.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status_available", columnList = "status, available_at"),
+        @Index(name = "idx_outbox_events_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public enum Status {
+        PENDING, DISPATCHED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String type;
+
+    @Column(length = 36)
+    private String teamId;
+
+    @Column(length = 36)
+    private String taskId;
+
+    // JSON of the event; text on PostgreSQL
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    private LocalDateTime dispatchedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -1,8 +1,11 @@
 package com.Assignment.Task_Tracker.Entity;
 
+import com.Assignment.Task_Tracker.Search.TaskSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -10,8 +13,19 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+// Entity updates write only the changed columns, so an edit never rewrites fields it did not touch
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate
+@EntityListeners(TaskSearchIndexListener.class)
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id"),
+        @Index(name = "idx_tasks_priority_created_at_id", columnList = "priority, created_at, id"),
+        @Index(name = "idx_tasks_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_tasks_team_created_at_id", columnList = "team_id, created_at, id"),
+        @Index(name = "idx_tasks_change_seq_id", columnList = "change_seq, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -61,6 +75,39 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock and ETag source. Bulk JPQL updates in TaskRepository bump it by hand;
+    // the counters below do not, so a new comment never fails a concurrent edit.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Position in the delta sync feed, allocated from task_change_seq by TaskChangeSequence.
+    // Every write path sets it, including the bulk JPQL updates and the counter updates below.
+    @Column(name = "change_seq", nullable = false)
+    @ColumnDefault("0")
+    private long changeSeq;
+
+    // The due date the last reminder and overdue event were fired for. Only set by the claim
+    // UPDATEs in TaskRepository; a changed due date no longer matches, which re-arms both.
+    @Column(name = "reminded_for", updatable = false)
+    private LocalDateTime remindedFor;
+
+    @Column(name = "overdue_for", updatable = false)
+    private LocalDateTime overdueFor;
+
+    // Denormalized child counts. Only changed by atomic UPDATEs in TaskRepository, never by
+    // entity flushes, so a stale in-memory Task cannot overwrite a concurrent increment.
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int commentCount = 0;
+
+    @Column(name = "attachment_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int attachmentCount = 0;
+
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<Comment> comments = new HashSet<>();
@@ -44,6 +44,9 @@ public class TaskMapper {
                     .teamName(task.getTeam() != null ? task.getTeam().getName() : null)
                     .createdAt(task.getCreatedAt())
                     .updatedAt(task.getUpdatedAt())
+                    .commentCount(task.getCommentCount())
+                    .attachmentCount(task.getAttachmentCount())
+                    .version(task.getVersion())
                     .build();
         } catch (Exception e) {
             throw new RuntimeException("Error mapping Task to TaskResponse", e);
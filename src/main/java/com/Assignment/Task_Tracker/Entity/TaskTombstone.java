@@ -0,0 +1,36 @@
+package com.Assignment.Task_Tracker.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted task for the delta sync feed. Written in the transaction that deletes the
+ * task, with a change sequence taken from the same counter as task writes, so a client that
+ * synced before the delete learns about it on its next sync. Purged after the retention
+ * period; tokens older than that can no longer be served.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_change_seq_task_id", columnList = "change_seq, task_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTombstone {
+    @Id
+    @Column(name = "task_id", length = 36)
+    private String taskId;
+
+    @Column(name = "team_id", nullable = false, length = 36)
+    private String teamId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
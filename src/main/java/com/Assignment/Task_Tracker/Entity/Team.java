@@ -2,8 +2,11 @@ package com.Assignment.Task_Tracker.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.AbstractAggregateRoot;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -12,12 +15,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "teams")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teams")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Team {
+public class Team extends AbstractAggregateRoot<Team> {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -44,6 +48,7 @@ public class Team {
     private Set<Task> tasks = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team-members")
     @JoinTable(
             name = "team_members",
             joinColumns = @JoinColumn(name = "team_id"),
@@ -65,14 +70,20 @@ public class Team {
         return getClass().hashCode();
     }
     
-    // Helper methods for bidirectional relationship management
+    // Helper methods for bidirectional relationship management.
+    // Each change registers a TeamMembershipChangedEvent so the membership index is
+    // invalidated once the save commits; always go through these rather than getMembers().
     public void addMember(User user) {
-        members.add(user);
-        user.getTeams().add(this);
+        if (members.add(user)) {
+            user.getTeams().add(this);
+            registerEvent(new TeamMembershipChangedEvent(this, user.getId(), true));
+        }
     }
     
     public void removeMember(User user) {
-        members.remove(user);
-        user.getTeams().remove(this);
+        if (members.remove(user)) {
+            user.getTeams().remove(this);
+            registerEvent(new TeamMembershipChangedEvent(this, user.getId(), false));
+        }
     }
 }
\ No newline at end of file
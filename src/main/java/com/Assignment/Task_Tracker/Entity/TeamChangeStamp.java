@@ -0,0 +1,51 @@
+package com.Assignment.Task_Tracker.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A counter per team that is incremented in the same transaction as every change to one of
+ * the team's tasks. It lets readers tell whether the team's task list changed without
+ * reading the tasks. Kept out of {@link Team} so that frequent bumps do not invalidate the
+ * cached team rows.
+ */
+@Entity
+@Table(name = "team_change_stamps")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TeamChangeStamp implements Persistable<String> {
+    @Id
+    @Column(name = "team_id", length = 36)
+    private String teamId;
+
+    @Column(nullable = false)
+    private long stamp;
+
+    // The id is assigned, so tell Spring Data which rows are new; otherwise save() would
+    // merge and issue a SELECT before every INSERT
+    @Transient
+    private boolean persisted;
+
+    public TeamChangeStamp(String teamId, long stamp) {
+        this.teamId = teamId;
+        this.stamp = stamp;
+    }
+
+    @Override
+    public String getId() {
+        return teamId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.Assignment.Task_Tracker.Entity;
+
+/**
+ * Domain event registered by {@link Team#addMember} and {@link Team#removeMember} and
+ * published when the team is saved through its repository.
+ *
+ * @param team   the team whose membership changed
+ * @param userId the user who joined or left
+ * @param added  true when the user joined, false when they left
+ */
+public record TeamMembershipChangedEvent(Team team, String userId, boolean added) {
+
+    /**
+     * The team id, read lazily so events registered before the first save still carry it.
+     */
+    public String teamId() {
+        return team.getId();
+    }
+}
@@ -0,0 +1,56 @@
+package com.Assignment.Task_Tracker.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Number of a team's tasks in one (status, priority, assignee) cell. The team summary is
+ * assembled from a team's cells, so it costs one index range read however many tasks the
+ * team has. Maintained by delta upserts in {@code TeamTaskStats} on every task write that
+ * moves a task between cells, and repaired by its periodic reconciliation.
+ * <p>
+ * Unassigned tasks are counted under an empty assignee id, since key columns cannot be null.
+ */
+@Entity
+@Table(name = "team_task_stats")
+@IdClass(TeamTaskStat.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamTaskStat {
+    public static final String UNASSIGNED = "";
+
+    @Id
+    @Column(name = "team_id", length = 36)
+    private String teamId;
+
+    @Id
+    @Column(length = 20)
+    @Enumerated(EnumType.STRING)
+    private Task.TaskStatus status;
+
+    @Id
+    @Column(length = 20)
+    @Enumerated(EnumType.STRING)
+    private Task.Priority priority;
+
+    @Id
+    @Column(name = "assignee_id", length = 36)
+    private String assigneeId;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String teamId;
+        private Task.TaskStatus status;
+        private Task.Priority priority;
+        private String assigneeId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.Assignment.Task_Tracker.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * A chunk of an {@link UploadSession} that has been received and verified. One row per
+ * chunk, rather than a bitmap on the session, so chunks uploaded in parallel never write the
+ * same row.
+ */
+@Entity
+@Table(name = "upload_chunks")
+@IdClass(UploadChunk.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadChunk {
+    @Id
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    @Id
+    @Column(name = "chunk_index")
+    private int chunkIndex;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String sessionId;
+        private int chunkIndex;
+    }
+}
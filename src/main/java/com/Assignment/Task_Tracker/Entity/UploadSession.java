@@ -0,0 +1,69 @@
+package com.Assignment.Task_Tracker.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resumable attachment upload in progress. The client sends the file as fixed-size chunks
+ * in any order (see {@link UploadChunk}) and completes the session once all have arrived.
+ * Every chunk pushes {@code expiresAt} forward; sessions left idle past it are deleted with
+ * their chunks by the attachment cleanup.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "task_id", nullable = false, length = 36)
+    private String taskId;
+
+    @Column(name = "team_id", nullable = false, length = 36)
+    private String teamId;
+
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    @Column(nullable = false, length = 255)
+    private String fileName;
+
+    // Declared by the client; the stored type is resolved from the content on completion
+    @Column(length = 100)
+    private String fileType;
+
+    @Column(nullable = false)
+    private long totalSize;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    @Column(nullable = false)
+    private int chunkCount;
+
+    // Hex SHA-256 of the whole file, if the client supplied one to check against
+    @Column(length = 64)
+    private String sha256;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * The size every chunk must have: {@code chunkSize}, except for a shorter last chunk.
+     */
+    public long expectedChunkSize(int index) {
+        return index < chunkCount - 1 ? chunkSize : totalSize - (long) chunkSize * (chunkCount - 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.Assignment.Task_Tracker.Events;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.Entity.OutboxEvent;
+import com.Assignment.Task_Tracker.Repository.OutboxEventRepository;
+import com.Assignment.Task_Tracker.Service.TransactionHooks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records task change events in the outbox table as part of the caller's transaction.
+ * <p>
+ * The event is committed or rolled back together with the change, and the request pays for
+ * one batched INSERT only. Delivery to listeners happens later on the {@link OutboxDispatcher}
+ * thread, which is woken up once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxDispatcher dispatcher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(TaskChangeEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+        TransactionHooks.afterCommit(dispatcher::wakeUp);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<TaskChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.saveAll(events.stream().map(this::toOutboxEvent).collect(Collectors.toList()));
+        TransactionHooks.afterCommit(dispatcher::wakeUp);
+    }
+
+    private OutboxEvent toOutboxEvent(TaskChangeEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Fails the write itself: an event that cannot be stored must not be lost silently
+            throw new IllegalStateException("Could not serialize " + event.getType() + " event", e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .type(event.getType().name())
+                .teamId(event.getTeamId())
+                .taskId(event.getTaskId())
+                .payload(payload)
+                .createdAt(now)
+                .availableAt(now)
+                .build();
+    }
+}
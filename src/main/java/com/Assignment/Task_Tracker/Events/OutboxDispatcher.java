@@ -0,0 +1,308 @@
+package com.Assignment.Task_Tracker.Events;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.Entity.OutboxEvent;
+import com.Assignment.Task_Tracker.Repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox events to in-process listeners, in two ways.
+ * <p>
+ * Every node broadcasts each event to its own listeners as a {@link TaskChangeBroadcast}. This
+ * is for node-local state such as SSE subscriptions. The follower reads the ids of events
+ * recorded within the broadcast lookback window and publishes the ones it has not seen yet.
+ * The window is time-based rather than an id cursor because ids come from per-node pooled
+ * blocks, and because an event can commit after a higher id. It must therefore exceed the
+ * longest write transaction plus the clock skew between nodes. Broadcasts are at most once:
+ * a listener that throws is logged and not retried.
+ * <p>
+ * One-time work listens for the bare {@link TaskChangeEvent}, which is delivered on exactly one
+ * node with at-least-once semantics. A single background thread drains the table in batches.
+ * Each batch is claimed in a short transaction: the due rows are selected
+ * {@code FOR UPDATE SKIP LOCKED} and leased by pushing their {@code availableAt} forward. The
+ * events are then published as application events outside any transaction, and the delivered
+ * ones are marked in a second short transaction. No database lock or connection is held while
+ * listeners run. If the node dies in between, the lease runs out and another dispatcher
+ * redelivers the batch, so listeners must tolerate duplicates.
+ * <p>
+ * A listener that throws gets the event again after an exponential backoff. After
+ * {@code max-attempts} the event is parked as {@code FAILED} for inspection. Dispatched events
+ * are deleted after the retention period, failed ones after the longer failed retention.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher implements MeterBinder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${app.outbox.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.backoff-initial-ms:1000}")
+    private long backoffInitialMillis;
+
+    @Value("${app.outbox.backoff-max-ms:300000}")
+    private long backoffMaxMillis;
+
+    @Value("${app.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.outbox.failed-retention-days:14}")
+    private long failedRetentionDays;
+
+    @Value("${app.outbox.broadcast-lookback-ms:30000}")
+    private long broadcastLookbackMillis;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread worker;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder broadcast = new LongAdder();
+    // Events already broadcast on this node and still inside the lookback window
+    private final Map<Long, LocalDateTime> broadcastSeen = new HashMap<>();
+    private Timer deliveryDelay;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox dispatcher disabled");
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("outbox-dispatcher").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            wakeUp();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Asks the dispatcher to poll now instead of at the next interval. Called after commits
+     * that wrote events; cheap and non-blocking.
+     */
+    public void wakeUp() {
+        wakeUps.release();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                follow();
+                drain();
+            } catch (Exception e) {
+                log.error("Outbox dispatch failed, retrying in {} ms: {}", pollIntervalMillis, e.getMessage(), e);
+            }
+            try {
+                wakeUps.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Dispatches batches until no due events are left.
+     *
+     * @return the number of events delivered
+     */
+    public int drain() {
+        int delivered = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = claimBatch();
+            delivered += deliver(batch);
+        } while (batch.size() == batchSize && running);
+        return delivered;
+    }
+
+    /**
+     * Broadcasts the events recorded within the lookback window that this node has not
+     * broadcast yet, oldest first.
+     *
+     * @return the number of events broadcast
+     */
+    public synchronized int follow() {
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(broadcastLookbackMillis));
+        broadcastSeen.values().removeIf(createdAt -> createdAt.isBefore(since));
+        List<Long> unseen = outboxEventRepository.findIdsCreatedSince(since).stream()
+                .filter(id -> !broadcastSeen.containsKey(id))
+                .sorted()
+                .collect(Collectors.toList());
+        int count = 0;
+        for (int from = 0; from < unseen.size(); from += batchSize) {
+            List<OutboxEvent> events = new ArrayList<>(
+                    outboxEventRepository.findAllById(unseen.subList(from, Math.min(from + batchSize, unseen.size()))));
+            events.sort(Comparator.comparing(OutboxEvent::getId));
+            for (OutboxEvent event : events) {
+                broadcastSeen.put(event.getId(), event.getCreatedAt());
+                try {
+                    publisher.publishEvent(new TaskChangeBroadcast(
+                            objectMapper.readValue(event.getPayload(), TaskChangeEvent.class)));
+                    count++;
+                } catch (Exception e) {
+                    log.warn("Broadcast of outbox event {} ({}) failed: {}", event.getId(), event.getType(), e.getMessage());
+                }
+            }
+        }
+        broadcast.add(count);
+        return count;
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> due = outboxEventRepository.lockDue(OutboxEvent.Status.PENDING, now, Limit.of(batchSize));
+            if (due.isEmpty()) {
+                lagMillis.set(0);
+                return due;
+            }
+            lagMillis.set(Math.max(0, Duration.between(due.get(0).getCreatedAt(), now).toMillis()));
+            outboxEventRepository.claim(due.stream().map(OutboxEvent::getId).collect(Collectors.toList()),
+                    now.plus(Duration.ofMillis(leaseMillis)));
+            return due;
+        });
+    }
+
+    private int deliver(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Runnable> failures = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : batch) {
+            // The claim incremented the stored count; the loaded entity predates it
+            int attempt = event.getAttempts() + 1;
+            try {
+                publisher.publishEvent(objectMapper.readValue(event.getPayload(), TaskChangeEvent.class));
+                delivered.add(event.getId());
+                if (deliveryDelay != null) {
+                    deliveryDelay.record(Duration.between(event.getCreatedAt(), now));
+                }
+            } catch (Exception e) {
+                failures.add(() -> recordFailure(event, attempt, e));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markDispatched(delivered, LocalDateTime.now());
+            }
+            failures.forEach(Runnable::run);
+        });
+        dispatched.add(delivered.size());
+        return delivered.size();
+    }
+
+    private void recordFailure(OutboxEvent event, int attempt, Exception error) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+        if (attempt >= maxAttempts) {
+            failed.increment();
+            log.error("Outbox event {} ({}) failed {} times, parking it: {}", event.getId(), event.getType(), attempt, message);
+            outboxEventRepository.markFailedAttempt(event.getId(), OutboxEvent.Status.FAILED, event.getAvailableAt(), message);
+            return;
+        }
+        retried.increment();
+        long backoff = Math.min(backoffMaxMillis, backoffInitialMillis << Math.min(attempt - 1, 30));
+        log.warn("Outbox event {} ({}) failed attempt {}, retrying in {} ms: {}",
+                event.getId(), event.getType(), attempt, backoff, message);
+        outboxEventRepository.markFailedAttempt(event.getId(), OutboxEvent.Status.PENDING,
+                LocalDateTime.now().plus(Duration.ofMillis(backoff)), message);
+    }
+
+    /**
+     * Deletes dispatched events past the retention period and failed ones past the failed
+     * retention period.
+     */
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 */10 * * * *}")
+    public void cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer removed = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteOlderThan(OutboxEvent.Status.DISPATCHED, now.minusHours(retentionHours))
+                        + outboxEventRepository.deleteOlderThan(OutboxEvent.Status.FAILED, now.minusDays(failedRetentionDays)));
+        if (removed != null && removed > 0) {
+            log.info("Removed {} outbox events past retention", removed);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("outbox.lag", lagMillis, millis -> millis.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("Age of the oldest due outbox event at the last poll").register(registry);
+        FunctionCounter.builder("outbox.events", dispatched, LongAdder::sum)
+                .tag("result", "dispatched")
+                .description("Outbox events delivered").register(registry);
+        FunctionCounter.builder("outbox.events", broadcast, LongAdder::sum)
+                .tag("result", "broadcast")
+                .description("Outbox events broadcast to this node's listeners").register(registry);
+        FunctionCounter.builder("outbox.events", retried, LongAdder::sum)
+                .tag("result", "retried")
+                .description("Outbox deliveries that failed and were rescheduled").register(registry);
+        FunctionCounter.builder("outbox.events", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .description("Outbox events parked after exhausting their attempts").register(registry);
+        deliveryDelay = Timer.builder("outbox.delivery.delay")
+                .description("Time from recording an outbox event to delivering it")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
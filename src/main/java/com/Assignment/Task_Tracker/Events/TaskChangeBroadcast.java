@@ -0,0 +1,11 @@
+package com.Assignment.Task_Tracker.Events;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+
+/**
+ * A committed task change, published by the {@link OutboxDispatcher} on every node. Listeners
+ * that keep node-local state, such as SSE subscriptions, listen for this rather than for the
+ * bare {@link TaskChangeEvent}, which is delivered on one node only.
+ */
+public record TaskChangeBroadcast(TaskChangeEvent event) {
+}
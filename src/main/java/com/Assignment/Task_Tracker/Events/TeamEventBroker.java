@@ -0,0 +1,366 @@
+package com.Assignment.Task_Tracker.Events;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.Service.TeamMembershipIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes task changes to Server-Sent Event subscribers, one channel per team.
+ * <p>
+ * A change is published once its transaction commits, on every node (see
+ * {@link OutboxDispatcher}). It is serialized to JSON once and appended to the team's bounded
+ * replay buffer. It is then offered to the bounded queue of every subscriber of the team. Each
+ * queue is drained by a virtual thread that is started only when there is something to send.
+ * An idle subscriber therefore holds no thread, only its async request, and a slow client
+ * blocks only its own sender.
+ * <p>
+ * A subscriber whose queue overflows is evicted and is expected to reconnect with
+ * {@code Last-Event-ID}. Event ids are {@code <epoch>-<sequence>}. An id from an earlier run,
+ * or one older than the replay buffer, is answered with a {@value #RESET_EVENT} event that tells
+ * the client to reload the team's tasks.
+ */
+@Slf4j
+@Component
+public class TeamEventBroker implements MeterBinder {
+
+    static final String RESET_EVENT = "reset";
+
+    private record StreamEvent(long seq, String id, String name, String data, long publishedAt, boolean comment) {
+
+        static StreamEvent comment(String text) {
+            return new StreamEvent(-1, null, null, text, 0, true);
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (comment) {
+                return SseEmitter.event().comment(data);
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+
+    private static final StreamEvent HEARTBEAT = StreamEvent.comment("heartbeat");
+
+    private final TeamMembershipIndex membershipIndex;
+    private final ObjectMapper objectMapper;
+    private final int replaySize;
+    private final long replayTtlMillis;
+    private final int queueCapacity;
+    private final long emitterTimeoutMillis;
+    private final Clock clock;
+
+    private final String epoch;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public TeamEventBroker(TeamMembershipIndex membershipIndex,
+                           ObjectMapper objectMapper,
+                           @Value("${app.events.replay-size:256}") int replaySize,
+                           @Value("${app.events.replay-ttl-ms:300000}") long replayTtlMillis,
+                           @Value("${app.events.queue-capacity:512}") int queueCapacity,
+                           @Value("${app.events.emitter-timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this(membershipIndex, objectMapper, replaySize, replayTtlMillis, queueCapacity, emitterTimeoutMillis,
+                Clock.systemUTC());
+    }
+
+    TeamEventBroker(TeamMembershipIndex membershipIndex, ObjectMapper objectMapper, int replaySize,
+                    long replayTtlMillis, int queueCapacity, long emitterTimeoutMillis, Clock clock) {
+        this.membershipIndex = membershipIndex;
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.replayTtlMillis = replayTtlMillis;
+        // A full replay must always fit, or every resume would evict itself
+        this.queueCapacity = Math.max(queueCapacity, replaySize + 2);
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.clock = clock;
+        this.epoch = Long.toString(clock.millis(), 36);
+    }
+
+    /**
+     * Opens a stream of the team's task changes for one of its members.
+     *
+     * @param teamId      the team to follow
+     * @param userId      the authenticated user
+     * @param lastEventId the {@code Last-Event-ID} header of a reconnecting client, or null
+     * @return the emitter to return from the controller
+     * @throws SecurityException if the user is not a member of the team
+     */
+    public SseEmitter subscribe(String teamId, String userId, String lastEventId) {
+        if (!membershipIndex.isMember(teamId, userId)) {
+            throw new SecurityException("You are not a member of this team");
+        }
+        return attach(teamId, lastEventId, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter attach(String teamId, String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(teamId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+
+        long lastSeq = parseSequence(lastEventId);
+        AtomicBoolean overflow = new AtomicBoolean();
+        channels.compute(teamId, (id, channel) -> {
+            channel = channel != null ? channel : new Channel(sequence.get());
+            channel.subscribers.add(subscriber);
+            overflow.set(!channel.join(subscriber, lastEventId != null, lastSeq));
+            return channel;
+        });
+        subscribers.incrementAndGet();
+        if (overflow.get()) {
+            evict(subscriber);
+        }
+        log.debug("Subscribed to events of team {} (Last-Event-ID {})", teamId, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Delivers a committed change to the team's subscribers on this node.
+     */
+    @EventListener
+    public void onTaskChange(TaskChangeBroadcast broadcast) {
+        onTaskChange(broadcast.event());
+    }
+
+    void onTaskChange(TaskChangeEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} event for task {}: {}", event.getType(), event.getTaskId(), e.getMessage());
+            return;
+        }
+        long seq = sequence.incrementAndGet();
+        StreamEvent streamEvent = new StreamEvent(seq, epoch + "-" + seq, event.getType().name(), data,
+                clock.millis(), false);
+        published.increment();
+
+        List<Subscriber> slow = new ArrayList<>();
+        channels.compute(event.getTeamId(), (id, channel) -> {
+            channel = channel != null ? channel : new Channel(seq - 1);
+            channel.append(streamEvent, replaySize);
+            for (Subscriber subscriber : channel.subscribers) {
+                if (!subscriber.offer(streamEvent)) {
+                    slow.add(subscriber);
+                }
+            }
+            return channel;
+        });
+        slow.forEach(this::evict);
+    }
+
+    /**
+     * Sends a heartbeat comment to every subscriber, which keeps proxies from closing idle
+     * streams and surfaces dead connections, and drops replay entries past their TTL.
+     */
+    @Scheduled(fixedRateString = "${app.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        long cutoff = clock.millis() - replayTtlMillis;
+        List<Subscriber> slow = new ArrayList<>();
+        for (String teamId : channels.keySet()) {
+            channels.computeIfPresent(teamId, (id, channel) -> {
+                channel.expire(cutoff);
+                for (Subscriber subscriber : channel.subscribers) {
+                    if (!subscriber.offer(HEARTBEAT)) {
+                        slow.add(subscriber);
+                    }
+                }
+                return channel.subscribers.isEmpty() && channel.replay.isEmpty() ? null : channel;
+            });
+        }
+        slow.forEach(this::evict);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sse.subscribers", subscribers, AtomicInteger::get)
+                .description("Open team event streams").register(registry);
+        FunctionCounter.builder("sse.events.published", published, LongAdder::sum)
+                .description("Task change events published to team streams").register(registry);
+        FunctionCounter.builder("sse.evictions", evictions, LongAdder::sum)
+                .description("Subscribers dropped for falling behind").register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            evictions.increment();
+            log.debug("Evicted slow subscriber of team {}", subscriber.teamId);
+            // complete() waits for an in-flight send, so never call it on the publishing thread
+            senders.execute(subscriber.emitter::complete);
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        channels.computeIfPresent(subscriber.teamId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel;
+        });
+        subscribers.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * One team's subscribers and recent events. Only touched inside {@code channels.compute},
+     * which serializes access per team.
+     */
+    private final class Channel {
+        final Set<Subscriber> subscribers = new LinkedHashSet<>();
+        final ArrayDeque<StreamEvent> replay = new ArrayDeque<>();
+
+        // Highest sequence no longer in the buffer; a resume from before it cannot be served
+        long droppedUpTo;
+
+        Channel(long droppedUpTo) {
+            this.droppedUpTo = droppedUpTo;
+        }
+
+        void append(StreamEvent event, int maxSize) {
+            replay.addLast(event);
+            while (replay.size() > maxSize) {
+                droppedUpTo = replay.removeFirst().seq();
+            }
+        }
+
+        void expire(long cutoff) {
+            while (!replay.isEmpty() && replay.peekFirst().publishedAt() < cutoff) {
+                droppedUpTo = replay.removeFirst().seq();
+            }
+        }
+
+        /**
+         * Queues the greeting and, for a reconnect, either the missed events or a reset.
+         *
+         * @return false if the subscriber's queue overflowed
+         */
+        boolean join(Subscriber subscriber, boolean resuming, long lastSeq) {
+            boolean ok = subscriber.offer(StreamEvent.comment("connected"));
+            if (!resuming) {
+                return ok;
+            }
+            if (lastSeq >= droppedUpTo && lastSeq <= sequence.get()) {
+                for (StreamEvent event : replay) {
+                    if (event.seq() > lastSeq) {
+                        ok &= subscriber.offer(event);
+                    }
+                }
+                return ok;
+            }
+            long latest = sequence.get();
+            return ok & subscriber.offer(new StreamEvent(latest, epoch + "-" + latest, RESET_EVENT, "{}", 0, false));
+        }
+    }
+
+    private final class Subscriber {
+        final String teamId;
+        final SseEmitter emitter;
+        final BlockingQueue<StreamEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(String teamId, SseEmitter emitter) {
+            this.teamId = teamId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * @return false if the queue is full, i.e. the client is not keeping up
+         */
+        boolean offer(StreamEvent event) {
+            if (closed.get()) {
+                return true;
+            }
+            if (!queue.offer(event)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            try {
+                do {
+                    StreamEvent event;
+                    while (!closed.get() && (event = queue.poll()) != null) {
+                        emitter.send(event.toSse());
+                    }
+                    draining.set(false);
+                    // Re-check: an offer may have raced with the reset above
+                } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports it through onError/onCompletion too
+                log.debug("Dropping subscriber of team {}: {}", teamId, e.getMessage());
+                draining.set(false);
+                remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.Assignment.Task_Tracker.Exception;
+
+/**
+ * Thrown when a client asks for something the server no longer keeps, such as a sync token
+ * older than the tombstone retention. Mapped to 410; the client must start over.
+ */
+public class GoneException extends RuntimeException {
+    public GoneException(String message) {
+        super(message);
+    }
+}
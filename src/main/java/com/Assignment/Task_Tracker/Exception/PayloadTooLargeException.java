@@ -0,0 +1,11 @@
+package com.Assignment.Task_Tracker.Exception;
+
+/**
+ * Thrown when an upload exceeds the configured size limit. Mapped to 413; the part already
+ * received is discarded.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.Assignment.Task_Tracker.Exception;
+
+/**
+ * Thrown when an {@code If-Match} precondition does not hold. Mapped to 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.Assignment.Task_Tracker.Exception;
+
+/**
+ * Thrown when a bounded resource is saturated. Mapped to 429 with a {@code Retry-After} header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,9 +1,32 @@
 package com.Assignment.Task_Tracker.Repository;
 
+import com.Assignment.Task_Tracker.DTO.AttachmentFileRow;
 import com.Assignment.Task_Tracker.Entity.Attachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AttachmentRepository extends JpaRepository<Attachment, String> {
-}
\ No newline at end of file
+    List<Attachment> findByTaskIdIn(Collection<String> taskIds);
+
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.AttachmentFileRow(a.id, a.task.team.id, a.fileName, a.fileType, " +
+            "a.fileSize, a.fileUrl) FROM Attachment a WHERE a.id = :id AND a.task.id = :taskId")
+    Optional<AttachmentFileRow> findFile(@Param("id") String id, @Param("taskId") String taskId);
+
+    /**
+     * Of the given locators, those some attachment still points at.
+     */
+    @Query("SELECT DISTINCT a.fileUrl FROM Attachment a WHERE a.fileUrl IN :fileUrls")
+    List<String> findReferencedFileUrls(@Param("fileUrls") Collection<String> fileUrls);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Attachment a WHERE a.task.id IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<String> taskIds);
+}
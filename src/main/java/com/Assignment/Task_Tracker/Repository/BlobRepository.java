@@ -0,0 +1,53 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.Blob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BlobRepository extends JpaRepository<Blob, String> {
+
+    /**
+     * Takes one reference on a blob, creating its row if needed. The row stays locked until
+     * the transaction ends, so the cleanup cannot delete the file in the meantime.
+     */
+    @Modifying
+    @Query("INSERT INTO Blob (sha256, size, refCount, updatedAt) VALUES (:sha256, :size, 1, :now) " +
+            "ON CONFLICT (sha256) DO UPDATE SET refCount = refCount + 1, updatedAt = excluded.updatedAt")
+    int retain(@Param("sha256") String sha256, @Param("size") long size, @Param("now") LocalDateTime now);
+
+    /**
+     * Drops the references held by the stored attachments of the given tasks. Must run before
+     * the attachments are deleted.
+     *
+     * @return the number of blobs affected
+     */
+    @Modifying
+    @Query("UPDATE Blob b SET b.updatedAt = :now, b.refCount = b.refCount - " +
+            "(SELECT COUNT(a) FROM Attachment a WHERE a.task.id IN :taskIds AND a.fileUrl = CONCAT('sha256:', b.sha256)) " +
+            "WHERE b.sha256 IN (SELECT SUBSTRING(a.fileUrl, 8) FROM Attachment a " +
+            "WHERE a.task.id IN :taskIds AND a.fileUrl LIKE 'sha256:%')")
+    int releaseForTasks(@Param("taskIds") Collection<String> taskIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Claims blobs no attachment refers to any more, skipping rows locked by writers taking
+     * a new reference.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT b FROM Blob b WHERE b.refCount <= 0 ORDER BY b.sha256")
+    List<Blob> lockUnreferenced(Limit limit);
+}
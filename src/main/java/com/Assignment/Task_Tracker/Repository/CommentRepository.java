@@ -1,12 +1,54 @@
 package com.Assignment.Task_Tracker.Repository;
 
+import com.Assignment.Task_Tracker.DTO.CommentRow;
+import com.Assignment.Task_Tracker.DTO.CommentSearchRow;
 import com.Assignment.Task_Tracker.Entity.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, String> {
-    List<Comment> findByTaskId(String taskId);
-}
\ No newline at end of file
+    String TIMELINE_ROW = "SELECT new com.Assignment.Task_Tracker.DTO.CommentRow(" +
+            "c.id, c.content, u.id, u.username, u.firstName, u.lastName, c.createdAt) " +
+            "FROM Comment c JOIN c.user u WHERE c.task.id = :taskId ";
+
+    /**
+     * The first comments of a task, oldest first, with their authors. Served by the
+     * {@code (task_id, created_at, id)} index, so the cost depends on the page size only.
+     */
+    @Query(TIMELINE_ROW + "ORDER BY c.createdAt, c.id")
+    List<CommentRow> findTimeline(@Param("taskId") String taskId, Limit limit);
+
+    /**
+     * The comments following a cursor position. The leading {@code createdAt >=} bound lets
+     * the index seek straight to the position; the second condition then skips the comments
+     * of that same instant that were already returned.
+     */
+    @Query(TIMELINE_ROW + "AND c.createdAt >= :createdAt " +
+            "AND (c.createdAt > :createdAt OR c.id > :id) " +
+            "ORDER BY c.createdAt, c.id")
+    List<CommentRow> findTimelineAfter(@Param("taskId") String taskId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") String id,
+                                       Limit limit);
+
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.CommentSearchRow(c.id, c.task.id, c.content) " +
+            "FROM Comment c WHERE c.id > :afterId ORDER BY c.id")
+    List<CommentSearchRow> findSearchRowsAfter(@Param("afterId") String afterId, Limit limit);
+
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.CommentSearchRow(c.id, c.task.id, c.content) " +
+            "FROM Comment c WHERE c.task.id IN :taskIds")
+    List<CommentSearchRow> findSearchRowsByTaskIds(@Param("taskIds") Collection<String> taskIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Comment c WHERE c.task.id IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<String> taskIds);
+}
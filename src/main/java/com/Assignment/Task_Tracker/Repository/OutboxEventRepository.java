@@ -0,0 +1,66 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest events that are due, skipping rows another dispatcher has locked
+     * ({@code FOR UPDATE SKIP LOCKED}), so several nodes can drain the table without
+     * blocking on or double-claiming each other's batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.availableAt <= :now ORDER BY e.id")
+    List<OutboxEvent> lockDue(@Param("status") OutboxEvent.Status status,
+                              @Param("now") LocalDateTime now,
+                              Limit limit);
+
+    /**
+     * Leases claimed events to this dispatcher: they are not due again until
+     * {@code leaseUntil}, which is also when they are redelivered if the node dies mid-batch.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.availableAt = :leaseUntil, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.Assignment.Task_Tracker.Entity.OutboxEvent.Status.DISPATCHED, " +
+            "e.dispatchedAt = :now, e.lastError = NULL WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :availableAt, e.lastError = :error " +
+            "WHERE e.id = :id")
+    int markFailedAttempt(@Param("id") Long id,
+                          @Param("status") OutboxEvent.Status status,
+                          @Param("availableAt") LocalDateTime availableAt,
+                          @Param("error") String error);
+
+    /**
+     * Ids of every event recorded since {@code since}, whatever its delivery status. Each node
+     * follows these to broadcast changes locally.
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.createdAt >= :since")
+    List<Long> findIdsCreatedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("status") OutboxEvent.Status status, @Param("cutoff") LocalDateTime cutoff);
+}
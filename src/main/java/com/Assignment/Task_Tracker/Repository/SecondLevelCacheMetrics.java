@@ -0,0 +1,66 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes hit, miss and put counts plus the hit ratio of each second-level cache region
+ * as {@code hibernate.cache.*} meters tagged with {@code region}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    static final String[] REGIONS = {"users", "teams", "team-members"};
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : REGIONS) {
+            counter(registry, statistics, region, "hibernate.cache.gets", "hit",
+                    CacheRegionStatistics::getHitCount);
+            counter(registry, statistics, region, "hibernate.cache.gets", "miss",
+                    CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.cache.puts", statistics,
+                            s -> stat(s, region, CacheRegionStatistics::getPutCount))
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups served from memory")
+                    .register(registry);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics, String region,
+                                String name, String result, ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder(name, statistics, s -> stat(s, region, value))
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static double stat(Statistics statistics, String region,
+                               ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+        return regionStats != null ? value.applyAsDouble(regionStats) : 0;
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        double hits = stat(statistics, region, CacheRegionStatistics::getHitCount);
+        double misses = stat(statistics, region, CacheRegionStatistics::getMissCount);
+        return hits + misses == 0 ? 0 : hits / (hits + misses);
+    }
+}
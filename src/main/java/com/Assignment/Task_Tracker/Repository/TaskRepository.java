@@ -1,15 +1,69 @@
 package com.Assignment.Task_Tracker.Repository;
 
+import com.Assignment.Task_Tracker.DTO.TaskDueRow;
+import com.Assignment.Task_Tracker.DTO.TaskExportRow;
+import com.Assignment.Task_Tracker.DTO.TaskSearchRow;
+import com.Assignment.Task_Tracker.DTO.TaskStateRow;
+import com.Assignment.Task_Tracker.DTO.TaskStatsRow;
+import com.Assignment.Task_Tracker.DTO.TaskTeamRow;
+import com.Assignment.Task_Tracker.DTO.TaskVersionRow;
 import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, String> {
+public interface TaskRepository extends JpaRepository<Task, String>, JpaSpecificationExecutor<Task> {
+
+    /**
+     * The to-one associations every {@code TaskResponse} reads. Fetching them with the task
+     * turns a page of N tasks into one joined query instead of 1 + 3N.
+     */
+    String[] RESPONSE_GRAPH = {"team", "assignedTo", "createdBy"};
+
+    @EntityGraph(attributePaths = {"team", "assignedTo", "createdBy"})
+    Optional<Task> findWithDetailsById(String id);
+
+    @EntityGraph(attributePaths = {"team", "assignedTo", "createdBy"})
+    List<Task> findWithDetailsByIdIn(Collection<String> ids);
+
+    /**
+     * Reads what a task's ETag is derived from, so conditional GETs can be answered
+     * without loading the entity or its associations.
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskVersionRow(t.version, t.commentCount, t.attachmentCount) " +
+            "FROM Task t WHERE t.id = :id")
+    Optional<TaskVersionRow> findVersionRowById(@Param("id") String id);
+
+    /**
+     * Reads a task's summary cell and version state without locking, for a single-task
+     * conditional write that only takes the row lock once its permission check has passed.
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskStateRow(t.id, t.team.id, t.status, t.priority, " +
+            "t.assignedTo.id, t.version, t.commentCount, t.attachmentCount) FROM Task t WHERE t.id = :id")
+    Optional<TaskStateRow> findStateRowById(@Param("id") String id);
+
+    @Query("SELECT t.team.id FROM Task t WHERE t.id = :id")
+    Optional<String> findTeamIdById(@Param("id") String id);
 
     @Query("SELECT t FROM Task t WHERE t.team.id = :teamId")
     List<Task> findByProjectId(@Param("teamId") String teamId);
@@ -30,9 +84,276 @@ public interface TaskRepository extends JpaRepository<Task, String> {
      * @param teamId the ID of the team
      * @return a list of tasks associated with the team
      */
+    @EntityGraph(attributePaths = {"team", "assignedTo", "createdBy"})
     List<Task> findByTeamId(String teamId);
 
-    @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) " +
-            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Task> searchTasks(@Param("search") String search);
-}
\ No newline at end of file
+    /**
+     * Streams a team's tasks as flat export rows in creation order.
+     * The Postgres driver only honours the fetch size inside a transaction, so callers
+     * must consume the stream within one and close it when done.
+     *
+     * @param teamId the ID of the team
+     * @return a lazily fetched stream of export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskExportRow(" +
+            "t.id, t.title, t.description, t.status, t.priority, t.dueDate, " +
+            "a.id, a.username, c.id, c.username, t.createdAt, t.updatedAt) " +
+            "FROM Task t LEFT JOIN t.assignedTo a JOIN t.createdBy c " +
+            "WHERE t.team.id = :teamId ORDER BY t.createdAt, t.id")
+    Stream<TaskExportRow> streamExportRowsByTeamId(@Param("teamId") String teamId);
+
+    /**
+     * Loads the searchable text of the next chunk of tasks in id order.
+     *
+     * @param afterId the last id of the previous chunk, or an empty string for the first one
+     * @param limit   the chunk size
+     * @return up to {@code limit} rows with ids greater than {@code afterId}
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskSearchRow(t.id, t.title, t.description) " +
+            "FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskSearchRow> findSearchRowsAfter(@Param("afterId") String afterId, Limit limit);
+
+    // Set-based bulk operations. Bulk JPQL bypasses entity callbacks and the persistence
+    // context, so updatedAt, version and changeSeq are set explicitly and the context is
+    // cleared afterwards.
+
+    @Query("SELECT t.id FROM Task t WHERE t.team.id = :teamId " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:priority IS NULL OR t.priority = :priority) " +
+            "AND (:assignedToId IS NULL OR t.assignedTo.id = :assignedToId)")
+    List<String> findIdsByFilter(@Param("teamId") String teamId,
+                                 @Param("status") Task.TaskStatus status,
+                                 @Param("priority") Task.Priority priority,
+                                 @Param("assignedToId") String assignedToId);
+
+    /**
+     * Of the given tasks, those the user may manage: created by them or in a team they created.
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskTeamRow(t.id, t.team.id) FROM Task t WHERE t.id IN :ids " +
+            "AND (t.createdBy.id = :userId OR t.team.createdBy.id = :userId)")
+    List<TaskTeamRow> findManagedBy(@Param("ids") Collection<String> ids, @Param("userId") String userId);
+
+    /**
+     * Of the given tasks, those whose status the user may change: managed by them or assigned to them.
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskTeamRow(t.id, t.team.id) FROM Task t WHERE t.id IN :ids " +
+            "AND (t.createdBy.id = :userId OR t.team.createdBy.id = :userId OR t.assignedTo.id = :userId)")
+    List<TaskTeamRow> findWorkableBy(@Param("ids") Collection<String> ids, @Param("userId") String userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now, t.version = t.version + 1, " +
+            "t.changeSeq = :changeSeq WHERE t.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<String> ids,
+                          @Param("status") Task.TaskStatus status,
+                          @Param("now") LocalDateTime now,
+                          @Param("changeSeq") long changeSeq);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.priority = :priority, t.updatedAt = :now, t.version = t.version + 1, " +
+            "t.changeSeq = :changeSeq WHERE t.id IN :ids")
+    int updatePriorityByIds(@Param("ids") Collection<String> ids,
+                            @Param("priority") Task.Priority priority,
+                            @Param("now") LocalDateTime now,
+                            @Param("changeSeq") long changeSeq);
+
+    /**
+     * Assigns the tasks to {@code assignee}, skipping tasks whose team the assignee is not a member of.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.assignedTo = :assignee, t.updatedAt = :now, t.version = t.version + 1, " +
+            "t.changeSeq = :changeSeq WHERE t.id IN :ids " +
+            "AND EXISTS (SELECT 1 FROM Team tm JOIN tm.members m WHERE tm = t.team AND m = :assignee)")
+    int assignByIds(@Param("ids") Collection<String> ids,
+                    @Param("assignee") User assignee,
+                    @Param("now") LocalDateTime now,
+                    @Param("changeSeq") long changeSeq);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.assignedTo = NULL, t.updatedAt = :now, t.version = t.version + 1, " +
+            "t.changeSeq = :changeSeq WHERE t.id IN :ids")
+    int unassignByIds(@Param("ids") Collection<String> ids,
+                      @Param("now") LocalDateTime now,
+                      @Param("changeSeq") long changeSeq);
+
+    // Single-task conditional writes. Each is one UPDATE whose WHERE clause carries the
+    // permission rule and, when the client sent If-Match, the expected version and counters;
+    // zero rows means missing, forbidden or changed, and the caller works out which.
+
+    /**
+     * Sets the status if {@code userId} is the assignee, the task creator or the team creator.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now, t.version = t.version + 1, " +
+            "t.changeSeq = :changeSeq WHERE t.id = :id " +
+            "AND (t.assignedTo.id = :userId OR t.createdBy.id = :userId " +
+            "OR EXISTS (SELECT 1 FROM Team tm WHERE tm = t.team AND tm.createdBy.id = :userId)) " +
+            "AND (:version IS NULL OR (t.version = :version " +
+            "AND t.commentCount = :commentCount AND t.attachmentCount = :attachmentCount))")
+    int updateStatusIfPermitted(@Param("id") String id,
+                                @Param("status") Task.TaskStatus status,
+                                @Param("userId") String userId,
+                                @Param("now") LocalDateTime now,
+                                @Param("changeSeq") long changeSeq,
+                                @Param("version") Long version,
+                                @Param("commentCount") Integer commentCount,
+                                @Param("attachmentCount") Integer attachmentCount);
+
+    /**
+     * Assigns the task if {@code userId} is the task creator or the team creator and the
+     * assignee is a member of the task's team.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.assignedTo = :assignee, t.updatedAt = :now, t.version = t.version + 1, " +
+            "t.changeSeq = :changeSeq WHERE t.id = :id " +
+            "AND (t.createdBy.id = :userId " +
+            "OR EXISTS (SELECT 1 FROM Team tm WHERE tm = t.team AND tm.createdBy.id = :userId)) " +
+            "AND EXISTS (SELECT 1 FROM Team tm JOIN tm.members m WHERE tm = t.team AND m = :assignee) " +
+            "AND (:version IS NULL OR (t.version = :version " +
+            "AND t.commentCount = :commentCount AND t.attachmentCount = :attachmentCount))")
+    int assignIfPermitted(@Param("id") String id,
+                          @Param("assignee") User assignee,
+                          @Param("userId") String userId,
+                          @Param("now") LocalDateTime now,
+                          @Param("changeSeq") long changeSeq,
+                          @Param("version") Long version,
+                          @Param("commentCount") Integer commentCount,
+                          @Param("attachmentCount") Integer attachmentCount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    // Denormalized comment and attachment counters. They are part of the task as synced to
+    // clients, so a change moves the task forward in the delta feed as well.
+
+    @Modifying
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + :delta, t.changeSeq = :changeSeq WHERE t.id = :id")
+    int adjustCommentCount(@Param("id") String id, @Param("delta") int delta, @Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.attachmentCount = t.attachmentCount + :delta, t.changeSeq = :changeSeq WHERE t.id = :id")
+    int adjustAttachmentCount(@Param("id") String id, @Param("delta") int delta, @Param("changeSeq") long changeSeq);
+
+    // Team summary cells
+
+    /**
+     * Reads the summary cell of each given task and locks the rows, so the cells cannot move
+     * under a write that is about to move them itself.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskStatsRow(t.id, t.team.id, t.status, t.priority, t.assignedTo.id) " +
+            "FROM Task t WHERE t.id IN :ids")
+    List<TaskStatsRow> lockStatsRows(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskStatsRow(t.id, t.team.id, t.status, t.priority, t.assignedTo.id) " +
+            "FROM Task t WHERE t.id IN :ids")
+    List<TaskStatsRow> findStatsRows(@Param("ids") Collection<String> ids);
+
+    // Due dates
+
+    String OPEN_STATUSES = "t.status NOT IN (com.Assignment.Task_Tracker.Entity.Task.TaskStatus.DONE, " +
+            "com.Assignment.Task_Tracker.Entity.Task.TaskStatus.CANCELLED)";
+
+    /**
+     * The next open tasks in (dueDate, id) order after the given position, due no later than
+     * {@code to}, whose overdue event has not fired for their current due date. Served by
+     * {@code idx_tasks_due_date_id}.
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskDueRow(t.id, t.team.id, t.dueDate, t.remindedFor, t.overdueFor) " +
+            "FROM Task t WHERE (t.dueDate > :afterDue OR (t.dueDate = :afterDue AND t.id > :afterId)) " +
+            "AND t.dueDate <= :to AND " + OPEN_STATUSES + " " +
+            "AND (t.overdueFor IS NULL OR t.overdueFor <> t.dueDate) " +
+            "ORDER BY t.dueDate, t.id")
+    List<TaskDueRow> findDueAfter(@Param("afterDue") LocalDateTime afterDue,
+                                  @Param("afterId") String afterId,
+                                  @Param("to") LocalDateTime to,
+                                  Limit limit);
+
+    /**
+     * Locks the given tasks that are now overdue and have not had their overdue event,
+     * skipping rows another node has locked ({@code FOR UPDATE SKIP LOCKED}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskDueRow(t.id, t.team.id, t.dueDate, t.remindedFor, t.overdueFor) " +
+            "FROM Task t WHERE t.id IN :ids AND t.dueDate <= :now AND " + OPEN_STATUSES + " " +
+            "AND (t.overdueFor IS NULL OR t.overdueFor <> t.dueDate)")
+    List<TaskDueRow> lockOverdue(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Locks the given tasks that fall due after {@code now} but no later than
+     * {@code remindUntil} and have not had their reminder, skipping rows another node has locked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TaskDueRow(t.id, t.team.id, t.dueDate, t.remindedFor, t.overdueFor) " +
+            "FROM Task t WHERE t.id IN :ids AND t.dueDate > :now AND t.dueDate <= :remindUntil AND " + OPEN_STATUSES + " " +
+            "AND (t.remindedFor IS NULL OR t.remindedFor <> t.dueDate)")
+    List<TaskDueRow> lockRemindable(@Param("ids") Collection<String> ids,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("remindUntil") LocalDateTime remindUntil);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.overdueFor = t.dueDate WHERE t.id IN :ids")
+    int markOverdueFired(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.remindedFor = t.dueDate WHERE t.id IN :ids")
+    int markReminderFired(@Param("ids") Collection<String> ids);
+
+    // Delta sync
+
+    /**
+     * The next tasks of the given teams in (changeSeq, id) order after the given position, up
+     * to {@code upTo}. Served by {@code idx_tasks_change_seq_id}.
+     */
+    @EntityGraph(attributePaths = {"team", "assignedTo", "createdBy"})
+    @Query("SELECT t FROM Task t " +
+            "WHERE (t.changeSeq > :seq OR (t.changeSeq = :seq AND t.id > :afterId)) " +
+            "AND t.changeSeq <= :upTo AND t.team.id IN :teamIds " +
+            "ORDER BY t.changeSeq, t.id")
+    List<Task> findChangedAfter(@Param("seq") long seq,
+                                @Param("afterId") String afterId,
+                                @Param("upTo") long upTo,
+                                @Param("teamIds") Collection<String> teamIds,
+                                Limit limit);
+
+    /**
+     * Like {@link #findChangedAfter} across all teams, for internal consumers such as the
+     * search index. Never expose this to a user.
+     */
+    @EntityGraph(attributePaths = {"team", "assignedTo", "createdBy"})
+    @Query("SELECT t FROM Task t " +
+            "WHERE (t.changeSeq > :seq OR (t.changeSeq = :seq AND t.id > :afterId)) " +
+            "AND t.changeSeq <= :upTo " +
+            "ORDER BY t.changeSeq, t.id")
+    List<Task> findAllChangedAfter(@Param("seq") long seq,
+                                   @Param("afterId") String afterId,
+                                   @Param("upTo") long upTo,
+                                   Limit limit);
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM Task t")
+    long findMaxChangeSeq();
+
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Limit limit);
+
+    /**
+     * Recomputes both counters for the given tasks, touching only rows that drifted.
+     *
+     * @param ids       the task IDs to check
+     * @param changeSeq the change sequence of the corrected rows
+     * @return the number of rows corrected
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET " +
+            "t.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.task = t), " +
+            "t.attachmentCount = (SELECT COUNT(a) FROM Attachment a WHERE a.task = t), " +
+            "t.changeSeq = :changeSeq " +
+            "WHERE t.id IN :ids AND (" +
+            "t.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.task = t) OR " +
+            "t.attachmentCount <> (SELECT COUNT(a) FROM Attachment a WHERE a.task = t))")
+    int reconcileCounts(@Param("ids") Collection<String> ids, @Param("changeSeq") long changeSeq);
+}
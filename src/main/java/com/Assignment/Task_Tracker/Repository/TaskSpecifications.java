@@ -0,0 +1,80 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Reusable filters and keyset predicates for {@link TaskRepository} queries.
+ * <p>
+ * The keyset predicates are written as {@code a < x OR (a = x AND id < y)} so that
+ * Postgres can answer them from the matching {@code (column, id)} index together
+ * with the ORDER BY and LIMIT of the page query.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+        // Utility class
+    }
+
+    public static Specification<Task> hasStatus(Task.TaskStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(Task.Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    /**
+     * Substring match on title and description. This is a sequential scan; it is only used
+     * while the in-memory search index is still being built.
+     */
+    public static Specification<Task> matchesText(String search) {
+        if (search == null || search.trim().isEmpty()) {
+            return (root, query, cb) -> null;
+        }
+        String pattern = "%" + search.trim().toLowerCase() + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern),
+                cb.like(cb.lower(root.get("description")), pattern));
+    }
+
+    public static Specification<Task> idIn(Collection<String> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Task> hasDueDate(boolean present) {
+        return (root, query, cb) -> present
+                ? cb.isNotNull(root.get("dueDate"))
+                : cb.isNull(root.get("dueDate"));
+    }
+
+    /**
+     * Rows strictly after {@code (value, id)} in {@code attribute DESC, id DESC} order.
+     * Matches everything when {@code value} is null.
+     */
+    public static Specification<Task> before(String attribute, LocalDateTime value, String id) {
+        return (root, query, cb) -> value == null ? null : cb.or(
+                cb.lessThan(root.<LocalDateTime>get(attribute), value),
+                cb.and(cb.equal(root.get(attribute), value), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * Rows strictly after {@code (value, id)} in {@code attribute ASC, id ASC} order.
+     * Matches everything when {@code value} is null.
+     */
+    public static Specification<Task> after(String attribute, LocalDateTime value, String id) {
+        return (root, query, cb) -> value == null ? null : cb.or(
+                cb.greaterThan(root.<LocalDateTime>get(attribute), value),
+                cb.and(cb.equal(root.get(attribute), value), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /**
+     * Rows whose id sorts after {@code id}. Matches everything when {@code id} is null.
+     */
+    public static Specification<Task> idAfter(String id) {
+        return (root, query, cb) -> id == null ? null : cb.greaterThan(root.get("id"), id);
+    }
+}
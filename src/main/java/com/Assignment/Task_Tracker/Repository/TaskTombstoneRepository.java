@@ -0,0 +1,63 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, String> {
+
+    /**
+     * Writes a tombstone for each of the given tasks. Must run before the tasks are deleted.
+     *
+     * @return the number of tombstones written
+     */
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, teamId, changeSeq, deletedAt) " +
+            "SELECT t.id, t.team.id, :changeSeq, :now FROM Task t WHERE t.id IN :taskIds")
+    int insertForTasks(@Param("taskIds") Collection<String> taskIds,
+                       @Param("changeSeq") long changeSeq,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * The next tombstones of the given teams in (changeSeq, taskId) order after the given
+     * position, up to {@code upTo}.
+     */
+    @Query("SELECT d FROM TaskTombstone d " +
+            "WHERE (d.changeSeq > :seq OR (d.changeSeq = :seq AND d.taskId > :afterId)) " +
+            "AND d.changeSeq <= :upTo AND d.teamId IN :teamIds " +
+            "ORDER BY d.changeSeq, d.taskId")
+    List<TaskTombstone> findChangedAfter(@Param("seq") long seq,
+                                         @Param("afterId") String afterId,
+                                         @Param("upTo") long upTo,
+                                         @Param("teamIds") Collection<String> teamIds,
+                                         Limit limit);
+
+    /**
+     * Like {@link #findChangedAfter} across all teams, for internal consumers such as the
+     * search index. Never expose this to a user.
+     */
+    @Query("SELECT d FROM TaskTombstone d " +
+            "WHERE (d.changeSeq > :seq OR (d.changeSeq = :seq AND d.taskId > :afterId)) " +
+            "AND d.changeSeq <= :upTo " +
+            "ORDER BY d.changeSeq, d.taskId")
+    List<TaskTombstone> findAllChangedAfter(@Param("seq") long seq,
+                                            @Param("afterId") String afterId,
+                                            @Param("upTo") long upTo,
+                                            Limit limit);
+
+    @Query("SELECT COALESCE(MAX(d.changeSeq), 0) FROM TaskTombstone d")
+    long findMaxChangeSeq();
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone d WHERE d.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,41 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.TeamChangeStamp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface TeamChangeStampRepository extends JpaRepository<TeamChangeStamp, String> {
+
+    @Query("SELECT s.stamp FROM TeamChangeStamp s WHERE s.teamId = :teamId")
+    Optional<Long> findStamp(@Param("teamId") String teamId);
+
+    @Modifying
+    @Query("UPDATE TeamChangeStamp s SET s.stamp = s.stamp + 1 WHERE s.teamId = :teamId")
+    int increment(@Param("teamId") String teamId);
+
+    /**
+     * Increments the stamps of every team that owns one of the given tasks. Must run before
+     * the tasks are deleted.
+     */
+    @Modifying
+    @Query("UPDATE TeamChangeStamp s SET s.stamp = s.stamp + 1 " +
+            "WHERE s.teamId IN (SELECT t.team.id FROM Task t WHERE t.id IN :taskIds)")
+    int incrementForTasks(@Param("taskIds") Collection<String> taskIds);
+
+    /**
+     * Creates the missing stamp rows for teams that predate the table.
+     *
+     * @return the number of rows created
+     */
+    @Modifying
+    @Query("INSERT INTO TeamChangeStamp (teamId, stamp) SELECT t.id, 0L FROM Team t " +
+            "WHERE NOT EXISTS (SELECT 1 FROM TeamChangeStamp s WHERE s.teamId = t.id)")
+    int insertMissing();
+}
@@ -1,13 +1,50 @@
 package com.Assignment.Task_Tracker.Repository;
 
+import com.Assignment.Task_Tracker.DTO.TeamMemberRow;
 import com.Assignment.Task_Tracker.Entity.Team;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, String> {
     Optional<Team> findByName(String name);
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * Resolves which of the given users belong to which of the given teams in one query,
+     * without loading any members collection.
+     *
+     * @param teamIds the teams to check
+     * @param userIds the users to check
+     * @return the (team, user) pairs that are memberships
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.DTO.TeamMemberRow(t.id, m.id) " +
+            "FROM Team t JOIN t.members m WHERE t.id IN :teamIds AND m.id IN :userIds")
+    List<TeamMemberRow> findMemberships(@Param("teamIds") Collection<String> teamIds,
+                                        @Param("userIds") Collection<String> userIds);
+
+    @Query("SELECT m.id FROM Team t JOIN t.members m WHERE t.id = :teamId")
+    List<String> findMemberIds(@Param("teamId") String teamId);
+
+    @Query("SELECT t.id FROM Team t JOIN t.members m WHERE m.id = :userId")
+    List<String> findIdsByMember(@Param("userId") String userId);
+
+    @Query("SELECT t.createdBy.id FROM Team t WHERE t.id = :teamId")
+    Optional<String> findCreatedById(@Param("teamId") String teamId);
+
+    @Query("SELECT COUNT(t) > 0 FROM Team t JOIN t.members m WHERE t.id = :teamId AND m.id = :userId")
+    boolean existsMembership(@Param("teamId") String teamId, @Param("userId") String userId);
+
+    /**
+     * One page of team ids in id order, for jobs that walk every team in chunks.
+     */
+    @Query("SELECT t.id FROM Team t WHERE t.id > :afterId ORDER BY t.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Limit limit);
+}
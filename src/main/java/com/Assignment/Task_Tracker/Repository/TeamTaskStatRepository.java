@@ -0,0 +1,32 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.TeamTaskStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TeamTaskStatRepository extends JpaRepository<TeamTaskStat, TeamTaskStat.Key> {
+
+    List<TeamTaskStat> findByTeamId(String teamId);
+
+    List<TeamTaskStat> findByTeamIdIn(Collection<String> teamIds);
+
+    /**
+     * The true cell counts of the given teams, recounted from the tasks table.
+     */
+    @Query("SELECT new com.Assignment.Task_Tracker.Entity.TeamTaskStat(" +
+            "t.team.id, t.status, t.priority, COALESCE(t.assignedTo.id, ''), COUNT(t)) " +
+            "FROM Task t WHERE t.team.id IN :teamIds " +
+            "GROUP BY t.team.id, t.status, t.priority, COALESCE(t.assignedTo.id, '')")
+    List<TeamTaskStat> countByTeamIdIn(@Param("teamIds") Collection<String> teamIds);
+
+    @Modifying
+    @Query("DELETE FROM TeamTaskStat s WHERE s.teamId IN :teamIds AND s.taskCount = 0")
+    int deleteEmptyCells(@Param("teamIds") Collection<String> teamIds);
+}
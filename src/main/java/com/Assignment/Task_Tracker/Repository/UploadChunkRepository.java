@@ -0,0 +1,31 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.UploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UploadChunkRepository extends JpaRepository<UploadChunk, UploadChunk.Key> {
+
+    /**
+     * Records a received chunk; a chunk sent again replaces the earlier one.
+     */
+    @Modifying
+    @Query("INSERT INTO UploadChunk (sessionId, chunkIndex, size, sha256) VALUES (:sessionId, :index, :size, :sha256) " +
+            "ON CONFLICT (sessionId, chunkIndex) DO UPDATE SET size = excluded.size, sha256 = excluded.sha256")
+    int record(@Param("sessionId") String sessionId, @Param("index") int index,
+               @Param("size") long size, @Param("sha256") String sha256);
+
+    @Query("SELECT c.chunkIndex FROM UploadChunk c WHERE c.sessionId = :sessionId ORDER BY c.chunkIndex")
+    List<Integer> findIndexes(@Param("sessionId") String sessionId);
+
+    @Modifying
+    @Query("DELETE FROM UploadChunk c WHERE c.sessionId IN :sessionIds")
+    int deleteBySessionIds(@Param("sessionIds") Collection<String> sessionIds);
+}
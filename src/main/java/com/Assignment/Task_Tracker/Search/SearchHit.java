@@ -0,0 +1,7 @@
+package com.Assignment.Task_Tracker.Search;
+
+/**
+ * A task matched by {@link TaskSearchIndex#search(String, int)} and its relevance score.
+ */
+public record SearchHit(String taskId, double score) {
+}
@@ -0,0 +1,333 @@
+package com.Assignment.Task_Tracker.Search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over task titles, descriptions and comments.
+ * <p>
+ * Each task is one document; its fields are weighted (title over description over comments)
+ * and summed into a single posting per term. A sorted term dictionary answers prefix queries
+ * and a trigram index over the dictionary finds fuzzy candidates for misspelt terms, so a
+ * query only touches the postings of the terms it expands to rather than every task.
+ * <p>
+ * Mutations arrive from {@link TaskSearchIndexListener} after commit. While
+ * {@link TaskSearchIndexer} rebuilds the index, mutations are journalled and replayed on the
+ * rebuilt state before it is swapped in, so no change is lost during a rebuild.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    static final float TITLE_WEIGHT = 3f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    static final float COMMENT_WEIGHT = 0.5f;
+
+    private static final double K1 = 1.2;
+    private static final double PREFIX_FACTOR = 0.8;
+    private static final double FUZZY_FACTOR = 0.6;
+    private static final double MIN_FUZZY_SIMILARITY = 0.45;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MAX_FUZZY_EXPANSIONS = 10;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state = new IndexState();
+    private List<Consumer<IndexState>> journal;
+    private volatile boolean ready;
+
+    /**
+     * Whether the startup rebuild has completed. Until then results would be incomplete,
+     * so callers fall back to a database scan.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexTask(String taskId, String title, String description) {
+        Map<String, Float> terms = taskTerms(title, description);
+        mutate(index -> index.putTask(taskId, terms));
+    }
+
+    public void removeTask(String taskId) {
+        mutate(index -> index.removeTask(taskId));
+    }
+
+    public void indexComment(String taskId, String commentId, String content) {
+        Map<String, Float> terms = TextAnalyzer.termWeights(content, COMMENT_WEIGHT);
+        mutate(index -> index.putComment(taskId, commentId, terms));
+    }
+
+    public void removeComment(String taskId, String commentId) {
+        mutate(index -> index.removeComment(taskId, commentId));
+    }
+
+    /**
+     * Ranks tasks against a free-text query.
+     * <p>
+     * Every query term is matched exactly, as a prefix of longer terms, and (for terms of
+     * four or more characters) fuzzily by trigram similarity; the best expansion per task
+     * counts. Scores are BM25-style saturated term weights times IDF, scaled by the fraction
+     * of query terms the task matched.
+     *
+     * @param query the raw query text
+     * @param limit the maximum number of hits to return
+     * @return hits ordered by descending score
+     */
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(TextAnalyzer.tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, Integer> matchedTerms = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(1, state.documents.size());
+            for (String queryTerm : queryTerms) {
+                Map<String, Double> best = new HashMap<>();
+                expand(queryTerm).forEach((term, factor) -> {
+                    Map<String, Float> posting = state.postings.get(term);
+                    double idf = Math.log(1 + (double) documentCount / posting.size());
+                    posting.forEach((taskId, weight) -> {
+                        double score = factor * idf * (weight * (K1 + 1) / (weight + K1));
+                        best.merge(taskId, score, Math::max);
+                    });
+                });
+                best.forEach((taskId, score) -> {
+                    scores.merge(taskId, score, Double::sum);
+                    matchedTerms.merge(taskId, 1, Integer::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(SearchHit::score));
+        scores.forEach((taskId, score) -> {
+            double coord = (double) matchedTerms.get(taskId) / queryTerms.size();
+            top.offer(new SearchHit(taskId, score * coord));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                .thenComparing(SearchHit::taskId));
+        return hits;
+    }
+
+    /**
+     * Starts a rebuild: from now on mutations are journalled until
+     * {@link #completeRebuild(IndexState)} or {@link #abortRebuild()}.
+     *
+     * @return an empty state for the rebuild to fill, not visible to searches
+     */
+    IndexState beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+            return new IndexState();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void completeRebuild(IndexState rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.forEach(mutation -> mutation.accept(rebuilt));
+                log.debug("Replayed {} search index changes made during rebuild", journal.size());
+            }
+            state = rebuilt;
+            journal = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static Map<String, Float> taskTerms(String title, String description) {
+        Map<String, Float> terms = TextAnalyzer.termWeights(title, TITLE_WEIGHT);
+        TextAnalyzer.termWeights(description, DESCRIPTION_WEIGHT)
+                .forEach((term, weight) -> terms.merge(term, weight, Float::sum));
+        return terms;
+    }
+
+    private void mutate(Consumer<IndexState> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(state);
+            if (journal != null) {
+                journal.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Dictionary terms a query term matches, with the factor each match is worth.
+     * Must be called under the read lock.
+     */
+    private Map<String, Double> expand(String queryTerm) {
+        Map<String, Double> expansions = new LinkedHashMap<>();
+        if (state.postings.containsKey(queryTerm)) {
+            expansions.put(queryTerm, 1.0);
+        }
+
+        int prefixMatches = 0;
+        for (String term : state.postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).keySet()) {
+            if (prefixMatches++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            expansions.putIfAbsent(term, PREFIX_FACTOR);
+        }
+
+        if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> queryGrams = TextAnalyzer.trigrams(queryTerm);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                for (String term : state.trigramIndex.getOrDefault(gram, Set.of())) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+            PriorityQueue<Map.Entry<String, Double>> closest = new PriorityQueue<>(Map.Entry.comparingByValue());
+            shared.forEach((term, common) -> {
+                // A padded term of length n yields n trigrams
+                int termGrams = term.length();
+                double similarity = (double) common / (queryGrams.size() + termGrams - common);
+                if (similarity >= MIN_FUZZY_SIMILARITY) {
+                    closest.offer(Map.entry(term, similarity));
+                    if (closest.size() > MAX_FUZZY_EXPANSIONS) {
+                        closest.poll();
+                    }
+                }
+            });
+            closest.forEach(entry -> expansions.putIfAbsent(entry.getKey(), FUZZY_FACTOR * entry.getValue()));
+        }
+        return expansions;
+    }
+
+    /**
+     * The mutable index data. Not thread-safe on its own; guarded by the enclosing lock once
+     * published, and confined to the rebuilding thread before that.
+     */
+    static final class IndexState {
+        final Map<String, Document> documents = new HashMap<>();
+        final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+        final Map<String, Set<String>> trigramIndex = new HashMap<>();
+
+        void putTask(String taskId, Map<String, Float> terms) {
+            Document document = documents.computeIfAbsent(taskId, id -> new Document());
+            document.taskTerms = terms;
+            refresh(taskId, document);
+        }
+
+        void putComment(String taskId, String commentId, Map<String, Float> terms) {
+            Document document = documents.computeIfAbsent(taskId, id -> new Document());
+            document.commentTerms.put(commentId, terms);
+            refresh(taskId, document);
+        }
+
+        void removeComment(String taskId, String commentId) {
+            Document document = documents.get(taskId);
+            if (document != null && document.commentTerms.remove(commentId) != null) {
+                refresh(taskId, document);
+            }
+        }
+
+        void removeTask(String taskId) {
+            Document document = documents.remove(taskId);
+            if (document != null) {
+                document.combined.keySet().forEach(term -> removePosting(term, taskId));
+            }
+        }
+
+        private void refresh(String taskId, Document document) {
+            Map<String, Float> combined = new HashMap<>(document.taskTerms);
+            document.commentTerms.values()
+                    .forEach(terms -> terms.forEach((term, weight) -> combined.merge(term, weight, Float::sum)));
+
+            for (String term : document.combined.keySet()) {
+                if (!combined.containsKey(term)) {
+                    removePosting(term, taskId);
+                }
+            }
+            combined.forEach((term, weight) -> postings
+                    .computeIfAbsent(term, this::registerTerm)
+                    .put(taskId, weight));
+            document.combined = combined;
+        }
+
+        private Map<String, Float> registerTerm(String term) {
+            for (String gram : TextAnalyzer.trigrams(term)) {
+                trigramIndex.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+            }
+            return new HashMap<>();
+        }
+
+        private void removePosting(String term, String taskId) {
+            Map<String, Float> posting = postings.get(term);
+            if (posting == null) {
+                return;
+            }
+            posting.remove(taskId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String gram : TextAnalyzer.trigrams(term)) {
+                    Set<String> terms = trigramIndex.get(gram);
+                    if (terms != null) {
+                        terms.remove(term);
+                        if (terms.isEmpty()) {
+                            trigramIndex.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Document {
+        private Map<String, Float> taskTerms = Map.of();
+        private final Map<String, Map<String, Float>> commentTerms = new HashMap<>();
+        private Map<String, Float> combined = Map.of();
+    }
+}
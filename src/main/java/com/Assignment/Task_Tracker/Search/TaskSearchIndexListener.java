@@ -0,0 +1,50 @@
+package com.Assignment.Task_Tracker.Search;
+
+import com.Assignment.Task_Tracker.Entity.Comment;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Service.TransactionHooks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps {@link TaskSearchIndex} in step with {@link Task} and
+ * {@link Comment} rows. Values are captured when the event fires but only applied once the
+ * surrounding transaction commits, so rolled-back writes never reach the index.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndexListener {
+
+    private final TaskSearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Task task) {
+            String id = task.getId();
+            String title = task.getTitle();
+            String description = task.getDescription();
+            TransactionHooks.afterCommit(() -> searchIndex.indexTask(id, title, description));
+        } else if (entity instanceof Comment comment && comment.getTask() != null) {
+            String taskId = comment.getTask().getId();
+            String id = comment.getId();
+            String content = comment.getContent();
+            TransactionHooks.afterCommit(() -> searchIndex.indexComment(taskId, id, content));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Task task) {
+            String id = task.getId();
+            TransactionHooks.afterCommit(() -> searchIndex.removeTask(id));
+        } else if (entity instanceof Comment comment && comment.getTask() != null) {
+            String taskId = comment.getTask().getId();
+            String id = comment.getId();
+            TransactionHooks.afterCommit(() -> searchIndex.removeComment(taskId, id));
+        }
+    }
+}
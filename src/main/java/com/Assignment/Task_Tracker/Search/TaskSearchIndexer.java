@@ -0,0 +1,238 @@
+package com.Assignment.Task_Tracker.Search;
+
+import com.Assignment.Task_Tracker.DTO.CommentSearchRow;
+import com.Assignment.Task_Tracker.DTO.TaskSearchRow;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.TaskTombstone;
+import com.Assignment.Task_Tracker.Repository.CommentRepository;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Rebuilds {@link TaskSearchIndex} from the database once the application is up.
+ * <p>
+ * Rows are read in id-ordered chunks by a single thread while a pool of workers tokenizes
+ * the chunks in parallel; the analysed chunks are then applied to the fresh index state in
+ * order. Only a bounded number of chunks is in flight at once, so memory use does not depend
+ * on table size. Searches fall back to the database until the rebuild completes.
+ * <p>
+ * The index is per node, and {@link TaskSearchIndexListener} only sees this node's writes.
+ * {@link #resync} therefore polls for changes by change sequence: tasks written since the
+ * last poll are re-indexed with their comments, and tombstones remove deleted tasks. Each poll
+ * starts from where the poll {@code app.search.resync-lookback-ms} earlier ended, so changes
+ * that commit late behind a higher sequence value are still picked up; re-indexing a task is
+ * idempotent. Writes on other nodes become searchable here within one poll interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndexer {
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+
+    // Highest change sequence covered by each poll, oldest first; see resync
+    private final Deque<Mark> marks = new ArrayDeque<>();
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.search.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    @Value("${app.search.rebuild-batch-size:2000}")
+    private int batchSize;
+
+    @Value("${app.search.resync-lookback-ms:60000}")
+    private long resyncLookbackMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            Thread.ofPlatform().name("search-index-rebuild").daemon().start(this::rebuild);
+        }
+    }
+
+    /**
+     * Rebuilds the whole index. Changes committed while this runs are journalled by the
+     * index and replayed before the rebuilt state is swapped in.
+     */
+    public void rebuild() {
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService workers = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("search-index-worker-", 0).daemon().factory());
+        TaskSearchIndex.IndexState rebuilt = searchIndex.beginRebuild();
+        long start = System.nanoTime();
+        // Anything written after this point is also picked up by the first resync
+        Mark rebuildStart = new Mark(Instant.now(),
+                Math.max(taskRepository.findMaxChangeSeq(), tombstoneRepository.findMaxChangeSeq()));
+        try {
+            long tasks = load(taskRepository::findSearchRowsAfter, TaskSearchRow::getId, row -> {
+                Map<String, Float> terms = TaskSearchIndex.taskTerms(row.getTitle(), row.getDescription());
+                return state -> state.putTask(row.getId(), terms);
+            }, workers, threads * 2, rebuilt);
+
+            long comments = load(commentRepository::findSearchRowsAfter, CommentSearchRow::getId, row -> {
+                Map<String, Float> terms = TextAnalyzer.termWeights(row.getContent(), TaskSearchIndex.COMMENT_WEIGHT);
+                return state -> state.putComment(row.getTaskId(), row.getId(), terms);
+            }, workers, threads * 2, rebuilt);
+
+            searchIndex.completeRebuild(rebuilt);
+            synchronized (this) {
+                marks.clear();
+                marks.add(rebuildStart);
+            }
+            log.info("Search index rebuilt from {} tasks and {} comments in {} ms using {} threads",
+                    tasks, comments, (System.nanoTime() - start) / 1_000_000, threads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            searchIndex.abortRebuild();
+            log.warn("Search index rebuild interrupted");
+        } catch (Exception e) {
+            searchIndex.abortRebuild();
+            log.error("Search index rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.resync-interval-ms:10000}")
+    public void scheduledResync() {
+        if (searchIndex.isReady()) {
+            resync(Instant.now());
+        }
+    }
+
+    /**
+     * Applies task writes and deletes committed since the last poll, including those made on
+     * other nodes.
+     *
+     * @return the number of tasks re-indexed or removed
+     */
+    public synchronized int resync(Instant now) {
+        if (marks.isEmpty()) {
+            return 0;
+        }
+        // Start from the newest poll that ended at least the lookback ago
+        Instant horizon = now.minus(Duration.ofMillis(resyncLookbackMs));
+        while (marks.size() > 1) {
+            Iterator<Mark> oldest = marks.iterator();
+            oldest.next();
+            if (oldest.next().at().isAfter(horizon)) {
+                break;
+            }
+            marks.poll();
+        }
+        long from = marks.peekFirst().seq();
+        long highest = marks.peekLast().seq();
+        int applied = 0;
+
+        long seq = from;
+        String afterId = "";
+        while (true) {
+            List<Task> tasks = taskRepository.findAllChangedAfter(seq, afterId, Long.MAX_VALUE, Limit.of(batchSize));
+            if (tasks.isEmpty()) {
+                break;
+            }
+            Map<String, List<CommentSearchRow>> comments = commentRepository.findSearchRowsByTaskIds(
+                            tasks.stream().map(Task::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(CommentSearchRow::getTaskId));
+            for (Task task : tasks) {
+                searchIndex.indexTask(task.getId(), task.getTitle(), task.getDescription());
+                for (CommentSearchRow comment : comments.getOrDefault(task.getId(), List.of())) {
+                    searchIndex.indexComment(comment.getTaskId(), comment.getId(), comment.getContent());
+                }
+            }
+            applied += tasks.size();
+            Task last = tasks.get(tasks.size() - 1);
+            seq = last.getChangeSeq();
+            afterId = last.getId();
+            highest = Math.max(highest, seq);
+            if (tasks.size() < batchSize) {
+                break;
+            }
+        }
+
+        seq = from;
+        afterId = "";
+        while (true) {
+            List<TaskTombstone> tombstones = tombstoneRepository.findAllChangedAfter(
+                    seq, afterId, Long.MAX_VALUE, Limit.of(batchSize));
+            if (tombstones.isEmpty()) {
+                break;
+            }
+            tombstones.forEach(tombstone -> searchIndex.removeTask(tombstone.getTaskId()));
+            applied += tombstones.size();
+            TaskTombstone last = tombstones.get(tombstones.size() - 1);
+            seq = last.getChangeSeq();
+            afterId = last.getTaskId();
+            highest = Math.max(highest, seq);
+            if (tombstones.size() < batchSize) {
+                break;
+            }
+        }
+
+        marks.add(new Mark(now, highest));
+        log.debug("Search index resync from change {}: {} tasks applied", from, applied);
+        return applied;
+    }
+
+    private <R> long load(BiFunction<String, Limit, List<R>> fetch,
+                          Function<R, String> idOf,
+                          Function<R, Consumer<TaskSearchIndex.IndexState>> analyze,
+                          ExecutorService workers,
+                          int maxInFlight,
+                          TaskSearchIndex.IndexState target) throws InterruptedException, ExecutionException {
+        Deque<Future<List<Consumer<TaskSearchIndex.IndexState>>>> inFlight = new ArrayDeque<>();
+        String afterId = "";
+        long rows = 0;
+        while (true) {
+            List<R> chunk = fetch.apply(afterId, Limit.of(batchSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            rows += chunk.size();
+            afterId = idOf.apply(chunk.get(chunk.size() - 1));
+            inFlight.add(workers.submit(() -> chunk.stream().map(analyze).toList()));
+            while (inFlight.size() >= maxInFlight) {
+                inFlight.poll().get().forEach(change -> change.accept(target));
+            }
+            if (chunk.size() < batchSize) {
+                break;
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            inFlight.poll().get().forEach(change -> change.accept(target));
+        }
+        return rows;
+    }
+
+    private record Mark(Instant at, long seq) {
+    }
+}
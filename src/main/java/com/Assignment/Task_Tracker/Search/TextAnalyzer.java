@@ -0,0 +1,86 @@
+package com.Assignment.Task_Tracker.Search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tokenizer shared by indexing and querying, so both sides agree on what a term is.
+ * Splits on anything that is not a letter or digit, lower-cases, and drops very short
+ * tokens and a handful of English stop words.
+ */
+public final class TextAnalyzer {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "was", "were", "with");
+
+    private TextAnalyzer() {
+        // Utility class
+    }
+
+    /**
+     * Splits text into normalised terms, keeping duplicates and order.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, text.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Term frequencies of {@code text}, each occurrence counting {@code weight}.
+     */
+    public static Map<String, Float> termWeights(String text, float weight) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+        return weights;
+    }
+
+    /**
+     * Character trigrams of a term, padded so that short terms and word boundaries still
+     * produce grams. Used to find fuzzy candidates for misspelt query terms.
+     */
+    public static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static void addTerm(List<String> terms, String raw) {
+        if (raw.length() < MIN_TERM_LENGTH) {
+            return;
+        }
+        String term = raw.toLowerCase(Locale.ROOT);
+        if (term.length() > MAX_TERM_LENGTH) {
+            term = term.substring(0, MAX_TERM_LENGTH);
+        }
+        if (!STOP_WORDS.contains(term)) {
+            terms.add(term);
+        }
+    }
+}
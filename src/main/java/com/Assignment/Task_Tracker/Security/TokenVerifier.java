@@ -0,0 +1,173 @@
+package com.Assignment.Task_Tracker.Security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies bearer tokens for {@link JwtAuthenticationFilter}.
+ * <p>
+ * A token is parsed and HMAC-checked once; the result is then cached under the SHA-256 digest
+ * of the token (never the token itself) until the token expires, so repeat requests with the
+ * same token skip verification. The cache is bounded: when full, expired entries are swept
+ * first and arbitrary live ones dropped after that. Hits, misses, evictions and size are
+ * published through Micrometer under {@code cache.*} with {@code cache=jwt}.
+ */
+@Slf4j
+@Component
+public class TokenVerifier implements MeterBinder {
+
+    public record VerifiedToken(String userId, Instant expiresAt) {
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final Map<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public TokenVerifier(JwtUtil jwtUtil,
+                         @Value("${jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        this(jwtUtil, maxEntries, Clock.systemUTC());
+    }
+
+    TokenVerifier(JwtUtil jwtUtil, int maxEntries, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * @param token the compact JWT from the Authorization header
+     * @return the verified subject, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        String key = digest(token);
+
+        VerifiedToken cached = cache.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.expiresAt())) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            if (cache.remove(key, cached)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+
+        misses.increment();
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verified = new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (!now.isBefore(verified.expiresAt())) {
+            return Optional.empty();
+        }
+        makeRoom(now);
+        cache.put(key, verified);
+        return Optional.of(verified);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", "jwt").tag("result", "hit")
+                .description("Verified-token cache hits").register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", "jwt").tag("result", "miss")
+                .description("Verified-token cache misses").register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", "jwt")
+                .description("Verified-token cache evictions").register(registry);
+        Gauge.builder("cache.size", cache, Map::size)
+                .tag("cache", "jwt")
+                .description("Verified tokens currently cached").register(registry);
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private void makeRoom(Instant now) {
+        if (cache.size() < maxEntries) {
+            return;
+        }
+        cache.forEach((key, value) -> {
+            if (!now.isBefore(value.expiresAt()) && cache.remove(key, value)) {
+                evictions.increment();
+            }
+        });
+        if (cache.size() < maxEntries) {
+            return;
+        }
+        // Still full of live tokens: drop about a tenth so we don't sweep on every insert
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> it = cache.keySet().iterator();
+        while (cache.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+}
@@ -0,0 +1,251 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.AttachmentFileRow;
+import com.Assignment.Task_Tracker.DTO.AttachmentResponse;
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.Entity.Attachment;
+import com.Assignment.Task_Tracker.Events.EventOutbox;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import com.Assignment.Task_Tracker.Exception.ResourceNotFoundException;
+import com.Assignment.Task_Tracker.Repository.AttachmentRepository;
+import com.Assignment.Task_Tracker.Repository.BlobRepository;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.UserRepository;
+import com.Assignment.Task_Tracker.Storage.BlobStore;
+import com.Assignment.Task_Tracker.Storage.StagedBlob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Task attachments kept in the local {@link BlobStore}.
+ * <p>
+ * An upload is streamed to disk before any transaction is opened, so a slow client never
+ * holds a pooled connection; only the metadata row, the task's attachment counter and the
+ * change event are written together afterwards. Uploaded attachments record their content
+ * address ({@code sha256:<hex>}) as {@code fileUrl}; older rows may still hold an external
+ * URL, which downloads redirect to.
+ * <p>
+ * Each stored attachment holds a reference on its blob (see {@code Blob}), taken in the
+ * transaction that inserts it and dropped when its task is deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttachmentService {
+
+    // Column lengths of attachments.file_name and file_type
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+    private static final int MAX_FILE_TYPE_LENGTH = 100;
+
+    private final AttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TeamMembershipIndex membershipIndex;
+    private final TeamChangeStamps changeStamps;
+    private final TaskChangeSequence changeSequence;
+    private final EventOutbox outbox;
+    private final BlobRepository blobRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.attachments.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    /**
+     * An attachment resolved for download: a file in the store, or the external URL of an
+     * attachment that was never uploaded here.
+     */
+    public record Download(AttachmentFileRow file, String sha256, Path path) {
+
+        public boolean isExternal() {
+            return path == null;
+        }
+    }
+
+    /**
+     * Produces staged content on demand, for a blob that turns out to be missing from the
+     * store once its reference is held.
+     */
+    @FunctionalInterface
+    public interface BlobSource {
+        StagedBlob stage() throws IOException;
+    }
+
+    /**
+     * Stores an uploaded file and attaches it to a task.
+     *
+     * @param declaredType the request's Content-Type, used when the content is not recognised
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws SecurityException         if the user is not a member of the task's team
+     * @throws com.Assignment.Task_Tracker.Exception.PayloadTooLargeException if the body is
+     *                                   over {@code app.attachments.max-size-bytes}
+     */
+    public AttachmentResponse upload(String taskId, String userId, String fileName, String declaredType,
+                                     InputStream content) throws IOException {
+        String name = cleanFileName(fileName);
+        String teamId = requireMember(taskId, userId);
+
+        StagedBlob blob = blobStore.stage(content, maxSizeBytes);
+        try {
+            log.info("Received {} bytes for task {} as {}", blob.size(), taskId, blob.sha256());
+            return transactionTemplate.execute(status -> attach(taskId, teamId, userId, name,
+                    resolveType(blob, declaredType, name), blob, null));
+        } finally {
+            blobStore.discard(blob);
+        }
+    }
+
+    /**
+     * Within the caller's transaction: takes a reference on the blob, makes sure the store
+     * has its file, and adds the attachment to the task. Content already stored for any task
+     * is not written again; the staged copy, if any, is left for the caller to discard.
+     *
+     * @param blob    the content; may have no staged file if the store is expected to have it
+     * @param restage stages the content if {@code blob} has no file and the store lacks it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public AttachmentResponse attach(String taskId, String teamId, String userId, String fileName,
+                                     String fileType, StagedBlob blob, BlobSource restage) {
+        blobRepository.retain(blob.sha256(), blob.size(), LocalDateTime.now());
+        try {
+            if (blob.file() != null) {
+                blobStore.publish(blob);
+            } else if (blobStore.find(blob.sha256()).isEmpty()) {
+                // Collected between the caller's check and the reference taken above
+                StagedBlob staged = restage.stage();
+                try {
+                    blobStore.publish(staged);
+                } finally {
+                    blobStore.discard(staged);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Attachment attachment = attachmentRepository.save(Attachment.builder()
+                .task(taskRepository.getReferenceById(taskId))
+                .uploadedBy(userRepository.getReferenceById(userId))
+                .fileName(fileName)
+                .fileType(fileType)
+                .fileSize(blob.size())
+                .fileUrl(blob.uri())
+                .build());
+        taskRepository.adjustAttachmentCount(taskId, 1, changeSequence.current());
+        changeStamps.touch(teamId);
+
+        AttachmentResponse response = toResponse(attachment);
+        outbox.record(TaskChangeEvent.attachmentAdded(teamId, taskId, response));
+        return response;
+    }
+
+    /**
+     * Resolves an attachment for download.
+     *
+     * @throws ResourceNotFoundException if the attachment does not belong to the task, or its
+     *                                   blob is missing from the store
+     * @throws SecurityException         if the user is not a member of the task's team
+     */
+    public Download open(String taskId, String attachmentId, String userId) {
+        AttachmentFileRow file = attachmentRepository.findFile(attachmentId, taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with ID: " + attachmentId));
+        if (!membershipIndex.isMember(file.getTeamId(), userId)) {
+            throw new SecurityException("You are not a member of this team");
+        }
+        String hash = BlobStore.hashOf(file.getFileUrl()).orElse(null);
+        if (hash == null) {
+            return new Download(file, null, null);
+        }
+        Path path = blobStore.find(hash).orElseThrow(() -> {
+            log.error("Blob {} of attachment {} is missing from the store", hash, attachmentId);
+            return new ResourceNotFoundException("Attachment content not found: " + attachmentId);
+        });
+        return new Download(file, hash, path);
+    }
+
+    /**
+     * Maps an attachment for clients. Stored attachments get their download path (relative to
+     * the servlet context) in place of the internal content address.
+     */
+    public static AttachmentResponse toResponse(Attachment attachment) {
+        String fileUrl = attachment.getFileUrl();
+        if (BlobStore.hashOf(fileUrl).isPresent()) {
+            fileUrl = "/api/v1/tasks/" + attachment.getTask().getId() + "/attachments/" + attachment.getId();
+        }
+        return AttachmentResponse.builder()
+                .id(attachment.getId())
+                .fileName(attachment.getFileName())
+                .fileType(attachment.getFileType())
+                .fileUrl(fileUrl)
+                .fileSize(attachment.getFileSize())
+                .createdAt(attachment.getUploadedAt())
+                .build();
+    }
+
+    /**
+     * @return the task's team id
+     */
+    String requireMember(String taskId, String userId) {
+        String teamId = taskRepository.findTeamIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + taskId));
+        if (!membershipIndex.isMember(teamId, userId)) {
+            throw new SecurityException("You are not a member of this team");
+        }
+        return teamId;
+    }
+
+    /**
+     * Keeps the last path segment only, so a client-supplied name cannot point anywhere when
+     * it is later echoed in a Content-Disposition header.
+     */
+    static String cleanFileName(String fileName) {
+        if (!StringUtils.hasText(fileName)) {
+            throw new BadRequestException("File name is required");
+        }
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+                .replaceAll("\\p{Cntrl}", "")
+                .strip();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            throw new BadRequestException("Invalid file name: " + fileName);
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(0, MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    /**
+     * The content wins over the file name, which wins over what the client declared.
+     */
+    static String resolveType(StagedBlob blob, String declaredType, String fileName) {
+        if (blob.detectedType() != null) {
+            return blob.detectedType();
+        }
+        String fromName = URLConnection.guessContentTypeFromName(fileName);
+        if (fromName != null) {
+            return fromName;
+        }
+        if (StringUtils.hasText(declaredType)) {
+            try {
+                String type = MediaType.parseMediaType(declaredType).toString();
+                if (type.length() <= MAX_FILE_TYPE_LENGTH) {
+                    return type;
+                }
+            } catch (IllegalArgumentException e) {
+                // Fall through to the generic type
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
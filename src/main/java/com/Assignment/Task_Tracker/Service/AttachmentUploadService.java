@@ -0,0 +1,395 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.AttachmentResponse;
+import com.Assignment.Task_Tracker.DTO.CreateUploadRequest;
+import com.Assignment.Task_Tracker.DTO.UploadSessionResponse;
+import com.Assignment.Task_Tracker.Entity.Blob;
+import com.Assignment.Task_Tracker.Entity.UploadSession;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import com.Assignment.Task_Tracker.Exception.GoneException;
+import com.Assignment.Task_Tracker.Exception.PayloadTooLargeException;
+import com.Assignment.Task_Tracker.Exception.ResourceNotFoundException;
+import com.Assignment.Task_Tracker.Repository.AttachmentRepository;
+import com.Assignment.Task_Tracker.Repository.BlobRepository;
+import com.Assignment.Task_Tracker.Repository.UploadChunkRepository;
+import com.Assignment.Task_Tracker.Repository.UploadSessionRepository;
+import com.Assignment.Task_Tracker.Storage.BlobStore;
+import com.Assignment.Task_Tracker.Storage.StagedBlob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resumable attachment uploads.
+ * <p>
+ * A client opens a session with the file's size and gets back a fixed chunk size. It then
+ * PUTs the chunks, in any order and in parallel, each with a {@code Content-Digest} that is
+ * checked before the chunk is kept; a failed chunk is simply sent again, and
+ * {@link #getSession} tells a client that lost track which chunks have arrived. Completing
+ * the session hashes the chunks in order and attaches the result through
+ * {@link AttachmentService#attach}: if any task already has the same content, only its
+ * reference count goes up, and the chunks are never assembled into a second copy.
+ * <p>
+ * Chunks live on disk in the {@link BlobStore} and in {@code upload_chunks} until the
+ * session completes, is aborted, or expires. {@link #cleanup} removes expired sessions,
+ * blobs that lost their last reference, and files left behind by interrupted writes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttachmentUploadService {
+
+    private static final int MAX_MISSING_REPORTED = 20;
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadChunkRepository chunkRepository;
+    private final BlobRepository blobRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentService attachmentService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.attachments.chunk-size-bytes:8388608}")
+    private int chunkSize;
+
+    @Value("${app.attachments.max-resumable-size-bytes:5368709120}")
+    private long maxResumableSizeBytes;
+
+    @Value("${app.attachments.session-ttl-minutes:1440}")
+    private long sessionTtlMinutes;
+
+    @Value("${app.attachments.cleanup-batch-size:200}")
+    private int cleanupBatchSize;
+
+    /**
+     * Opens an upload session for a file of the given size.
+     *
+     * @throws SecurityException        if the user is not a member of the task's team
+     * @throws PayloadTooLargeException if the file is over {@code max-resumable-size-bytes}
+     */
+    public UploadSessionResponse createSession(String taskId, String userId, CreateUploadRequest request) {
+        String fileName = AttachmentService.cleanFileName(request.getFileName());
+        String teamId = attachmentService.requireMember(taskId, userId);
+        long size = request.getSize();
+        if (size > maxResumableSizeBytes) {
+            throw new PayloadTooLargeException("Uploads are limited to " + maxResumableSizeBytes + " bytes");
+        }
+
+        UploadSession session = sessionRepository.save(UploadSession.builder()
+                .taskId(taskId)
+                .teamId(teamId)
+                .userId(userId)
+                .fileName(fileName)
+                .fileType(request.getFileType())
+                .totalSize(size)
+                .chunkSize(chunkSize)
+                .chunkCount((int) Math.ceilDiv(size, chunkSize))
+                .sha256(request.getSha256() != null ? request.getSha256().toLowerCase(Locale.ROOT) : null)
+                .expiresAt(LocalDateTime.now().plusMinutes(sessionTtlMinutes))
+                .build());
+        log.info("Upload session {} opened for task {}: {} bytes in {} chunks",
+                session.getId(), taskId, size, session.getChunkCount());
+        return toResponse(session, List.of());
+    }
+
+    public UploadSessionResponse getSession(String taskId, String uploadId, String userId) {
+        UploadSession session = loadSession(taskId, uploadId, userId);
+        return toResponse(session, chunkRepository.findIndexes(uploadId));
+    }
+
+    /**
+     * Receives one chunk. Sending a chunk again replaces it, so retries are safe.
+     *
+     * @param contentDigest the request's {@code Content-Digest} header (RFC 9530), which must
+     *                      carry a {@code sha-256} value
+     * @throws BadRequestException if the index, size or digest is wrong
+     * @throws GoneException       if the session expired
+     */
+    public void uploadChunk(String taskId, String uploadId, int index, String userId,
+                            String contentDigest, InputStream content) throws IOException {
+        UploadSession session = loadSession(taskId, uploadId, userId);
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw new BadRequestException("Chunk index must be between 0 and " + (session.getChunkCount() - 1));
+        }
+        byte[] expectedDigest = parseSha256Digest(contentDigest);
+        long expectedSize = session.expectedChunkSize(index);
+
+        StagedBlob chunk = blobStore.stage(content, expectedSize);
+        try {
+            if (chunk.size() != expectedSize) {
+                throw new BadRequestException("Chunk " + index + " must be " + expectedSize + " bytes, got " + chunk.size());
+            }
+            if (!MessageDigest.isEqual(HexFormat.of().parseHex(chunk.sha256()), expectedDigest)) {
+                throw new BadRequestException("Chunk " + index + " does not match its Content-Digest");
+            }
+            blobStore.publishChunk(chunk, uploadId, index);
+        } finally {
+            blobStore.discard(chunk);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean live = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (sessionRepository.extend(uploadId, now.plusMinutes(sessionTtlMinutes), now) == 0) {
+                return false;
+            }
+            chunkRepository.record(uploadId, index, chunk.size(), chunk.sha256());
+            return true;
+        }));
+        if (!live) {
+            // Expired, completed or aborted while the chunk was being received
+            blobStore.deleteChunks(uploadId);
+            throw new GoneException("Upload session " + uploadId + " is no longer active");
+        }
+    }
+
+    /**
+     * Assembles the chunks and attaches the file to the task.
+     *
+     * @throws BadRequestException if chunks are missing or the file does not match the
+     *                             SHA-256 given when the session was opened; the session is
+     *                             kept, so missing chunks can still be sent
+     * @throws OptimisticLockingFailureException if a chunk was sent again while the file was
+     *                             being assembled; the session is kept and can be completed again
+     */
+    public AttachmentResponse complete(String taskId, String uploadId, String userId) throws IOException {
+        UploadSession session = loadSession(taskId, uploadId, userId);
+        String teamId = attachmentService.requireMember(taskId, userId);
+
+        List<Integer> received = chunkRepository.findIndexes(uploadId);
+        if (received.size() != session.getChunkCount()) {
+            Set<Integer> have = new HashSet<>(received);
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < session.getChunkCount() && missing.size() < MAX_MISSING_REPORTED; i++) {
+                if (!have.contains(i)) {
+                    missing.add(i);
+                }
+            }
+            throw new BadRequestException("Upload is missing chunks " + missing);
+        }
+
+        List<Path> parts = blobStore.chunkFiles(uploadId, session.getChunkCount());
+        StagedBlob digest = blobStore.digest(parts);
+        if (digest.size() != session.getTotalSize()) {
+            throw new IllegalStateException("Chunks of upload " + uploadId + " add up to " + digest.size()
+                    + " bytes instead of " + session.getTotalSize());
+        }
+        if (session.getSha256() != null && !session.getSha256().equals(digest.sha256())) {
+            throw new BadRequestException("The uploaded file does not match the SHA-256 given for it");
+        }
+
+        // Identical content already stored is only referenced again
+        StagedBlob blob = blobStore.find(digest.sha256()).isPresent() ? digest : blobStore.concatenate(parts, digest);
+        AttachmentResponse attachment;
+        try {
+            String fileType = AttachmentService.resolveType(digest, session.getFileType(), session.getFileName());
+            attachment = transactionTemplate.execute(status -> {
+                if (sessionRepository.deleteSession(uploadId) == 0) {
+                    throw new ResourceNotFoundException("Upload session not found: " + uploadId);
+                }
+                chunkRepository.deleteBySessionIds(List.of(uploadId));
+                return attachmentService.attach(taskId, teamId, userId, session.getFileName(), fileType, blob,
+                        () -> blobStore.concatenate(parts, digest));
+            });
+        } finally {
+            blobStore.discard(blob);
+        }
+        blobStore.deleteChunks(uploadId);
+        log.info("Upload session {} completed as attachment {} ({})", uploadId, attachment.getId(), digest.sha256());
+        return attachment;
+    }
+
+    /**
+     * Abandons an upload and deletes its chunks.
+     */
+    public void abort(String taskId, String uploadId, String userId) {
+        loadSession(taskId, uploadId, userId);
+        transactionTemplate.executeWithoutResult(status -> {
+            sessionRepository.deleteSession(uploadId);
+            chunkRepository.deleteBySessionIds(List.of(uploadId));
+        });
+        blobStore.deleteChunks(uploadId);
+    }
+
+    @Scheduled(cron = "${app.attachments.cleanup-cron:0 */15 * * * *}")
+    public void cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int sessions = expireSessions(now);
+            int blobs = collectBlobs();
+            int files = sweepFiles(now);
+            if (sessions + blobs + files > 0) {
+                log.info("Attachment cleanup removed {} expired uploads, {} unreferenced blobs and {} stray files",
+                        sessions, blobs, files);
+            }
+        } catch (Exception e) {
+            log.error("Attachment cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes sessions that expired by {@code now}, with their chunks.
+     *
+     * @return the number of sessions deleted
+     */
+    public int expireSessions(LocalDateTime now) {
+        int total = 0;
+        List<String> expired;
+        do {
+            expired = transactionTemplate.execute(status -> {
+                List<String> ids = sessionRepository.lockExpired(now, Limit.of(cleanupBatchSize)).stream()
+                        .map(UploadSession::getId)
+                        .toList();
+                if (!ids.isEmpty()) {
+                    chunkRepository.deleteBySessionIds(ids);
+                    sessionRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids;
+            });
+            expired.forEach(blobStore::deleteChunks);
+            total += expired.size();
+        } while (expired.size() == cleanupBatchSize);
+        return total;
+    }
+
+    /**
+     * Deletes blobs no attachment refers to. Each file is deleted while its reference row is
+     * locked, so a writer taking a new reference either waits and then finds the file gone
+     * (and stores it again), or has already taken the row and the blob is skipped.
+     *
+     * @return the number of blobs deleted
+     */
+    public int collectBlobs() {
+        int total = 0;
+        int claimed;
+        do {
+            int[] result = transactionTemplate.execute(status -> {
+                List<Blob> candidates = blobRepository.lockUnreferenced(Limit.of(cleanupBatchSize));
+                if (candidates.isEmpty()) {
+                    return new int[]{0, 0};
+                }
+                Map<String, Blob> byUri = candidates.stream()
+                        .collect(Collectors.toMap(blob -> BlobStore.URI_PREFIX + blob.getSha256(), Function.identity()));
+                // The counts are authoritative, but a file is never deleted under an attachment
+                for (String uri : attachmentRepository.findReferencedFileUrls(byUri.keySet())) {
+                    Blob drifted = byUri.remove(uri);
+                    log.warn("Blob {} has no counted references but is still attached; keeping it", drifted.getSha256());
+                    drifted.setRefCount(1);
+                }
+                for (Blob blob : byUri.values()) {
+                    try {
+                        blobStore.delete(blob.getSha256());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                blobRepository.deleteAllInBatch(byUri.values());
+                return new int[]{candidates.size(), byUri.size()};
+            });
+            claimed = result[0];
+            total += result[1];
+        } while (claimed == cleanupBatchSize);
+        return total;
+    }
+
+    /**
+     * Deletes temporary files, and chunk directories whose session no longer exists, that
+     * have not been written to for a session lifetime.
+     *
+     * @return the number of entries deleted
+     */
+    public int sweepFiles(LocalDateTime now) throws IOException {
+        Instant before = now.minusMinutes(sessionTtlMinutes).atZone(ZoneId.systemDefault()).toInstant();
+        int removed = blobStore.sweepTemporary(before);
+        List<String> stale = blobStore.uploadsOlderThan(before);
+        for (int start = 0; start < stale.size(); start += cleanupBatchSize) {
+            List<String> batch = stale.subList(start, Math.min(start + cleanupBatchSize, stale.size()));
+            Set<String> live = new HashSet<>(sessionRepository.findExistingIds(batch));
+            for (String uploadId : batch) {
+                if (!live.contains(uploadId)) {
+                    blobStore.deleteChunks(uploadId);
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Loads a live session of the given task opened by the given user. Other users' sessions
+     * are reported as not found.
+     */
+    private UploadSession loadSession(String taskId, String uploadId, String userId) {
+        UploadSession session = sessionRepository.findById(uploadId)
+                .filter(found -> found.getTaskId().equals(taskId) && found.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found: " + uploadId));
+        if (!session.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new GoneException("Upload session " + uploadId + " has expired");
+        }
+        return session;
+    }
+
+    /**
+     * Reads the {@code sha-256} member of a {@code Content-Digest} header, such as
+     * {@code sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:}.
+     */
+    static byte[] parseSha256Digest(String header) {
+        if (header != null) {
+            for (String member : header.split(",")) {
+                int equals = member.indexOf('=');
+                if (equals < 0 || !member.substring(0, equals).trim().equalsIgnoreCase("sha-256")) {
+                    continue;
+                }
+                String value = member.substring(equals + 1).trim();
+                if (value.length() > 2 && value.startsWith(":") && value.endsWith(":")) {
+                    try {
+                        byte[] digest = Base64.getDecoder().decode(value.substring(1, value.length() - 1));
+                        if (digest.length == 32) {
+                            return digest;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // Reported below
+                    }
+                }
+                throw new BadRequestException("Malformed sha-256 value in Content-Digest");
+            }
+        }
+        throw new BadRequestException("Each chunk needs a Content-Digest header with a sha-256 value");
+    }
+
+    private static UploadSessionResponse toResponse(UploadSession session, List<Integer> receivedChunks) {
+        return UploadSessionResponse.builder()
+                .uploadId(session.getId())
+                .taskId(session.getTaskId())
+                .fileName(session.getFileName())
+                .size(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .receivedChunks(receivedChunks)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
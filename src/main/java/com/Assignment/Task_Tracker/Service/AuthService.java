@@ -8,11 +8,11 @@ import com.Assignment.Task_Tracker.Entity.User;
 import com.Assignment.Task_Tracker.Exception.BadRequestException;
 import com.Assignment.Task_Tracker.Repository.UserRepository;
 import com.Assignment.Task_Tracker.Security.JwtUtil;
+import com.Assignment.Task_Tracker.Security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
@@ -20,10 +20,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHasher;
     private final JwtUtil jwtUtil;
 
-    @Transactional
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates an account. The password is hashed before the insert's transaction opens, so
+     * the wait for the hashing executor does not hold a database connection.
+     */
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
 
@@ -35,15 +40,14 @@ public class AuthService {
             throw new BadRequestException("Username already exists");
         }
 
-        User user = User.builder()
+        String passwordHash = passwordHasher.encode(request.getPassword());
+        User user = transactionTemplate.execute(status -> userRepository.save(User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
-                .build();
-
-        user = userRepository.save(user);
+                .build()));
         String token = jwtUtil.generateToken(user.getId());
 
         return new AuthResponse(
@@ -59,7 +63,7 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadRequestException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             throw new BadRequestException("Invalid email or password");
         }
 
@@ -0,0 +1,346 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.DTO.TaskDueRow;
+import com.Assignment.Task_Tracker.Events.EventOutbox;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Fires {@code REMINDER} and {@code OVERDUE} events as task due dates approach and pass.
+ * <p>
+ * Only the next window of due dates is held in memory. A refill reads the open tasks due
+ * within {@code window + reminder-lead} through {@code idx_tasks_due_date_id} and puts a
+ * reminder timer at {@code dueDate - reminder-lead} and an overdue timer at {@code dueDate}
+ * into a {@link HashedTimingWheel}. A single worker thread advances the wheel every tick and
+ * fires the expired timers in batches. Each batch locks the tasks that still qualify
+ * ({@code FOR UPDATE SKIP LOCKED}), stamps them with the due date the event was fired for,
+ * and records the events in the outbox, all in one transaction. With several nodes running,
+ * only the node that claims a row fires its event, and a task that was closed or moved to
+ * another due date in the meantime fires nothing.
+ * <p>
+ * Due dates changed on this node are rescheduled when the change commits. Each refill also
+ * looks back over {@code lookback}, which picks up due dates changed on other nodes, rows
+ * skipped because another transaction held them, and events missed while no node was up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DueDateScheduler implements MeterBinder {
+
+    enum Kind {
+        REMINDER, OVERDUE
+    }
+
+    record Timer(String taskId, Kind kind, LocalDateTime dueDate) {
+    }
+
+    // The timers of one task, for the due date they were scheduled for
+    private static final class TaskTimers {
+        private final LocalDateTime dueDate;
+        private HashedTimingWheel.Timeout<Timer> reminder;
+        private HashedTimingWheel.Timeout<Timer> overdue;
+
+        private TaskTimers(LocalDateTime dueDate) {
+            this.dueDate = dueDate;
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final EventOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.due.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.due.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.due.wheel-slots:512}")
+    private int wheelSlots;
+
+    @Value("${app.due.window-minutes:10}")
+    private long windowMinutes;
+
+    @Value("${app.due.reminder-lead-minutes:1440}")
+    private long reminderLeadMinutes;
+
+    @Value("${app.due.lookback-minutes:1440}")
+    private long lookbackMinutes;
+
+    @Value("${app.due.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.due.max-scheduled:100000}")
+    private int maxScheduled;
+
+    // Guarded by this
+    private HashedTimingWheel<Timer> wheel;
+    private final Map<String, TaskTimers> scheduled = new HashMap<>();
+    private LocalDateTime loadedUntil;
+
+    private volatile boolean running;
+    private Thread worker;
+    private final LongAdder reminders = new LongAdder();
+    private final LongAdder overdue = new LongAdder();
+
+    @PostConstruct
+    void createWheel() {
+        wheel = new HashedTimingWheel<>(tickMillis, wheelSlots, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Due date scheduler disabled");
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("due-date-scheduler").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        Duration refillInterval = Duration.ofMinutes(Math.max(1, windowMinutes / 2));
+        LocalDateTime nextRefill = LocalDateTime.MIN;
+        while (running) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                if (!now.isBefore(nextRefill)) {
+                    refill(now);
+                    nextRefill = now.plus(refillInterval);
+                }
+                fireDue(now);
+            } catch (Exception e) {
+                log.error("Due date scheduling failed, retrying next tick: {}", e.getMessage(), e);
+            }
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Loads the open tasks due between {@code lookback} before {@code now} and the end of the
+     * next window into the wheel, in pages of {@code batch-size}. Stops early, and shortens
+     * the window, once {@code max-scheduled} timers are held.
+     *
+     * @return the number of timers added
+     */
+    public int refill(LocalDateTime now) {
+        LocalDateTime horizon = now.plusMinutes(windowMinutes + reminderLeadMinutes);
+        LocalDateTime afterDue = now.minusMinutes(lookbackMinutes);
+        String afterId = "";
+        int added = 0;
+        List<TaskDueRow> page;
+        do {
+            page = taskRepository.findDueAfter(afterDue, afterId, horizon, Limit.of(batchSize));
+            synchronized (this) {
+                for (TaskDueRow row : page) {
+                    added += schedule(row, now);
+                }
+                if (scheduled.size() >= maxScheduled && page.size() == batchSize) {
+                    horizon = page.get(page.size() - 1).getDueDate();
+                    log.warn("Due date scheduler holds {} tasks, window shortened to {}", scheduled.size(), horizon);
+                    break;
+                }
+            }
+            if (!page.isEmpty()) {
+                afterDue = page.get(page.size() - 1).getDueDate();
+                afterId = page.get(page.size() - 1).getTaskId();
+            }
+        } while (page.size() == batchSize);
+
+        synchronized (this) {
+            loadedUntil = horizon;
+        }
+        log.debug("Due date refill added {} timers, window until {}", added, horizon);
+        return added;
+    }
+
+    /**
+     * Replaces the timers of a task after its due date changed, or drops them when
+     * {@code dueDate} is null. Due dates beyond the loaded window are left to a later refill.
+     */
+    public synchronized void reschedule(String taskId, LocalDateTime dueDate) {
+        TaskTimers previous = scheduled.remove(taskId);
+        if (previous != null) {
+            cancel(previous);
+        }
+        if (dueDate != null && loadedUntil != null && !dueDate.isAfter(loadedUntil)) {
+            schedule(new TaskDueRow(taskId, null, dueDate, null, null), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Advances the wheel to {@code now} and fires the expired timers.
+     *
+     * @return the number of events recorded
+     */
+    public int fireDue(LocalDateTime now) {
+        List<Timer> expired;
+        synchronized (this) {
+            expired = wheel.advance(toMillis(now));
+            expired.forEach(this::detach);
+        }
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        Map<Kind, List<String>> byKind = expired.stream().collect(Collectors.groupingBy(
+                Timer::kind, () -> new HashMap<>(), Collectors.mapping(Timer::taskId, Collectors.toList())));
+        int fired = 0;
+        for (Map.Entry<Kind, List<String>> entry : byKind.entrySet()) {
+            List<String> ids = entry.getValue();
+            for (int start = 0; start < ids.size(); start += batchSize) {
+                fired += claim(entry.getKey(), ids.subList(start, Math.min(start + batchSize, ids.size())), now);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Number of timers currently held.
+     */
+    public synchronized int scheduledCount() {
+        return wheel.size();
+    }
+
+    private int claim(Kind kind, List<String> taskIds, LocalDateTime now) {
+        Integer claimed = transactionTemplate.execute(status -> {
+            List<TaskDueRow> rows = kind == Kind.OVERDUE
+                    ? taskRepository.lockOverdue(taskIds, now)
+                    : taskRepository.lockRemindable(taskIds, now, now.plusMinutes(reminderLeadMinutes));
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            List<String> ids = rows.stream().map(TaskDueRow::getTaskId).collect(Collectors.toList());
+            TaskChangeEvent.Type type;
+            if (kind == Kind.OVERDUE) {
+                taskRepository.markOverdueFired(ids);
+                type = TaskChangeEvent.Type.OVERDUE;
+            } else {
+                taskRepository.markReminderFired(ids);
+                type = TaskChangeEvent.Type.REMINDER;
+            }
+            outbox.recordAll(rows.stream()
+                    .map(row -> TaskChangeEvent.due(type, row.getTeamId(), row.getTaskId(), row.getDueDate()))
+                    .collect(Collectors.toList()));
+            return rows.size();
+        });
+        int count = claimed != null ? claimed : 0;
+        (kind == Kind.OVERDUE ? overdue : reminders).add(count);
+        if (count > 0) {
+            log.debug("Fired {} {} events", count, kind);
+        }
+        return count;
+    }
+
+    /**
+     * Adds the timers a task still needs for its due date. A reminder is only scheduled
+     * while the task is not yet due.
+     *
+     * @return the number of timers added
+     */
+    private int schedule(TaskDueRow row, LocalDateTime now) {
+        LocalDateTime dueDate = row.getDueDate();
+        TaskTimers timers = scheduled.get(row.getTaskId());
+        if (timers != null && !timers.dueDate.equals(dueDate)) {
+            cancel(timers);
+            timers = null;
+        }
+        if (timers == null) {
+            timers = new TaskTimers(dueDate);
+            scheduled.put(row.getTaskId(), timers);
+        }
+        int added = 0;
+        if (timers.reminder == null && !dueDate.equals(row.getRemindedFor()) && dueDate.isAfter(now)) {
+            timers.reminder = wheel.schedule(new Timer(row.getTaskId(), Kind.REMINDER, dueDate),
+                    toMillis(dueDate.minusMinutes(reminderLeadMinutes)));
+            added++;
+        }
+        if (timers.overdue == null && !dueDate.equals(row.getOverdueFor())) {
+            timers.overdue = wheel.schedule(new Timer(row.getTaskId(), Kind.OVERDUE, dueDate), toMillis(dueDate));
+            added++;
+        }
+        if (timers.reminder == null && timers.overdue == null) {
+            scheduled.remove(row.getTaskId());
+        }
+        return added;
+    }
+
+    private void cancel(TaskTimers timers) {
+        if (timers.reminder != null) {
+            wheel.cancel(timers.reminder);
+        }
+        if (timers.overdue != null) {
+            wheel.cancel(timers.overdue);
+        }
+    }
+
+    private void detach(Timer timer) {
+        TaskTimers timers = scheduled.get(timer.taskId());
+        if (timers == null) {
+            return;
+        }
+        if (timers.reminder != null && timers.reminder.item().equals(timer)) {
+            timers.reminder = null;
+        }
+        if (timers.overdue != null && timers.overdue.item().equals(timer)) {
+            timers.overdue = null;
+        }
+        if (timers.reminder == null && timers.overdue == null) {
+            scheduled.remove(timer.taskId());
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("due.timers", this, DueDateScheduler::scheduledCount)
+                .description("Reminder and overdue timers held by the due date scheduler").register(registry);
+        FunctionCounter.builder("due.events", reminders, LongAdder::sum)
+                .tag("type", "reminder")
+                .description("Due date events fired by this node").register(registry);
+        FunctionCounter.builder("due.events", overdue, LongAdder::sum)
+                .tag("type", "overdue")
+                .description("Due date events fired by this node").register(registry);
+    }
+}
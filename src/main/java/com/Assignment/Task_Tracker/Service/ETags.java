@@ -0,0 +1,85 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.TaskResponse;
+import com.Assignment.Task_Tracker.DTO.TaskVersionRow;
+import com.Assignment.Task_Tracker.Exception.PreconditionFailedException;
+import org.springframework.http.ETag;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong entity tags for task representations.
+ * <p>
+ * A task's tag is derived from its {@code @Version} and its two denormalized counters, the
+ * only parts of a {@link TaskResponse} that change after creation. Team and user names are
+ * not editable, so they need no part in it. A team task list is tagged with the team's
+ * change stamp (see {@link TeamChangeStamps}).
+ */
+public final class ETags {
+
+    private static final Pattern TASK_TAG = Pattern.compile("v(\\d+)\\.c(\\d+)\\.a(\\d+)");
+
+    private ETags() {
+        // Utility class
+    }
+
+    public static String forTask(TaskVersionRow row) {
+        return forTask(row.getVersion(), row.getCommentCount(), row.getAttachmentCount());
+    }
+
+    public static String forTask(TaskResponse task) {
+        return forTask(task.getVersion(),
+                task.getCommentCount() != null ? task.getCommentCount() : 0,
+                task.getAttachmentCount() != null ? task.getAttachmentCount() : 0);
+    }
+
+    static String forTask(Long version, int commentCount, int attachmentCount) {
+        return String.format("\"v%d.c%d.a%d\"", version != null ? version : 0L, commentCount, attachmentCount);
+    }
+
+    /**
+     * Reads the task state back out of a strong task tag.
+     *
+     * @return empty for weak tags and tags this class did not produce
+     */
+    public static Optional<TaskVersionRow> parseTask(ETag tag) {
+        Matcher matcher = TASK_TAG.matcher(tag.tag());
+        if (tag.weak() || !matcher.matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new TaskVersionRow(Long.parseLong(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3))));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static String forTeamTasks(long stamp) {
+        return String.format("\"s%d\"", stamp);
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against the current tag of a resource using the
+     * strong comparison RFC 9110 requires.
+     *
+     * @param ifMatch the header value, or null if the request had none
+     * @param current the current tag of the resource
+     * @throws PreconditionFailedException if the header is present and matches nothing
+     */
+    public static void checkIfMatch(String ifMatch, String current) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        ETag currentTag = ETag.create(current);
+        for (ETag candidate : ETag.parse(ifMatch)) {
+            if (candidate.isWildcard() || candidate.compare(currentTag, true)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException(
+                "The resource has changed since it was read (current ETag " + current + "); reload it and retry");
+    }
+}
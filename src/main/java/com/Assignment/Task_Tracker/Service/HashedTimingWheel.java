@@ -0,0 +1,131 @@
+package com.Assignment.Task_Tracker.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel: a ring of slots, each holding the timers whose deadline falls on a
+ * tick that maps to it. Scheduling and cancelling are O(1), and advancing the clock only
+ * visits the slots of the ticks that passed, so the cost does not grow with the number of
+ * timers that are not yet due.
+ * <p>
+ * Deadlines beyond one turn of the wheel share a slot with nearer ones and are skipped
+ * until their own turn comes round. Not thread-safe; callers synchronize.
+ *
+ * @param <T> the payload fired when a timer expires
+ */
+final class HashedTimingWheel<T> {
+
+    /**
+     * A scheduled timer. Cancelling it is O(1): it is dropped when its slot is next visited.
+     */
+    static final class Timeout<T> {
+        private final T item;
+        private final long deadlineMillis;
+        private boolean cancelled;
+
+        private Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        T item() {
+            return item;
+        }
+
+        long deadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
+    private final long tickMillis;
+    private final List<LinkedList<Timeout<T>>> slots;
+    private final int mask;
+    private final long startMillis;
+    // The last tick whose slot has been visited
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis  the resolution; timers fire on the first tick at or after their deadline
+     * @param slotCount   number of slots, rounded up to a power of two
+     * @param startMillis the time of tick zero
+     */
+    HashedTimingWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick and slot count must be positive");
+        }
+        int count = Integer.highestOneBit(slotCount);
+        if (count < slotCount) {
+            count <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            slots.add(new LinkedList<>());
+        }
+        this.mask = count - 1;
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Schedules {@code item} to fire at {@code deadlineMillis}. A deadline that has already
+     * passed fires on the next advance.
+     */
+    Timeout<T> schedule(T item, long deadlineMillis) {
+        // Round up, so the slot is never visited before the deadline has actually passed
+        long tick = Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, deadlineMillis);
+        slots.get((int) (tick & mask)).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    void cancel(Timeout<T> timeout) {
+        if (!timeout.cancelled) {
+            timeout.cancelled = true;
+            size--;
+        }
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis} and returns the items that expired.
+     */
+    List<T> advance(long nowMillis) {
+        long targetTick = tickOf(nowMillis);
+        List<T> expired = new ArrayList<>();
+        if (targetTick <= currentTick) {
+            return expired;
+        }
+        // After a full turn every slot has been passed; visit each once
+        long ticks = Math.min(targetTick - currentTick, slots.size());
+        for (long t = 1; t <= ticks; t++) {
+            Iterator<Timeout<T>> bucket = slots.get((int) ((currentTick + t) & mask)).iterator();
+            while (bucket.hasNext()) {
+                Timeout<T> timeout = bucket.next();
+                if (timeout.cancelled) {
+                    bucket.remove();
+                } else if (timeout.deadlineMillis <= nowMillis) {
+                    bucket.remove();
+                    size--;
+                    expired.add(timeout.item);
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * Number of timers scheduled and not cancelled.
+     */
+    int size() {
+        return size;
+    }
+
+    private long tickOf(long millis) {
+        return Math.floorDiv(millis - startMillis, tickMillis);
+    }
+}
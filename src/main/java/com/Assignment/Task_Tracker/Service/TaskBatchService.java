@@ -0,0 +1,412 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.BatchCreateTasksResponse;
+import com.Assignment.Task_Tracker.DTO.BatchItemResult;
+import com.Assignment.Task_Tracker.DTO.BulkTaskRequest;
+import com.Assignment.Task_Tracker.DTO.BulkTaskResponse;
+import com.Assignment.Task_Tracker.DTO.CreateTaskRequest;
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.DTO.TaskResponse;
+import com.Assignment.Task_Tracker.DTO.TaskStatsRow;
+import com.Assignment.Task_Tracker.DTO.TaskTeamRow;
+import com.Assignment.Task_Tracker.DTO.TeamMemberRow;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.TaskMapper;
+import com.Assignment.Task_Tracker.Entity.Team;
+import com.Assignment.Task_Tracker.Entity.User;
+import com.Assignment.Task_Tracker.Events.EventOutbox;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import com.Assignment.Task_Tracker.Exception.ResourceNotFoundException;
+import com.Assignment.Task_Tracker.Repository.AttachmentRepository;
+import com.Assignment.Task_Tracker.Repository.BlobRepository;
+import com.Assignment.Task_Tracker.Repository.CommentRepository;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TaskTombstoneRepository;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import com.Assignment.Task_Tracker.Repository.UserRepository;
+import com.Assignment.Task_Tracker.Search.TaskSearchIndex;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for operations that act on many tasks in one request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskBatchService {
+
+    static final int MAX_BULK_TASKS = 10_000;
+    static final int BULK_CHUNK_SIZE = 500;
+    // Column lengths of Task; longer values would fail the insert and abort the whole batch
+    static final int MAX_TITLE_LENGTH = 100;
+    static final int MAX_DESCRIPTION_LENGTH = 2000;
+
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final BlobRepository blobRepository;
+    private final TaskSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final TeamChangeStamps changeStamps;
+    private final EventOutbox outbox;
+    private final TaskChangeSequence changeSequence;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TeamTaskStats teamStats;
+    private final DueDateScheduler dueDates;
+
+    public enum BulkAction {
+        STATUS(TaskChangeEvent.Type.STATUS_CHANGED),
+        PRIORITY(TaskChangeEvent.Type.UPDATED),
+        ASSIGN(TaskChangeEvent.Type.ASSIGNED),
+        UNASSIGN(TaskChangeEvent.Type.ASSIGNED),
+        DELETE(TaskChangeEvent.Type.DELETED);
+
+        private final TaskChangeEvent.Type eventType;
+
+        BulkAction(TaskChangeEvent.Type eventType) {
+            this.eventType = eventType;
+        }
+    }
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Creates many tasks for one user in a single transaction.
+     * <p>
+     * Teams, assignees and memberships are resolved with one query each for the whole batch
+     * instead of per task. Invalid items are reported individually and skipped; valid ones are
+     * persisted in chunks of the JDBC batch size so Hibernate sends ordered, batched INSERTs.
+     * Task ids are UUIDs generated in memory, so no sequence round trips are needed.
+     *
+     * @param userId   the ID of the user creating the tasks
+     * @param requests the tasks to create, in request order
+     * @return per-item results in request order plus totals
+     * @throws ResourceNotFoundException if the creating user is not found
+     */
+    @Transactional
+    public BatchCreateTasksResponse createTasks(String userId, List<CreateTaskRequest> requests) {
+        log.info("Creating {} tasks in batch for user: {}", requests.size(), userId);
+
+        User creator = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        Set<String> teamIds = requests.stream()
+                .map(CreateTaskRequest::getProjectId)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toSet());
+        Set<String> assigneeIds = requests.stream()
+                .map(CreateTaskRequest::getAssignedToId)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toSet());
+
+        Map<String, Team> teams = teamRepository.findAllById(teamIds).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        Map<String, User> users = userRepository.findAllById(assigneeIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        users.put(creator.getId(), creator);
+
+        Set<String> memberships = new HashSet<>();
+        if (!teams.isEmpty()) {
+            for (TeamMemberRow row : teamRepository.findMemberships(teams.keySet(), users.keySet())) {
+                memberships.add(membershipKey(row.getTeamId(), row.getUserId()));
+            }
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Task> pending = new ArrayList<>();
+        Long changeSeq = null;
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTaskRequest request = requests.get(i);
+            String error = validate(request, creator, teams, users, memberships);
+            if (error != null) {
+                results[i] = BatchItemResult.builder().index(i).success(false).error(error).build();
+                continue;
+            }
+            if (changeSeq == null) {
+                changeSeq = changeSequence.current();
+            }
+            pending.add(buildTask(request, creator, teams, users, changeSeq));
+            pendingIndexes.add(i);
+        }
+
+        int chunkSize = Math.max(1, jdbcBatchSize);
+        for (int start = 0; start < pending.size(); start += chunkSize) {
+            List<Task> chunk = pending.subList(start, Math.min(start + chunkSize, pending.size()));
+            chunk.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        teamStats.created(pending);
+        List<Task> withDueDates = pending.stream().filter(task -> task.getDueDate() != null).collect(Collectors.toList());
+        if (!withDueDates.isEmpty()) {
+            TransactionHooks.afterCommit(() -> withDueDates.forEach(task -> dueDates.reschedule(task.getId(), task.getDueDate())));
+        }
+        pending.stream()
+                .map(task -> task.getTeam().getId())
+                .distinct()
+                .forEach(changeStamps::touch);
+
+        List<TaskChangeEvent> changes = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pendingIndexes.get(i);
+            TaskResponse task = TaskMapper.mapToTaskResponse(pending.get(i));
+            changes.add(TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, task));
+            results[index] = BatchItemResult.builder()
+                    .index(index)
+                    .success(true)
+                    .task(task)
+                    .build();
+        }
+        outbox.recordAll(changes);
+
+        int created = pending.size();
+        log.info("Batch for user {} created {} tasks, rejected {}", userId, created, requests.size() - created);
+        return BatchCreateTasksResponse.builder()
+                .requested(requests.size())
+                .created(created)
+                .failed(requests.size() - created)
+                .results(List.of(results))
+                .build();
+    }
+
+    /**
+     * Applies one change to many tasks with set-based statements.
+     * <p>
+     * Tasks are selected by id list or by a team-scoped filter. Permissions for the whole
+     * selection are resolved in one query per chunk using the same rules as the single-task
+     * endpoints: status changes are allowed for the assignee, the creator and the team creator;
+     * everything else only for the creator and the team creator. The change itself runs as one
+     * UPDATE or DELETE per chunk of {@value #BULK_CHUNK_SIZE} ids.
+     *
+     * @param userId  the ID of the user performing the change
+     * @param request the selection, action and value
+     * @return counts of matched, denied, affected and skipped tasks
+     * @throws BadRequestException       if the selection, action or value is invalid
+     * @throws ResourceNotFoundException if the new assignee does not exist
+     */
+    @Transactional
+    public BulkTaskResponse applyBulk(String userId, BulkTaskRequest request) {
+        BulkAction action = parseEnum(BulkAction.class, request.getAction(), "action");
+        log.info("Applying bulk {} for user {}", action, userId);
+
+        Task.TaskStatus status = action == BulkAction.STATUS
+                ? parseEnum(Task.TaskStatus.class, request.getValue(), "status") : null;
+        Task.Priority priority = action == BulkAction.PRIORITY
+                ? parseEnum(Task.Priority.class, request.getValue(), "priority") : null;
+        User assignee = null;
+        if (action == BulkAction.ASSIGN) {
+            if (!StringUtils.hasText(request.getValue())) {
+                throw new BadRequestException("Assignee ID is required");
+            }
+            if (!userRepository.existsById(request.getValue())) {
+                throw new ResourceNotFoundException("User", "id", request.getValue());
+            }
+            assignee = userRepository.getReferenceById(request.getValue());
+        }
+
+        List<String> candidates = resolveSelection(request);
+        if (candidates.size() > MAX_BULK_TASKS) {
+            throw new BadRequestException(String.format(
+                    "Selection matches %d tasks; at most %d can be changed at once", candidates.size(), MAX_BULK_TASKS));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> permitted = new ArrayList<>();
+        int affected = 0;
+        for (int start = 0; start < candidates.size(); start += BULK_CHUNK_SIZE) {
+            List<String> chunk = candidates.subList(start, Math.min(start + BULK_CHUNK_SIZE, candidates.size()));
+            List<TaskTeamRow> rows = action == BulkAction.STATUS
+                    ? taskRepository.findWorkableBy(chunk, userId)
+                    : taskRepository.findManagedBy(chunk, userId);
+            permitted.addAll(rows.stream().map(TaskTeamRow::getTaskId).toList());
+            if (action == BulkAction.ASSIGN) {
+                // Tasks of teams the assignee is not in are skipped, so they get no event either
+                rows = assignable(rows, assignee.getId());
+            }
+            if (rows.isEmpty()) {
+                continue;
+            }
+            List<String> allowed = rows.stream().map(TaskTeamRow::getTaskId).collect(Collectors.toList());
+            long changeSeq = changeSequence.current();
+            List<TaskStatsRow> before = teamStats.lock(allowed);
+            affected += switch (action) {
+                case STATUS -> taskRepository.updateStatusByIds(allowed, status, now, changeSeq);
+                case PRIORITY -> taskRepository.updatePriorityByIds(allowed, priority, now, changeSeq);
+                case ASSIGN -> taskRepository.assignByIds(allowed, assignee, now, changeSeq);
+                case UNASSIGN -> taskRepository.unassignByIds(allowed, now, changeSeq);
+                case DELETE -> deleteChunk(allowed, now, changeSeq);
+            };
+            if (action == BulkAction.DELETE) {
+                teamStats.deleted(before);
+            } else {
+                teamStats.moved(before, teamStats.read(allowed));
+            }
+            rows.stream().map(TaskTeamRow::getTeamId).distinct().forEach(changeStamps::touch);
+            // Bulk events carry no task body; subscribers refetch what they display
+            outbox.recordAll(rows.stream()
+                    .map(row -> TaskChangeEvent.withoutBody(action.eventType, row.getTeamId(), row.getTaskId()))
+                    .collect(Collectors.toList()));
+        }
+
+        if (action == BulkAction.DELETE && !permitted.isEmpty()) {
+            // Bulk DELETE bypasses the entity listener that normally maintains the search index
+            TransactionHooks.afterCommit(() -> permitted.forEach(searchIndex::removeTask));
+        }
+
+        log.info("Bulk {} by user {}: matched {}, permitted {}, affected {}",
+                action, userId, candidates.size(), permitted.size(), affected);
+        return BulkTaskResponse.builder()
+                .action(action.name())
+                .matched(candidates.size())
+                .denied(candidates.size() - permitted.size())
+                .affected(affected)
+                .skipped(permitted.size() - affected)
+                .build();
+    }
+
+    /**
+     * The rows whose team has {@code assigneeId} as a member. assignByIds applies the same
+     * condition again, so a membership removed meanwhile still cannot be assigned into.
+     */
+    private List<TaskTeamRow> assignable(List<TaskTeamRow> rows, String assigneeId) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> teamIds = rows.stream().map(TaskTeamRow::getTeamId).collect(Collectors.toSet());
+        Set<String> memberOf = teamRepository.findMemberships(teamIds, List.of(assigneeId)).stream()
+                .map(TeamMemberRow::getTeamId)
+                .collect(Collectors.toSet());
+        return rows.stream().filter(row -> memberOf.contains(row.getTeamId())).collect(Collectors.toList());
+    }
+
+    private int deleteChunk(List<String> taskIds, LocalDateTime now, long changeSeq) {
+        tombstoneRepository.insertForTasks(taskIds, changeSeq, now);
+        commentRepository.deleteByTaskIds(taskIds);
+        blobRepository.releaseForTasks(taskIds, now);
+        attachmentRepository.deleteByTaskIds(taskIds);
+        return taskRepository.deleteByIds(taskIds);
+    }
+
+    private List<String> resolveSelection(BulkTaskRequest request) {
+        boolean hasIds = request.getTaskIds() != null && !request.getTaskIds().isEmpty();
+        boolean hasFilter = request.getFilter() != null;
+        if (hasIds == hasFilter) {
+            throw new BadRequestException("Provide either taskIds or filter");
+        }
+        if (hasIds) {
+            return request.getTaskIds().stream()
+                    .filter(StringUtils::hasText)
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
+
+        BulkTaskRequest.Filter filter = request.getFilter();
+        if (!StringUtils.hasText(filter.getTeamId())) {
+            throw new BadRequestException("Filter requires a team ID");
+        }
+        return taskRepository.findIdsByFilter(
+                filter.getTeamId(),
+                StringUtils.hasText(filter.getStatus()) ? parseEnum(Task.TaskStatus.class, filter.getStatus(), "status") : null,
+                StringUtils.hasText(filter.getPriority()) ? parseEnum(Task.Priority.class, filter.getPriority(), "priority") : null,
+                StringUtils.hasText(filter.getAssignedToId()) ? filter.getAssignedToId() : null);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        if (!StringUtils.hasText(value)) {
+            throw new BadRequestException(String.format("A %s value is required", name));
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("Invalid %s value: %s", name, value));
+        }
+    }
+
+    private String validate(CreateTaskRequest request, User creator, Map<String, Team> teams,
+                            Map<String, User> users, Set<String> memberships) {
+        if (request == null) {
+            return "Task cannot be null";
+        }
+        if (!StringUtils.hasText(request.getTitle())) {
+            return "Title is required";
+        }
+        if (request.getTitle().trim().length() > MAX_TITLE_LENGTH) {
+            return "Title must be at most " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (request.getDescription() != null && request.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return "Description must be at most " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        if (!StringUtils.hasText(request.getProjectId())) {
+            return "Project ID is required";
+        }
+        if (request.getPriority() != null && parsePriority(request.getPriority()) == null) {
+            return "Invalid priority value: " + request.getPriority();
+        }
+        Team team = teams.get(request.getProjectId());
+        if (team == null) {
+            return String.format("Team not found with id: %s", request.getProjectId());
+        }
+        if (!memberships.contains(membershipKey(team.getId(), creator.getId()))) {
+            return String.format("User %s is not authorized to create tasks in team %s", creator.getId(), team.getId());
+        }
+        String assigneeId = request.getAssignedToId();
+        if (StringUtils.hasText(assigneeId)) {
+            if (!users.containsKey(assigneeId)) {
+                return String.format("User not found with id: %s", assigneeId);
+            }
+            if (!memberships.contains(membershipKey(team.getId(), assigneeId))) {
+                return String.format("Cannot assign task to user %s as they are not a member of team %s",
+                        assigneeId, team.getId());
+            }
+        }
+        return null;
+    }
+
+    private Task buildTask(CreateTaskRequest request, User creator, Map<String, Team> teams, Map<String, User> users,
+                           long changeSeq) {
+        Task.Priority priority = request.getPriority() != null ? parsePriority(request.getPriority()) : Task.Priority.MEDIUM;
+        return Task.builder()
+                .title(request.getTitle().trim())
+                .description(request.getDescription())
+                .dueDate(request.getDueDate())
+                .priority(Objects.requireNonNull(priority))
+                .team(teams.get(request.getProjectId()))
+                .createdBy(creator)
+                .assignedTo(StringUtils.hasText(request.getAssignedToId()) ? users.get(request.getAssignedToId()) : null)
+                .status(Task.TaskStatus.OPEN)
+                .changeSeq(changeSeq)
+                .build();
+    }
+
+    private static Task.Priority parsePriority(String value) {
+        try {
+            return Task.Priority.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String membershipKey(String teamId, String userId) {
+        return teamId + ":" + userId;
+    }
+}
@@ -0,0 +1,180 @@
+package com.Assignment.Task_Tracker.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hands out the change sequence that orders the task delta feed.
+ * <p>
+ * Each writing transaction takes one value from the {@code task_change_seq} database sequence
+ * the first time it asks, and stamps every task row and tombstone it writes with it.
+ * Sequence values are allocated in one order but may commit in another, so a reader that
+ * simply took everything above its last position could skip a slow transaction that commits
+ * behind a faster one. {@link #visibleUpTo()} therefore reports the highest value below which
+ * no transaction on any node is still open; the feed never reads past it, and a client that
+ * has seen everything up to it will not be handed anything below it later.
+ * <p>
+ * The bound is re-read from the database on every call. It is the highest committed value,
+ * capped by this node's oldest open transaction and by the safe point every other live node
+ * last published in {@value #NODES_TABLE}. A node publishes its safe point each heartbeat:
+ * one below its oldest open transaction, or a freshly allocated value when it has none, since
+ * anything it allocates later is higher. Nodes whose heartbeat is older than the expiry are
+ * ignored, so a node that stalls for longer than that with a transaction open may still have
+ * its change skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeSequence {
+
+    static final String SEQUENCE_NAME = "task_change_seq";
+    static final String NODES_TABLE = "task_change_nodes";
+
+    private static final String BOUND_SQL = "SELECT GREATEST("
+            + "(SELECT COALESCE(MAX(change_seq), 0) FROM tasks), "
+            + "(SELECT COALESCE(MAX(change_seq), 0) FROM task_tombstones)) AS committed_seq, "
+            + "(SELECT MIN(safe_up_to) FROM " + NODES_TABLE + " WHERE node_id <> ? AND heartbeat_at >= ?) AS others_safe";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sync.node-expiry-ms:15000}")
+    private long nodeExpiryMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    // Writers hold the read lock from allocating a value until it is registered as in flight;
+    // readers take the write lock, so they never see a value that is allocated but unregistered
+    private final ReentrantReadWriteLock registration = new ReentrantReadWriteLock();
+    private volatile String nextValueSql;
+
+    // Schema generation only exports entity tables and the sequences behind their ids, so the
+    // change sequence and the node table are created here
+    @PostConstruct
+    void createSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + NODES_TABLE + " (node_id VARCHAR(36) PRIMARY KEY, "
+                + "safe_up_to BIGINT NOT NULL, heartbeat_at TIMESTAMP NOT NULL)");
+        // Before this node serves writes, so no reader elsewhere can pass its first value
+        heartbeat();
+    }
+
+    @PreDestroy
+    void leave() {
+        jdbcTemplate.update("DELETE FROM " + NODES_TABLE + " WHERE node_id = ?", nodeId);
+    }
+
+    /**
+     * Returns the change sequence of the current transaction, allocating it on first use.
+     *
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A change sequence can only be allocated inside a transaction");
+        }
+        Long bound = (Long) TransactionSynchronizationManager.getResource(this);
+        if (bound != null) {
+            return bound;
+        }
+
+        long seq;
+        registration.readLock().lock();
+        try {
+            seq = nextValue();
+            inFlight.add(seq);
+        } finally {
+            registration.readLock().unlock();
+        }
+        TransactionSynchronizationManager.bindResource(this, seq);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeSequence.this);
+                inFlight.remove(seq);
+            }
+        });
+        return seq;
+    }
+
+    /**
+     * The highest change sequence that is safe to read up to: every value at or below it has
+     * committed or rolled back, on this node and on every live node.
+     */
+    public long visibleUpTo() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(nodeExpiryMillis)));
+        // Read before looking at this node's open transactions: anything allocated after the
+        // read is above every value it saw committed
+        Map<String, Object> row = jdbcTemplate.queryForMap(BOUND_SQL, nodeId, cutoff);
+        long bound = ((Number) row.get("committed_seq")).longValue();
+        if (row.get("others_safe") instanceof Number othersSafe) {
+            bound = Math.min(bound, othersSafe.longValue());
+        }
+        registration.writeLock().lock();
+        try {
+            Long oldestOpen = inFlight.ceiling(Long.MIN_VALUE);
+            return oldestOpen != null ? Math.min(oldestOpen - 1, bound) : bound;
+        } finally {
+            registration.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Publishes this node's safe point for readers on other nodes and drops the rows of nodes
+     * that stopped publishing.
+     */
+    @Scheduled(fixedRateString = "${app.sync.node-heartbeat-ms:1000}")
+    public void heartbeat() {
+        // Allocated first: a value allocated after it is higher, one allocated before it is
+        // either finished or registered by the time the write lock is held
+        long allocated = jdbcTemplate.queryForObject(nextValueSql(), Long.class);
+        long safe;
+        registration.writeLock().lock();
+        try {
+            Long oldestOpen = inFlight.ceiling(Long.MIN_VALUE);
+            safe = oldestOpen != null ? Math.min(oldestOpen - 1, allocated) : allocated;
+        } finally {
+            registration.writeLock().unlock();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (jdbcTemplate.update("UPDATE " + NODES_TABLE + " SET safe_up_to = ?, heartbeat_at = ? WHERE node_id = ?",
+                safe, Timestamp.valueOf(now), nodeId) == 0) {
+            jdbcTemplate.update("INSERT INTO " + NODES_TABLE + " (node_id, safe_up_to, heartbeat_at) VALUES (?, ?, ?)",
+                    nodeId, safe, Timestamp.valueOf(now));
+        }
+        jdbcTemplate.update("DELETE FROM " + NODES_TABLE + " WHERE heartbeat_at < ?",
+                Timestamp.valueOf(now.minus(Duration.ofMillis(nodeExpiryMillis))));
+    }
+
+    private String nextValueSql() {
+        if (nextValueSql == null) {
+            nextValueSql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+        }
+        return nextValueSql;
+    }
+
+    private long nextValue() {
+        // COMMIT flush mode: a native query would otherwise flush pending entity changes first
+        return ((Number) entityManager.createNativeQuery(nextValueSql())
+                .setFlushMode(FlushModeType.COMMIT)
+                .getSingleResult()).longValue();
+    }
+}
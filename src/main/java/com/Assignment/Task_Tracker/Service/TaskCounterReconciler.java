@@ -0,0 +1,99 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Repairs drift in the denormalized {@code comment_count} and {@code attachment_count}
+ * columns of {@code tasks}, e.g. after manual SQL or a bug in a write path.
+ * <p>
+ * Walks the table in id order and recomputes each chunk in its own short transaction,
+ * only writing rows whose stored counts differ from the real ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCounterReconciler {
+
+    private final TaskRepository taskRepository;
+    private final TeamChangeStamps changeStamps;
+    private final TaskChangeSequence changeSequence;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.counters.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @Value("${app.counters.reconcile-batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (reconcileOnStartup) {
+            Thread.ofPlatform().name("task-counter-reconcile").daemon().start(this::reconcile);
+        }
+    }
+
+    @Scheduled(cron = "${app.counters.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Runs one full pass unless another pass is already in progress on this node.
+     *
+     * @return the number of tasks whose counters were corrected
+     */
+    public long reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Counter reconciliation already running, skipping");
+            return 0;
+        }
+        long corrected = 0;
+        long scanned = 0;
+        try {
+            String afterId = "";
+            List<String> ids;
+            do {
+                ids = taskRepository.findIdsAfter(afterId, Limit.of(batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<String> chunk = ids;
+                Integer fixed = transactionTemplate.execute(status -> {
+                    int rows = taskRepository.reconcileCounts(chunk, changeSequence.current());
+                    if (rows > 0) {
+                        // Counters are part of the team task list, so its ETag must change too
+                        changeStamps.touchTeamsOf(chunk);
+                    }
+                    return rows;
+                });
+                corrected += fixed != null ? fixed : 0;
+                scanned += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            } while (ids.size() == batchSize);
+
+            if (corrected > 0) {
+                log.warn("Corrected comment/attachment counters on {} of {} tasks", corrected, scanned);
+            } else {
+                log.info("Comment/attachment counters consistent across {} tasks", scanned);
+            }
+        } catch (Exception e) {
+            log.error("Counter reconciliation failed after {} tasks: {}", scanned, e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,76 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paginated task listing.
+ * <p>
+ * Holds the sort key of the last task on the previous page plus its id as a tie-breaker.
+ * For {@link TaskSort#PRIORITY} the {@code bucket} is the priority the page ended in and
+ * {@code value} its creation time; for {@link TaskSort#DUE_DATE} a null {@code value}
+ * means the page ended among the tasks that have no due date.
+ */
+public record TaskCursor(TaskSort sort, String bucket, LocalDateTime value, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor after(TaskSort sort, Task task) {
+        return switch (sort) {
+            case CREATED_AT -> new TaskCursor(sort, null, task.getCreatedAt(), task.getId());
+            case UPDATED_AT -> new TaskCursor(sort, null, task.getUpdatedAt(), task.getId());
+            case DUE_DATE -> new TaskCursor(sort, null, task.getDueDate(), task.getId());
+            case PRIORITY -> new TaskCursor(sort, task.getPriority().name(), task.getCreatedAt(), task.getId());
+        };
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sort.name(),
+                bucket != null ? bucket : "",
+                value != null ? value.toString() : "",
+                id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor       the opaque cursor string
+     * @param expectedSort the sort of the current request; a cursor from another sort is rejected
+     * @return the decoded cursor
+     * @throws BadRequestException if the cursor is malformed or was issued for another sort
+     */
+    public static TaskCursor decode(String cursor, TaskSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            TaskSort sort = TaskSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new BadRequestException("Cursor does not match sort: " + expectedSort.getParam());
+            }
+            String bucket = parts[1].isEmpty() ? null : parts[1];
+            LocalDateTime value = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            if (value == null && sort != TaskSort.DUE_DATE) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            if (sort == TaskSort.PRIORITY) {
+                if (bucket == null) {
+                    throw new BadRequestException("Invalid cursor");
+                }
+                Task.Priority.valueOf(bucket);
+            }
+            return new TaskCursor(sort, bucket, value, parts[3]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
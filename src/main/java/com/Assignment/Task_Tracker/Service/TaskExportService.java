@@ -0,0 +1,194 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.TaskExportRow;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import com.Assignment.Task_Tracker.Exception.ResourceNotFoundException;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a team's tasks to an output stream without materialising the result set.
+ * <p>
+ * Rows come from a server-side cursor as {@link TaskExportRow} projections, so nothing is
+ * added to the persistence context and heap use stays flat regardless of team size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    // Leading characters that make spreadsheet applications evaluate a cell (CSV injection)
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final String[] CSV_HEADER = {
+            "id", "title", "description", "status", "priority", "dueDate",
+            "assignedToId", "assignedToUsername", "createdById", "createdByUsername",
+            "createdAt", "updatedAt"
+    };
+
+    private final TaskRepository taskRepository;
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat fromParam(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return NDJSON;
+            }
+            try {
+                return ExportFormat.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid export format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Fails fast, before the response is committed, when the team does not exist.
+     *
+     * @param teamId the ID of the team
+     * @throws ResourceNotFoundException if the team is not found
+     */
+    @Transactional(readOnly = true)
+    public void assertTeamExists(String teamId) {
+        if (!teamRepository.existsById(teamId)) {
+            throw new ResourceNotFoundException("Team not found with ID: " + teamId);
+        }
+    }
+
+    /**
+     * Writes every task of the team to {@code out} in the given format.
+     * Must be called through the Spring proxy so the cursor runs inside a read-only transaction.
+     *
+     * @param teamId the ID of the team
+     * @param format the output format
+     * @param out    the response body stream; flushed but not closed
+     * @return the number of rows written
+     * @throws IOException if writing to the client fails
+     */
+    @Transactional(readOnly = true)
+    public long exportTeamTasks(String teamId, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting tasks of team {} as {}", teamId, format);
+        long rows;
+        try (Stream<TaskExportRow> stream = taskRepository.streamExportRowsByTeamId(teamId)) {
+            rows = format == ExportFormat.CSV
+                    ? writeCsv(stream.iterator(), out)
+                    : writeNdjson(stream.iterator(), out);
+        }
+        log.info("Exported {} tasks of team {}", rows, teamId);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<TaskExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+        while (rows.hasNext()) {
+            writer.write(rows.next());
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        if (count > 0) {
+            out.write('\n');
+            out.flush();
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TaskExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, CSV_HEADER);
+        while (rows.hasNext()) {
+            TaskExportRow row = rows.next();
+            writeCsvLine(writer, new String[]{
+                    row.getId(),
+                    row.getTitle(),
+                    row.getDescription(),
+                    row.getStatus() != null ? row.getStatus().name() : null,
+                    row.getPriority() != null ? row.getPriority().name() : null,
+                    format(row.getDueDate()),
+                    row.getAssignedToId(),
+                    row.getAssignedToUsername(),
+                    row.getCreatedById(),
+                    row.getCreatedByUsername(),
+                    format(row.getCreatedAt()),
+                    format(row.getUpdatedAt())
+            });
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a value per RFC 4180 when it contains a separator, quote or line break. A value
+     * that a spreadsheet would read as a formula (leading {@code = + - @}, tab or carriage
+     * return) is prefixed with {@code '} so it opens as text.
+     */
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return needsQuoting ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -1,27 +1,51 @@
 package com.Assignment.Task_Tracker.Service;
 
 import com.Assignment.Task_Tracker.DTO.CreateTaskRequest;
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.DTO.TaskPageResponse;
 import com.Assignment.Task_Tracker.DTO.TaskResponse;
+import com.Assignment.Task_Tracker.DTO.TaskStatsRow;
+import com.Assignment.Task_Tracker.DTO.TaskStateRow;
+import com.Assignment.Task_Tracker.DTO.TaskVersionRow;
 import com.Assignment.Task_Tracker.DTO.UpdateTaskRequest;
 import com.Assignment.Task_Tracker.Entity.Task;
 import com.Assignment.Task_Tracker.Entity.Team;
 import com.Assignment.Task_Tracker.Entity.User;
+import com.Assignment.Task_Tracker.Events.EventOutbox;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import com.Assignment.Task_Tracker.Exception.PreconditionFailedException;
 import com.Assignment.Task_Tracker.Exception.ResourceNotFoundException;
+import com.Assignment.Task_Tracker.Repository.BlobRepository;
 import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TaskSpecifications;
+import com.Assignment.Task_Tracker.Repository.TaskTombstoneRepository;
 import com.Assignment.Task_Tracker.Repository.TeamRepository;
 import com.Assignment.Task_Tracker.Repository.UserRepository;
+import com.Assignment.Task_Tracker.Search.SearchHit;
+import com.Assignment.Task_Tracker.Search.TaskSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ETag;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "task.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class TaskService {
@@ -29,6 +53,22 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
+    private final TaskSearchIndex searchIndex;
+    private final TeamMembershipIndex membershipIndex;
+    private final TeamChangeStamps changeStamps;
+    private final EventOutbox outbox;
+    private final TaskChangeSequence changeSequence;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TeamTaskStats teamStats;
+    private final DueDateScheduler dueDates;
+    private final BlobRepository blobRepository;
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    /** Matches considered by a search listing; beyond this the response is flagged truncated. */
+    static final int MAX_SEARCH_MATCHES = 10_000;
+    static final int SEARCH_ID_CHUNK = 1000;
+    static final int MAX_WRITE_ATTEMPTS = 3;
 
     @Transactional
     public TaskResponse createTask(String userId, CreateTaskRequest request) {
@@ -48,7 +88,7 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Team", "id", request.getProjectId()));
 
         // Check if the user is a member of the team
-        if (!team.getMembers().contains(user)) {
+        if (!membershipIndex.isMember(team.getId(), user.getId())) {
             throw new IllegalStateException(String.format("User %s is not authorized to create tasks in team %s", 
                 user.getId(), team.getId()));
         }
@@ -65,6 +105,7 @@ public class TaskService {
                 .createdBy(user)
                 .status(Task.TaskStatus.OPEN)
                 .createdAt(LocalDateTime.now())
+                .changeSeq(changeSequence.current())
                 .build();
 
         // Handle task assignment if specified
@@ -72,7 +113,7 @@ public class TaskService {
             User assignedTo = userRepository.findById(request.getAssignedToId())
                     .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getAssignedToId()));
             
-            if (!team.getMembers().contains(assignedTo)) {
+            if (!membershipIndex.isMember(team.getId(), assignedTo.getId())) {
                 throw new IllegalStateException(String.format(
                     "Cannot assign task to user %s as they are not a member of team %s", 
                     assignedTo.getId(), team.getId()));
@@ -83,45 +124,160 @@ public class TaskService {
 
         try {
             task = taskRepository.save(task);
+            teamStats.created(List.of(task));
+            changeStamps.touch(team.getId());
             log.info("Successfully created task with id: {}", task.getId());
-            return mapToTaskResponse(task);
+            TaskResponse response = mapToTaskResponse(task);
+            outbox.record(TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, response));
+            if (task.getDueDate() != null) {
+                String taskId = task.getId();
+                LocalDateTime dueDate = task.getDueDate();
+                TransactionHooks.afterCommit(() -> dueDates.reschedule(taskId, dueDate));
+            }
+            return response;
         } catch (Exception e) {
             log.error("Error creating task: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to create task: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Returns one keyset-paginated page of tasks.
+     *
+     * @param status optional status filter
+     * @param search optional text filter on title, description and comments. Every match is
+     *               considered up to {@value #MAX_SEARCH_MATCHES}; past that the page is marked
+     *               {@code truncated} and lower-ranked matches are left out
+     * @param sort   one of createdAt (default), updatedAt, dueDate, priority
+     * @param limit  page size, defaults to {@value #DEFAULT_PAGE_SIZE}, capped at {@value #MAX_PAGE_SIZE}
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @return the page and the cursor of the next one
+     * @throws BadRequestException if status, sort, limit or cursor is invalid
+     */
     @Transactional(readOnly = true)
-    public List<TaskResponse> getAllTasks(String status, String search) {
-        log.debug("Fetching tasks with status: {}, search: {}", status, search);
-        
-        List<Task> tasks;
+    public TaskPageResponse getAllTasks(String status, String search, String sort, Integer limit, String cursor) {
+        log.debug("Fetching tasks with status: {}, search: {}, sort: {}, limit: {}", status, search, sort, limit);
+
+        TaskSort taskSort = TaskSort.fromParam(sort);
+        int pageSize = resolvePageSize(limit);
+        TaskCursor position = cursor != null && !cursor.trim().isEmpty()
+                ? TaskCursor.decode(cursor.trim(), taskSort)
+                : null;
+
+        Specification<Task> filter = TaskSpecifications.hasStatus(parseStatus(status));
+        List<String> matches = null;
         if (search != null && !search.trim().isEmpty()) {
-            tasks = taskRepository.findByProjectIdAndStatus(search, Task.TaskStatus.valueOf(search));
-        } else if (status != null && !status.trim().isEmpty()) {
-            tasks = taskRepository.findByStatus(Task.TaskStatus.valueOf(status));
-        } else {
-            tasks = taskRepository.findAll();
+            if (searchIndex.isReady()) {
+                matches = searchIndex.search(search, MAX_SEARCH_MATCHES).stream()
+                        .map(SearchHit::taskId)
+                        .collect(Collectors.toList());
+            } else {
+                filter = filter.and(TaskSpecifications.matchesText(search));
+            }
         }
 
-        return tasks.stream()
-                .map(this::mapToTaskResponse)
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Task> tasks = matches == null
+                ? fetchPage(filter, taskSort, position, pageSize + 1)
+                : fetchMatching(matches, filter, taskSort, position, pageSize + 1);
+        boolean hasMore = tasks.size() > pageSize;
+        if (hasMore) {
+            tasks = tasks.subList(0, pageSize);
+        }
+
+        return TaskPageResponse.builder()
+                .items(mapToTaskResponses(tasks))
+                .nextCursor(hasMore ? TaskCursor.after(taskSort, tasks.get(tasks.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .truncated(matches != null && matches.size() >= MAX_SEARCH_MATCHES ? Boolean.TRUE : null)
+                .sort(taskSort.getParam())
+                .limit(pageSize)
+                .build();
+    }
+
+    /**
+     * One page of the given search matches in listing order. The matches are split into
+     * chunks that each fit one IN list; every chunk yields its own first {@code fetchSize}
+     * rows after the cursor, and the merge of those is exactly the first {@code fetchSize}
+     * of all matches. Costs one query per {@value #SEARCH_ID_CHUNK} matches.
+     */
+    private List<Task> fetchMatching(List<String> matches, Specification<Task> filter, TaskSort sort,
+                                     TaskCursor position, int fetchSize) {
+        List<Task> tasks = new ArrayList<>();
+        for (int from = 0; from < matches.size(); from += SEARCH_ID_CHUNK) {
+            List<String> chunk = matches.subList(from, Math.min(from + SEARCH_ID_CHUNK, matches.size()));
+            tasks.addAll(fetchPage(filter.and(TaskSpecifications.idIn(chunk)), sort, position, fetchSize));
+        }
+        tasks.sort(sort.order());
+        return tasks.size() > fetchSize ? tasks.subList(0, fetchSize) : tasks;
+    }
+
+    /**
+     * Full-text search over task titles, descriptions and comments, best match first.
+     *
+     * @param query the search text; prefixes and small misspellings also match
+     * @param limit maximum number of results, defaults to {@value #DEFAULT_PAGE_SIZE}
+     * @return matching tasks in relevance order
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String query, Integer limit) {
+        log.debug("Searching tasks for: {}", query);
+        if (query == null || query.trim().isEmpty()) {
+            throw new BadRequestException("Search query is required");
+        }
+        int size = resolvePageSize(limit);
+
+        if (!searchIndex.isReady()) {
+            log.debug("Search index not ready, falling back to database scan");
+            return mapToTaskResponses(
+                    fetch(TaskSpecifications.matchesText(query), Sort.by(Sort.Direction.DESC, "createdAt", "id"), size));
+        }
+
+        List<String> rankedIds = searchIndex.search(query, size).stream()
+                .map(SearchHit::taskId)
                 .collect(Collectors.toList());
+        Map<String, Task> tasksById = taskRepository.findWithDetailsByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return mapToTaskResponses(rankedIds.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     @Transactional(readOnly = true)
     public TaskResponse getTaskById(String taskId) {
         log.debug("Fetching task with id: {}", taskId);
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findWithDetailsById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
         return mapToTaskResponse(task);
     }
 
+    /**
+     * Returns the current ETag of a task without loading it.
+     *
+     * @throws ResourceNotFoundException if the task is not found
+     */
+    @Transactional(readOnly = true)
+    public String getTaskETag(String taskId) {
+        return taskRepository.findVersionRowById(taskId)
+                .map(ETags::forTask)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+    }
+
+    /**
+     * Updates the given fields of a task.
+     *
+     * @param ifMatch the request's If-Match header, or null to update unconditionally
+     * @throws PreconditionFailedException if {@code ifMatch} does not match the task's ETag
+     */
     @Transactional
-    public TaskResponse updateTask(String taskId, UpdateTaskRequest request) {
+    public TaskResponse updateTask(String taskId, UpdateTaskRequest request, String ifMatch) {
         log.info("Updating task with id: {}", taskId);
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        checkIfMatch(task, ifMatch);
+        task.setChangeSeq(changeSequence.current());
+        TaskStatsRow before = TeamTaskStats.rowOf(task);
 
         if (request.getTitle() != null && !request.getTitle().trim().isEmpty()) {
             task.setTitle(request.getTitle().trim());
@@ -129,79 +285,98 @@ public class TaskService {
         if (request.getDescription() != null) {
             task.setDescription(request.getDescription().trim());
         }
-        if (request.getDueDate() != null) {
+        if (request.getDueDate() != null && !request.getDueDate().equals(task.getDueDate())) {
             task.setDueDate(request.getDueDate());
+            TransactionHooks.afterCommit(() -> dueDates.reschedule(taskId, request.getDueDate()));
         }
         if (request.getStatus() != null && !request.getStatus().trim().isEmpty()) {
             task.setStatus(Task.TaskStatus.valueOf(request.getStatus().toUpperCase()));
         }
 
-        task = taskRepository.save(task);
+        task = saveChanged(task);
+        teamStats.moved(List.of(before), List.of(TeamTaskStats.rowOf(task)));
+        changeStamps.touch(task.getTeam().getId());
         log.info("Updated task with id: {}", taskId);
-        return mapToTaskResponse(task);
+        TaskResponse response = mapToTaskResponse(task);
+        outbox.record(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, response));
+        return response;
     }
 
+    /**
+     * Assigns a task with one conditional UPDATE. The permission check (task creator or team
+     * creator), the assignee's team membership and the If-Match state are all part of the
+     * WHERE clause, so the entity is not loaded before the write and a concurrent change
+     * cannot be overwritten. The reasons for a rejection are only worked out when no row matched.
+     *
+     * @param ifMatch the request's If-Match header, or null to assign unconditionally
+     * @throws PreconditionFailedException if {@code ifMatch} does not match the task's ETag
+     */
     @Transactional
-    public TaskResponse assignTask(String taskId, String userId, String currentUserId) {
+    public TaskResponse assignTask(String taskId, String userId, String currentUserId, String ifMatch) {
         log.info("Assigning task {} to user {}", taskId, userId);
-        
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-
-        // Verify current user has permission (e.g., is team admin or task creator)
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
-        
-        if (!task.getCreatedBy().equals(currentUser) && !task.getTeam().getCreatedBy().equals(currentUser)) {
-            throw new SecurityException("You don't have permission to assign this task");
-        }
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        // Verify user is a member of the team
-        if (!task.getTeam().getMembers().contains(user)) {
-            throw new IllegalStateException("User is not a member of the task's team");
-        }
+        User assignee = userRepository.getReferenceById(userId);
+        long changeSeq = changeSequence.current();
+        TaskStatsRow before = writeIfUnchanged(taskId, ifMatch,
+                expected -> taskRepository.assignIfPermitted(taskId, assignee, currentUserId, LocalDateTime.now(),
+                        changeSeq, expected.getVersion(), expected.getCommentCount(), expected.getAttachmentCount()),
+                () -> {
+                    Task task = explainRejectedWrite(taskId, currentUserId, ifMatch, false,
+                            "You don't have permission to assign this task");
+                    if (!userRepository.existsById(userId)) {
+                        throw new ResourceNotFoundException("User not found with id: " + userId);
+                    }
+                    if (!membershipIndex.isMember(task.getTeam().getId(), userId)) {
+                        throw new IllegalStateException("User is not a member of the task's team");
+                    }
+                });
 
-        task.setAssignedTo(user);
-        task = taskRepository.save(task);
+        teamStats.moved(List.of(before), List.of(
+                new TaskStatsRow(taskId, before.getTeamId(), before.getStatus(), before.getPriority(), userId)));
+        changeStamps.touchTeamsOf(List.of(taskId));
         log.info("Assigned task {} to user {}", taskId, userId);
-        return mapToTaskResponse(task);
+        TaskResponse response = getTaskById(taskId);
+        outbox.record(TaskChangeEvent.of(TaskChangeEvent.Type.ASSIGNED, response));
+        return response;
     }
 
+    /**
+     * Changes a task's status with one conditional UPDATE. The permission check (assignee,
+     * task creator or team creator) and the If-Match state are part of the WHERE clause.
+     *
+     * @param ifMatch the request's If-Match header, or null to update unconditionally
+     * @throws PreconditionFailedException if {@code ifMatch} does not match the task's ETag
+     */
     @Transactional
-    public TaskResponse updateTaskStatus(String taskId, String status, String currentUserId) {
+    public TaskResponse updateTaskStatus(String taskId, String status, String currentUserId, String ifMatch) {
         log.info("Updating status of task {} to {}", taskId, status);
-        
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-
-        // Verify current user is either assigned to the task or is the creator/team admin
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
-        
-        boolean isAssignedUser = task.getAssignedTo() != null && task.getAssignedTo().equals(currentUser);
-        boolean isCreatorOrAdmin = task.getCreatedBy().equals(currentUser) || 
-                                 task.getTeam().getCreatedBy().equals(currentUser);
-        
-        if (!isAssignedUser && !isCreatorOrAdmin) {
-            throw new SecurityException("You don't have permission to update this task's status");
-        }
 
+        Task.TaskStatus newStatus;
         try {
-            Task.TaskStatus newStatus = Task.TaskStatus.valueOf(status.toUpperCase());
-            task.setStatus(newStatus);
-            task = taskRepository.save(task);
-            log.info("Updated status of task {} to {}", taskId, newStatus);
-            return mapToTaskResponse(task);
+            newStatus = Task.TaskStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status value: " + status);
         }
+
+        long changeSeq = changeSequence.current();
+        TaskStatsRow before = writeIfUnchanged(taskId, ifMatch,
+                expected -> taskRepository.updateStatusIfPermitted(taskId, newStatus, currentUserId,
+                        LocalDateTime.now(), changeSeq,
+                        expected.getVersion(), expected.getCommentCount(), expected.getAttachmentCount()),
+                () -> explainRejectedWrite(taskId, currentUserId, ifMatch, true,
+                        "You don't have permission to update this task's status"));
+
+        teamStats.moved(List.of(before), List.of(
+                new TaskStatsRow(taskId, before.getTeamId(), newStatus, before.getPriority(), before.getAssigneeId())));
+        changeStamps.touchTeamsOf(List.of(taskId));
+        log.info("Updated status of task {} to {}", taskId, newStatus);
+        TaskResponse response = getTaskById(taskId);
+        outbox.record(TaskChangeEvent.of(TaskChangeEvent.Type.STATUS_CHANGED, response));
+        return response;
     }
 
     @Transactional
-    public void deleteTask(String taskId, String currentUserId) {
+    public void deleteTask(String taskId, String currentUserId, String ifMatch) {
         log.info("Deleting task with id: {}", taskId);
         
         Task task = taskRepository.findById(taskId)
@@ -211,15 +386,218 @@ public class TaskService {
         User currentUser = userRepository.findById(currentUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
         
-        if (!task.getCreatedBy().equals(currentUser) && !task.getTeam().getCreatedBy().equals(currentUser)) {
+        if (!task.getCreatedBy().equals(currentUser) && !membershipIndex.isOwner(task.getTeam().getId(), currentUserId)) {
             throw new SecurityException("You don't have permission to delete this task");
         }
-        
+        checkIfMatch(task, ifMatch);
+
+        tombstoneRepository.insertForTasks(List.of(taskId), changeSequence.current(), LocalDateTime.now());
+        blobRepository.releaseForTasks(List.of(taskId), LocalDateTime.now());
         taskRepository.delete(task);
+        teamStats.deleted(List.of(TeamTaskStats.rowOf(task)));
+        changeStamps.touch(task.getTeam().getId());
+        TransactionHooks.afterCommit(() -> dueDates.reschedule(taskId, null));
+        outbox.record(TaskChangeEvent.withoutBody(TaskChangeEvent.Type.DELETED, task.getTeam().getId(), taskId));
         log.info("Deleted task with id: {}", taskId);
     }
 
-    private TaskResponse mapToTaskResponse(Task task) {
+    /**
+     * Resolves If-Match to the task state a conditional UPDATE must find, or null for an
+     * unconditional write. A single task tag is used as is. A list of tags cannot be
+     * expressed in one WHERE clause, so it is checked against the current row first.
+     */
+    private TaskVersionRow expectedState(String taskId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+        if (tags.size() == 1) {
+            return ETags.parseTask(tags.get(0)).orElseThrow(() -> new PreconditionFailedException(
+                    "If-Match " + ifMatch + " is not a valid ETag for this task"));
+        }
+        TaskVersionRow current = taskRepository.findVersionRowById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        ETags.checkIfMatch(ifMatch, ETags.forTask(current));
+        return current;
+    }
+
+    /**
+     * Runs a single-task conditional UPDATE and returns the summary cell it moved the task out
+     * of. Nothing is locked up front: the cell is read plainly and the UPDATE requires the
+     * version state it was read at, so only a write that passed its permission check takes
+     * the row lock, and the cell cannot have moved in between. When no row matched,
+     * {@code explainMiss} throws for a missing task, a denied caller or a stale If-Match;
+     * otherwise another write got in first and the attempt is repeated.
+     */
+    private TaskStatsRow writeIfUnchanged(String taskId, String ifMatch,
+                                          ToIntFunction<TaskVersionRow> update, Runnable explainMiss) {
+        TaskVersionRow expected = expectedState(taskId, ifMatch);
+        for (int attempt = 1; ; attempt++) {
+            TaskStateRow state = taskRepository.findStateRowById(taskId).orElse(null);
+            if (state != null && (expected == null || sameState(expected, state.toVersionRow()))
+                    && update.applyAsInt(state.toVersionRow()) > 0) {
+                return state.toStatsRow();
+            }
+            explainMiss.run();
+            if (attempt >= MAX_WRITE_ATTEMPTS) {
+                throw new OptimisticLockingFailureException("Task " + taskId + " was modified concurrently");
+            }
+        }
+    }
+
+    private static boolean sameState(TaskVersionRow a, TaskVersionRow b) {
+        return Objects.equals(a.getVersion(), b.getVersion())
+                && a.getCommentCount() == b.getCommentCount()
+                && a.getAttachmentCount() == b.getAttachmentCount();
+    }
+
+    /**
+     * Works out why a conditional UPDATE matched no row and throws accordingly: 404 for a
+     * missing task or user, 403 without permission, 412 for a stale If-Match. Returns the
+     * task if none of those apply. Only runs on the failure path.
+     */
+    private Task explainRejectedWrite(String taskId, String currentUserId, String ifMatch,
+                                      boolean assigneeMayWrite, String deniedMessage) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        if (currentUserId == null || !userRepository.existsById(currentUserId)) {
+            throw new ResourceNotFoundException("Current user not found");
+        }
+        boolean permitted = currentUserId.equals(task.getCreatedBy().getId())
+                || membershipIndex.isOwner(task.getTeam().getId(), currentUserId)
+                || (assigneeMayWrite && task.getAssignedTo() != null
+                        && currentUserId.equals(task.getAssignedTo().getId()));
+        if (!permitted) {
+            throw new SecurityException(deniedMessage);
+        }
+        checkIfMatch(task, ifMatch);
+        return task;
+    }
+
+    private void checkIfMatch(Task task, String ifMatch) {
+        ETags.checkIfMatch(ifMatch, ETags.forTask(task.getVersion(), task.getCommentCount(), task.getAttachmentCount()));
+    }
+
+    /**
+     * Flushes so the response carries the incremented version and timestamp (and therefore
+     * the new ETag). A concurrent update of the same task fails here with an optimistic
+     * locking error instead of being overwritten.
+     */
+    private Task saveChanged(Task task) {
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private List<Task> fetchPage(Specification<Task> filter, TaskSort sort, TaskCursor position, int fetchSize) {
+        String afterId = position != null ? position.id() : null;
+        return switch (sort) {
+            case CREATED_AT -> fetch(
+                    filter.and(TaskSpecifications.before("createdAt", valueOf(position), afterId)),
+                    Sort.by(Sort.Direction.DESC, "createdAt", "id"), fetchSize);
+            case UPDATED_AT -> fetch(
+                    filter.and(TaskSpecifications.before("updatedAt", valueOf(position), afterId)),
+                    Sort.by(Sort.Direction.DESC, "updatedAt", "id"), fetchSize);
+            case DUE_DATE -> fetchByDueDate(filter, position, fetchSize);
+            case PRIORITY -> fetchByPriority(filter, position, fetchSize);
+        };
+    }
+
+    /**
+     * Tasks with a due date in (due_date, id) order, followed by undated tasks in id order.
+     * Each segment is its own range scan, which keeps NULL due dates out of the keyset predicate.
+     */
+    private List<Task> fetchByDueDate(Specification<Task> filter, TaskCursor position, int fetchSize) {
+        List<Task> tasks = new ArrayList<>();
+        boolean inUndatedSegment = position != null && position.value() == null;
+
+        if (!inUndatedSegment) {
+            tasks.addAll(fetch(
+                    filter.and(TaskSpecifications.hasDueDate(true))
+                            .and(TaskSpecifications.after("dueDate", valueOf(position), position != null ? position.id() : null)),
+                    Sort.by(Sort.Direction.ASC, "dueDate", "id"), fetchSize));
+            if (tasks.size() >= fetchSize) {
+                return tasks;
+            }
+        }
+
+        tasks.addAll(fetch(
+                filter.and(TaskSpecifications.hasDueDate(false))
+                        .and(TaskSpecifications.idAfter(inUndatedSegment ? position.id() : null)),
+                Sort.by(Sort.Direction.ASC, "id"), fetchSize - tasks.size()));
+        return tasks;
+    }
+
+    /**
+     * Walks the priorities from CRITICAL down to LOW, newest first within each one.
+     * Priorities are stored as strings, so ordering by the column would be alphabetical;
+     * one range scan per priority keeps the order correct and index-backed.
+     */
+    private List<Task> fetchByPriority(Specification<Task> filter, TaskCursor position, int fetchSize) {
+        List<Task> tasks = new ArrayList<>();
+        Task.Priority[] priorities = Task.Priority.values();
+        int start = priorities.length - 1;
+        if (position != null) {
+            start = Task.Priority.valueOf(position.bucket()).ordinal();
+        }
+
+        for (int i = start; i >= 0 && tasks.size() < fetchSize; i--) {
+            boolean resume = position != null && i == start;
+            tasks.addAll(fetch(
+                    filter.and(TaskSpecifications.hasPriority(priorities[i]))
+                            .and(TaskSpecifications.before("createdAt",
+                                    resume ? position.value() : null,
+                                    resume ? position.id() : null)),
+                    Sort.by(Sort.Direction.DESC, "createdAt", "id"), fetchSize - tasks.size()));
+        }
+        return tasks;
+    }
+
+    private List<Task> fetch(Specification<Task> spec, Sort sort, int limit) {
+        return taskRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .project(TaskRepository.RESPONSE_GRAPH)
+                .all());
+    }
+
+    private static LocalDateTime valueOf(TaskCursor position) {
+        return position != null ? position.value() : null;
+    }
+
+    private static int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static Task.TaskStatus parseStatus(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Task.TaskStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid status value: " + status);
+        }
+    }
+
+    /**
+     * Maps tasks to responses. The to-one associations should already be fetched by the
+     * caller's query; counts come from the task row itself, so no further queries are issued.
+     */
+    private List<TaskResponse> mapToTaskResponses(List<Task> tasks) {
+        return tasks.stream()
+                .map(this::mapToTaskResponse)
+                .collect(Collectors.toList());
+    }
+
+    TaskResponse mapToTaskResponse(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -241,8 +619,9 @@ public class TaskService {
                             task.getCreatedBy().getLastName()).trim() : null)
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
-                .commentCount(task.getComments() != null ? task.getComments().size() : 0)
-                .attachmentCount(task.getAttachments() != null ? task.getAttachments().size() : 0)
+                .commentCount(task.getCommentCount())
+                .attachmentCount(task.getAttachmentCount())
+                .version(task.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,60 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+
+import java.util.Comparator;
+
+/**
+ * Sort orders supported by the task listing. Each one is backed by an index on
+ * {@code tasks} whose trailing column is {@code id}, so every page is an index range scan.
+ */
+public enum TaskSort {
+    /** Newest first, index {@code (created_at, id)}. */
+    CREATED_AT("createdAt"),
+    /** Most recently changed first, index {@code (updated_at, id)}. */
+    UPDATED_AT("updatedAt"),
+    /** Soonest due first, tasks without a due date last, index {@code (due_date, id)}. */
+    DUE_DATE("dueDate"),
+    /** CRITICAL down to LOW, newest first within a priority, index {@code (priority, created_at, id)}. */
+    PRIORITY("priority");
+
+    private final String param;
+
+    TaskSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * The order the listing returns tasks in, matching the SQL of each sort, for merging
+     * pages that were fetched separately.
+     */
+    public Comparator<Task> order() {
+        Comparator<Task> byIdDesc = Comparator.comparing(Task::getId, Comparator.reverseOrder());
+        return switch (this) {
+            case CREATED_AT -> Comparator.comparing(Task::getCreatedAt, Comparator.reverseOrder()).thenComparing(byIdDesc);
+            case UPDATED_AT -> Comparator.comparing(Task::getUpdatedAt, Comparator.reverseOrder()).thenComparing(byIdDesc);
+            case DUE_DATE -> Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Task::getId);
+            case PRIORITY -> Comparator.comparing(Task::getPriority, Comparator.reverseOrder())
+                    .thenComparing(Task::getCreatedAt, Comparator.reverseOrder())
+                    .thenComparing(byIdDesc);
+        };
+    }
+
+    public static TaskSort fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return CREATED_AT;
+        }
+        for (TaskSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value.trim())) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Invalid sort value: " + value);
+    }
+}
@@ -0,0 +1,173 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangesResponse;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.TaskMapper;
+import com.Assignment.Task_Tracker.Entity.TaskTombstone;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import com.Assignment.Task_Tracker.Exception.GoneException;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TaskTombstoneRepository;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the task delta feed used by offline clients to catch up without downloading every
+ * task again.
+ * <p>
+ * Every task write stamps the row with a value from {@link TaskChangeSequence}, and every
+ * delete leaves a {@link TaskTombstone} with one. A sync reads the tasks and tombstones after
+ * the client's position in (change sequence, id) order, each with one range scan on its
+ * change sequence index, and merges them into a page. The work done is proportional to the
+ * number of changes since the last sync, not to the number of tasks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskSyncService {
+
+    static final int DEFAULT_PAGE_SIZE = 200;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TeamRepository teamRepository;
+    private final TaskChangeSequence changeSequence;
+    private final TeamMembershipIndex membershipIndex;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
+    /**
+     * Returns the tasks changed and deleted since {@code since}, oldest change first.
+     * A task changed several times appears once, with its current state.
+     *
+     * @param userId the requesting user
+     * @param since  the {@code nextToken} of the previous call, or null for a full initial sync
+     * @param teamId optional team to restrict the feed to; the user must be a member. Without
+     *               it the feed covers every team the user is currently a member of
+     * @param limit  page size, defaults to {@value #DEFAULT_PAGE_SIZE}, capped at {@value #MAX_PAGE_SIZE}
+     * @return the page and the token to continue from
+     * @throws BadRequestException if the token or limit is invalid
+     * @throws GoneException       if the token is older than the tombstone retention, or the
+     *                             teams it covers have changed since it was issued, for example
+     *                             because the user joined a team whose tasks it never included
+     * @throws SecurityException   if the user is not a member of {@code teamId}
+     */
+    public TaskChangesResponse getChanges(String userId, String since, String teamId, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Instant now = Instant.now();
+        TaskSyncToken position = StringUtils.hasText(since)
+                ? TaskSyncToken.decode(since.trim())
+                : TaskSyncToken.initial(now);
+        if (!position.isInitial() && position.issuedAt().isBefore(now.minus(Duration.ofDays(tombstoneRetentionDays)))) {
+            throw new GoneException("Sync token has expired; discard local tasks and sync again without a token");
+        }
+        List<String> teams;
+        if (StringUtils.hasText(teamId)) {
+            if (!membershipIndex.isMember(teamId, userId)) {
+                throw new SecurityException("You are not a member of this team");
+            }
+            teams = List.of(teamId);
+        } else {
+            teams = teamRepository.findIdsByMember(userId);
+        }
+        String scope = TaskSyncToken.scopeOf(teams);
+        if (!position.isInitial() && !scope.equals(position.scope())) {
+            throw new GoneException("Teams covered by the sync token have changed; discard local tasks and sync again without a token");
+        }
+
+        long upTo = changeSequence.visibleUpTo();
+        // One extra row from each side tells whether another page exists
+        List<Task> tasks = teams.isEmpty() ? List.of()
+                : taskRepository.findChangedAfter(position.seq(), position.afterId(), upTo, teams, Limit.of(pageSize + 1));
+        // A client without local data has nothing to delete
+        List<TaskTombstone> tombstones = position.isInitial() || teams.isEmpty() ? List.of()
+                : tombstoneRepository.findChangedAfter(position.seq(), position.afterId(), upTo, teams, Limit.of(pageSize + 1));
+
+        List<Task> changed = new ArrayList<>();
+        List<TaskTombstone> deleted = new ArrayList<>();
+        long lastSeq = 0;
+        String lastId = null;
+        int t = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < pageSize && (t < tasks.size() || d < tombstones.size())) {
+            boolean takeTask = d >= tombstones.size() || (t < tasks.size()
+                    && compare(tasks.get(t).getChangeSeq(), tasks.get(t).getId(),
+                               tombstones.get(d).getChangeSeq(), tombstones.get(d).getTaskId()) < 0);
+            if (takeTask) {
+                Task task = tasks.get(t++);
+                changed.add(task);
+                lastSeq = task.getChangeSeq();
+                lastId = task.getId();
+            } else {
+                TaskTombstone tombstone = tombstones.get(d++);
+                deleted.add(tombstone);
+                lastSeq = tombstone.getChangeSeq();
+                lastId = tombstone.getTaskId();
+            }
+        }
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+
+        // Caught up: continue after everything that is known to be complete
+        TaskSyncToken next = hasMore
+                ? new TaskSyncToken(lastSeq, lastId, position.issuedAt(), scope)
+                : new TaskSyncToken(Math.max(upTo + 1, position.seq()), "", now, scope);
+
+        log.debug("Sync for user {} from seq {}: {} changed, {} deleted, hasMore {}",
+                userId, position.seq(), changed.size(), deleted.size(), hasMore);
+        return TaskChangesResponse.builder()
+                .changed(changed.stream().map(TaskMapper::mapToTaskResponse).collect(Collectors.toList()))
+                .deleted(deleted.stream()
+                        .map(tombstone -> new TaskChangesResponse.DeletedTask(
+                                tombstone.getTaskId(), tombstone.getTeamId(), tombstone.getDeletedAt()))
+                        .collect(Collectors.toList()))
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Deletes tombstones past the retention period. Tokens issued before then are rejected
+     * with 410, so no client can depend on a purged tombstone.
+     */
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 15 4 * * *}")
+    @Transactional
+    public int purgeTombstones() {
+        int removed = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (removed > 0) {
+            log.info("Purged {} task tombstones past retention", removed);
+        }
+        return removed;
+    }
+
+    private static int compare(long seq, String id, long otherSeq, String otherId) {
+        int bySeq = Long.compare(seq, otherSeq);
+        return bySeq != 0 ? bySeq : id.compareTo(otherId);
+    }
+
+    private static int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+}
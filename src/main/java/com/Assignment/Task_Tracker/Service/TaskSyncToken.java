@@ -0,0 +1,79 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Opaque position in the task delta feed.
+ * <p>
+ * Everything at or after ({@code seq}, {@code afterId}) in (change sequence, id) order is still
+ * to be sent; {@code afterId} is empty when the position starts at a whole sequence value.
+ * {@code issuedAt} lets the server tell when the tombstones the client still needs may
+ * already have been purged. {@code scope} fingerprints the set of teams the feed covered, so
+ * the server can tell when that set has changed since; it is empty for an initial position
+ * and null for tokens issued before it existed.
+ */
+public record TaskSyncToken(long seq, String afterId, Instant issuedAt, String scope) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * The position of a client that has never synced: every task, no tombstones needed.
+     */
+    public static TaskSyncToken initial(Instant now) {
+        return new TaskSyncToken(0, "", now, "");
+    }
+
+    /**
+     * Fingerprint of a set of team ids, independent of their order.
+     */
+    public static String scopeOf(Collection<String> teamIds) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            teamIds.stream().sorted().forEach(id -> digest.update((id + "\n").getBytes(StandardCharsets.UTF_8)));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 9));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public boolean isInitial() {
+        return seq == 0 && afterId.isEmpty();
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, Long.toString(seq), afterId, Long.toString(issuedAt.getEpochSecond()), scope);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @throws BadRequestException if the token is malformed
+     */
+    public static TaskSyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            // Three parts: issued before tokens carried a scope, so it matches no current scope
+            if (parts.length != 3 && parts.length != 4) {
+                throw new BadRequestException("Invalid sync token");
+            }
+            long seq = Long.parseLong(parts[0]);
+            if (seq < 0) {
+                throw new BadRequestException("Invalid sync token");
+            }
+            return new TaskSyncToken(seq, parts[1], Instant.ofEpochSecond(Long.parseLong(parts[2])),
+                    parts.length == 4 ? parts[3] : null);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+}
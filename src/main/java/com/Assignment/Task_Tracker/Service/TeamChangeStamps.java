@@ -0,0 +1,73 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Entity.TeamChangeStamp;
+import com.Assignment.Task_Tracker.Repository.TeamChangeStampRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Maintains the per-team change stamp behind the team task list ETag.
+ * <p>
+ * Every write path that changes a task, or a counter shown with it, calls {@link #touch} or
+ * {@link #touchTeamsOf} inside its own transaction, so the stamp commits or rolls back with
+ * the change. A reader that sees the new stamp therefore also sees the new data. The stamp is
+ * touched last, after the team's {@link TeamTaskStats} cells, so concurrent writers to a team
+ * take the stamp row and the cell rows in the same order and cannot deadlock on them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class TeamChangeStamps {
+
+    private final TeamChangeStampRepository stampRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingStamps() {
+        int created = stampRepository.insertMissing();
+        if (created > 0) {
+            log.info("Created change stamps for {} existing teams", created);
+        }
+    }
+
+    /**
+     * Creates the stamp of a team saved in the current transaction.
+     */
+    public void register(String teamId) {
+        stampRepository.save(new TeamChangeStamp(teamId, 0));
+    }
+
+    /**
+     * @return the team's current stamp, or empty if the team has none (it does not exist,
+     *         or it predates the stamps and has not been backfilled yet)
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> current(String teamId) {
+        return stampRepository.findStamp(teamId);
+    }
+
+    /**
+     * Records a change to one of the team's tasks.
+     */
+    public void touch(String teamId) {
+        if (stampRepository.increment(teamId) == 0) {
+            stampRepository.save(new TeamChangeStamp(teamId, 1));
+        }
+    }
+
+    /**
+     * Records a change to each of the given tasks' teams. Call before deleting the tasks.
+     */
+    public void touchTeamsOf(Collection<String> taskIds) {
+        if (!taskIds.isEmpty()) {
+            stampRepository.incrementForTasks(taskIds);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Entity.TeamMembershipChangedEvent;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "is this user a member / the owner of this team" without loading the
+ * {@code team_members} collection.
+ * <p>
+ * Each cached team is an immutable snapshot: the owner id plus a {@link BitSet} over user
+ * ordinals, so a lookup is one map read and one bit test. Snapshots are built from a single
+ * id-only query on first use and dropped after any membership change commits on this node.
+ * A load that raced with a change is not cached, so it cannot keep the old members.
+ * When the index is disabled every check falls back to an existence query.
+ * <p>
+ * The index is per node. A change committed on another node is only seen here once the
+ * snapshot expires, so a removed member keeps access for up to {@code ttl-ms}; set it to
+ * the staleness that is acceptable, or disable the index when none is. Memory is bounded by
+ * {@code max-teams} snapshots and {@code max-users} ordinals; when the ordinals run out the
+ * whole index is dropped and rebuilt on demand.
+ */
+@Slf4j
+@Component
+public class TeamMembershipIndex {
+
+    private final TeamRepository teamRepository;
+    private final boolean enabled;
+    private final int maxTeams;
+    private final long ttlMillis;
+    private final int maxUsers;
+    private final Clock clock;
+
+    private volatile Snapshots snapshots = new Snapshots();
+
+    /** Bumped by every invalidation; a load that saw it move is not cached. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public TeamMembershipIndex(TeamRepository teamRepository,
+                               @Value("${app.teams.membership-index.enabled:true}") boolean enabled,
+                               @Value("${app.teams.membership-index.max-teams:10000}") int maxTeams,
+                               @Value("${app.teams.membership-index.ttl-ms:30000}") long ttlMillis,
+                               @Value("${app.teams.membership-index.max-users:100000}") int maxUsers) {
+        this(teamRepository, enabled, maxTeams, ttlMillis, maxUsers, Clock.systemUTC());
+    }
+
+    TeamMembershipIndex(TeamRepository teamRepository, boolean enabled, int maxTeams, long ttlMillis,
+                        int maxUsers, Clock clock) {
+        this.teamRepository = teamRepository;
+        this.enabled = enabled;
+        this.maxTeams = maxTeams;
+        this.ttlMillis = ttlMillis;
+        this.maxUsers = maxUsers;
+        this.clock = clock;
+    }
+
+    private record TeamEntry(String ownerId, BitSet members, long expiresAt) {
+    }
+
+    /**
+     * The cached teams together with the user ordinals their bitmaps refer to. Replaced as a
+     * whole, so a bitmap is never read against ordinals from another generation.
+     */
+    private static final class Snapshots {
+        /** Dense ordinal per user id, shared by all teams so each bitmap stays small. */
+        final Map<String, Integer> userOrdinals = new ConcurrentHashMap<>();
+        final AtomicInteger nextOrdinal = new AtomicInteger();
+        final Map<String, TeamEntry> teams = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return true if the user belongs to the team; false for unknown teams or users
+     */
+    public boolean isMember(String teamId, String userId) {
+        if (teamId == null || userId == null) {
+            return false;
+        }
+        if (!enabled) {
+            return teamRepository.existsMembership(teamId, userId);
+        }
+        Snapshots current = snapshots;
+        TeamEntry entry = entry(current, teamId);
+        if (entry == null) {
+            return false;
+        }
+        Integer ordinal = current.userOrdinals.get(userId);
+        return ordinal != null && entry.members().get(ordinal);
+    }
+
+    /**
+     * @return true if the user created (and therefore administers) the team
+     */
+    public boolean isOwner(String teamId, String userId) {
+        if (teamId == null || userId == null) {
+            return false;
+        }
+        if (!enabled) {
+            return teamRepository.findCreatedById(teamId).map(userId::equals).orElse(false);
+        }
+        TeamEntry entry = entry(snapshots, teamId);
+        return entry != null && userId.equals(entry.ownerId());
+    }
+
+    /**
+     * Drops the cached snapshot of a team. Call after the change is committed.
+     */
+    public void invalidate(String teamId) {
+        if (teamId == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        snapshots.teams.remove(teamId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(TeamMembershipChangedEvent event) {
+        log.debug("Membership of team {} changed ({} {}), invalidating",
+                event.teamId(), event.added() ? "added" : "removed", event.userId());
+        invalidate(event.teamId());
+    }
+
+    int cachedTeams() {
+        return snapshots.teams.size();
+    }
+
+    int knownUsers() {
+        return snapshots.userOrdinals.size();
+    }
+
+    private TeamEntry entry(Snapshots current, String teamId) {
+        long now = clock.millis();
+        TeamEntry entry = current.teams.get(teamId);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry;
+        }
+        long seen = invalidations.get();
+        entry = load(current, teamId, now);
+        if (entry != null && invalidations.get() == seen) {
+            evictIfFull(current, now);
+            current.teams.put(teamId, entry);
+        }
+        return entry;
+    }
+
+    private TeamEntry load(Snapshots current, String teamId, long now) {
+        String ownerId = teamRepository.findCreatedById(teamId).orElse(null);
+        if (ownerId == null) {
+            current.teams.remove(teamId);
+            return null;
+        }
+        List<String> memberIds = teamRepository.findMemberIds(teamId);
+        if (current.userOrdinals.size() + memberIds.size() > maxUsers) {
+            log.info("Membership index reached {} users, starting over", current.userOrdinals.size());
+            // Readers still holding the old snapshots finish against them; new lookups reload
+            snapshots = new Snapshots();
+        }
+        BitSet members = new BitSet();
+        for (String memberId : memberIds) {
+            members.set(ordinal(current, memberId));
+        }
+        return new TeamEntry(ownerId, members, now + ttlMillis);
+    }
+
+    private static int ordinal(Snapshots current, String userId) {
+        return current.userOrdinals.computeIfAbsent(userId, id -> current.nextOrdinal.getAndIncrement());
+    }
+
+    private void evictIfFull(Snapshots current, long now) {
+        if (current.teams.size() < maxTeams) {
+            return;
+        }
+        current.teams.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> it = current.teams.keySet().iterator();
+        while (current.teams.size() >= maxTeams && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -1,25 +1,34 @@
 package com.Assignment.Task_Tracker.Service;
 
 import com.Assignment.Task_Tracker.DTO.*;
+import com.Assignment.Task_Tracker.Entity.Attachment;
 import com.Assignment.Task_Tracker.Entity.Comment;
 import com.Assignment.Task_Tracker.Entity.Task;
 import com.Assignment.Task_Tracker.Entity.Team;
+import com.Assignment.Task_Tracker.Entity.TeamTaskStat;
 import com.Assignment.Task_Tracker.Entity.User;
+import com.Assignment.Task_Tracker.Events.EventOutbox;
 import com.Assignment.Task_Tracker.Exception.ResourceNotFoundException;
 import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import com.Assignment.Task_Tracker.Repository.AttachmentRepository;
 import com.Assignment.Task_Tracker.Repository.CommentRepository;
 import com.Assignment.Task_Tracker.Repository.TaskRepository;
 import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import com.Assignment.Task_Tracker.Repository.TeamTaskStatRepository;
 import com.Assignment.Task_Tracker.Repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,14 +37,24 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
+@Timed(value = "team.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class TeamService {
 
+    static final int DEFAULT_COMMENT_PAGE_SIZE = 50;
+    static final int MAX_COMMENT_PAGE_SIZE = 200;
+
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final CommentRepository commentRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final TeamMembershipIndex membershipIndex;
+    private final TeamChangeStamps changeStamps;
+    private final EventOutbox outbox;
+    private final TaskChangeSequence changeSequence;
+    private final TeamTaskStatRepository statRepository;
 
     /**
      * Creates a new team with the given user as the creator and first member.
@@ -66,8 +85,9 @@ public class TeamService {
                 .createdBy(user)
                 .build();
         
-        team.getMembers().add(user);
+        team.addMember(user);
         team = teamRepository.save(team);
+        changeStamps.register(team.getId());
         
         log.info("Team created successfully with ID: {}", team.getId());
         return mapToTeamResponse(team);
@@ -92,18 +112,36 @@ public class TeamService {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + request.getUserId()));
 
-        if (team.getMembers().contains(user)) {
+        if (membershipIndex.isMember(teamId, user.getId())) {
             log.warn("User {} is already a member of team {}", user.getId(), teamId);
             throw new BadRequestException("User is already a member of this team");
         }
 
-        team.getMembers().add(user);
+        team.addMember(user);
         team = teamRepository.save(team);
         
         log.info("User {} added to team {}", user.getId(), teamId);
         return mapToTeamResponse(team);
     }
 
+    /**
+     * Returns the ETag of a team's task list, read from the team's change stamp.
+     *
+     * @param teamId the ID of the team
+     * @return a strong ETag that changes whenever any of the team's tasks change
+     * @throws ResourceNotFoundException if the team is not found
+     */
+    public String getTeamTasksETag(String teamId) {
+        long stamp = changeStamps.current(teamId).orElseGet(() -> {
+            // Teams created before the stamps existed have none until their first change
+            if (!teamRepository.existsById(teamId)) {
+                throw new ResourceNotFoundException("Team not found with ID: " + teamId);
+            }
+            return 0L;
+        });
+        return ETags.forTeamTasks(stamp);
+    }
+
     /**
      * Retrieves all tasks associated with a team.
      *
@@ -113,24 +151,99 @@ public class TeamService {
      */
     public List<TaskResponse> getTeamTasks(String teamId) {
         log.debug("Fetching tasks for team: {}", teamId);
-        
-        if (!teamRepository.existsById(teamId)) {
-            log.warn("Team not found with ID: {}", teamId);
-            throw new ResourceNotFoundException("Team not found with ID: " + teamId);
+
+        // A team with tasks exists, so only an empty result needs the existence check
+        List<Task> tasks = taskRepository.findByTeamId(teamId);
+        if (tasks.isEmpty()) {
+            if (!teamRepository.existsById(teamId)) {
+                log.warn("Team not found with ID: {}", teamId);
+                throw new ResourceNotFoundException("Team not found with ID: " + teamId);
+            }
+            return List.of();
         }
 
-        return taskRepository.findByTeamId(teamId).stream()
-                .map(this::mapToTaskResponse)
+        // One query for the attachments of every task instead of one per task
+        Map<String, List<Attachment>> attachmentsByTask = attachmentRepository.findByTaskIdIn(
+                        tasks.stream().map(Task::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(attachment -> attachment.getTask().getId()));
+
+        return tasks.stream()
+                .map(task -> mapToTaskResponse(task, attachmentsByTask.getOrDefault(task.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the team's task counts by status, priority and assignee, assembled from its
+     * {@code team_task_stats} cells rather than from the tasks themselves.
+     *
+     * @param teamId the ID of the team
+     * @return the team summary
+     * @throws ResourceNotFoundException if the team is not found
+     */
+    public TeamSummaryResponse getTeamSummary(String teamId) {
+        log.debug("Fetching summary for team: {}", teamId);
+
+        List<TeamTaskStat> cells = statRepository.findByTeamId(teamId);
+        if (cells.isEmpty() && !teamRepository.existsById(teamId)) {
+            throw new ResourceNotFoundException("Team not found with ID: " + teamId);
+        }
+
+        Map<Task.TaskStatus, Long> byStatus = emptyStatusCounts();
+        Map<Task.Priority, Map<Task.TaskStatus, Long>> byPriority = new EnumMap<>(Task.Priority.class);
+        for (Task.Priority priority : Task.Priority.values()) {
+            byPriority.put(priority, emptyStatusCounts());
+        }
+        Map<String, Map<Task.TaskStatus, Long>> byAssignee = new LinkedHashMap<>();
+        long total = 0;
+        for (TeamTaskStat cell : cells) {
+            long count = cell.getTaskCount();
+            total += count;
+            byStatus.merge(cell.getStatus(), count, Long::sum);
+            byPriority.get(cell.getPriority()).merge(cell.getStatus(), count, Long::sum);
+            byAssignee.computeIfAbsent(cell.getAssigneeId(), id -> emptyStatusCounts())
+                    .merge(cell.getStatus(), count, Long::sum);
+        }
+
+        return TeamSummaryResponse.builder()
+                .teamId(teamId)
+                .total(total)
+                .byStatus(byName(byStatus))
+                .byPriority(byPriority.entrySet().stream().collect(Collectors.toMap(
+                        entry -> entry.getKey().name(), entry -> byName(entry.getValue()),
+                        (a, b) -> a, LinkedHashMap::new)))
+                .byAssignee(byAssignee.entrySet().stream()
+                        .map(entry -> new TeamSummaryResponse.AssigneeSummary(
+                                TeamTaskStat.UNASSIGNED.equals(entry.getKey()) ? null : entry.getKey(),
+                                entry.getValue().values().stream().mapToLong(Long::longValue).sum(),
+                                byName(entry.getValue())))
+                        .filter(assignee -> assignee.getTotal() > 0)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static Map<Task.TaskStatus, Long> emptyStatusCounts() {
+        Map<Task.TaskStatus, Long> counts = new EnumMap<>(Task.TaskStatus.class);
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+
+    private static <E extends Enum<E>> Map<String, Long> byName(Map<E, Long> counts) {
+        Map<String, Long> named = new LinkedHashMap<>();
+        counts.forEach((key, count) -> named.put(key.name(), count));
+        return named;
+    }
+
     /**
      * Maps a Task entity to a TaskResponse DTO.
      *
-     * @param task the task entity to map
+     * @param task        the task entity to map
+     * @param attachments the task's attachments, loaded by the caller
      * @return the mapped TaskResponse
      */
-    private TaskResponse mapToTaskResponse(Task task) {
+    private TaskResponse mapToTaskResponse(Task task, List<Attachment> attachments) {
         if (task == null) {
             log.warn("Task is null, cannot map to TaskResponse");
             return null;
@@ -153,29 +266,26 @@ public class TeamService {
                     (task.getCreatedBy().getFirstName() + " " + task.getCreatedBy().getLastName()).trim() : null)
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
-                .attachments(mapAttachments(task))
+                .commentCount(task.getCommentCount())
+                .attachmentCount(task.getAttachmentCount())
+                .version(task.getVersion())
+                .attachments(mapAttachments(attachments))
                 .build();
     }
     
     /**
      * Maps task attachments to attachment responses.
      *
-     * @param task the task containing attachments
+     * @param attachments the attachments of one task
      * @return list of attachment responses, or empty list if no attachments
      */
-    private Set<AttachmentResponse> mapAttachments(Task task) {
-        if (task.getAttachments() == null || task.getAttachments().isEmpty()) {
+    private Set<AttachmentResponse> mapAttachments(List<Attachment> attachments) {
+        if (attachments.isEmpty()) {
             return new HashSet<>();
         }
         
-        return task.getAttachments().stream()
-                .map(attachment -> AttachmentResponse.builder()
-                        .id(attachment.getId())
-                        .fileName(attachment.getFileName())
-                        .fileType(attachment.getFileType())
-                        .fileUrl(attachment.getFileUrl())
-                        .createdAt(attachment.getUploadedAt())
-                        .build())
+        return attachments.stream()
+                .map(AttachmentService::toResponse)
                 .collect(Collectors.toSet());
     }
     
@@ -211,30 +321,55 @@ public class TeamService {
                 .build();
 
         comment = commentRepository.save(comment);
+        taskRepository.adjustCommentCount(taskId, 1, changeSequence.current());
+        changeStamps.touch(task.getTeam().getId());
         log.debug("Comment added with ID: {}", comment.getId());
-        
-        return mapToCommentResponse(comment);
+
+        CommentResponse response = mapToCommentResponse(comment);
+        outbox.record(TaskChangeEvent.commentAdded(task.getTeam().getId(), taskId, response));
+        return response;
     }
 
     /**
-     * Retrieves all comments for a specific task.
+     * Returns one page of a task's comments, oldest first, with each author's name filled in
+     * by the same query. Pages are keyset-paginated on {@code (createdAt, id)}, so a page
+     * deep into a long thread costs the same as the first one.
      *
      * @param taskId the ID of the task
-     * @return list of comment responses
+     * @param limit  page size, defaults to {@value #DEFAULT_COMMENT_PAGE_SIZE}, capped at {@value #MAX_COMMENT_PAGE_SIZE}
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @return the page and the cursor of the next one
      * @throws ResourceNotFoundException if the task is not found
+     * @throws BadRequestException if limit or cursor is invalid
      */
-    public List<CommentResponse> getTaskComments(String taskId) {
-        log.debug("Fetching comments for task: {}", taskId);
-        
-        if (!taskRepository.existsById(taskId)) {
+    public CommentPageResponse getTaskComments(String taskId, Integer limit, String cursor) {
+        log.debug("Fetching comments for task: {}, limit: {}", taskId, limit);
+
+        int pageSize = resolveCommentPageSize(limit);
+        CommentCursor position = StringUtils.hasText(cursor) ? CommentCursor.decode(cursor.trim()) : null;
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Limit fetchSize = Limit.of(pageSize + 1);
+        List<CommentRow> rows = position == null
+                ? commentRepository.findTimeline(taskId, fetchSize)
+                : commentRepository.findTimelineAfter(taskId, position.createdAt(), position.id(), fetchSize);
+        // Only an empty page needs telling apart from a missing task
+        if (rows.isEmpty() && !taskRepository.existsById(taskId)) {
             log.warn("Task not found with ID: {}", taskId);
             throw new ResourceNotFoundException("Task not found with ID: " + taskId);
         }
 
-        return commentRepository.findByTaskId(taskId).stream()
-                .filter(Objects::nonNull)
-                .map(this::mapToCommentResponse)
-                .collect(Collectors.toList());
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        CommentRow last = hasMore ? rows.get(rows.size() - 1) : null;
+        return CommentPageResponse.builder()
+                .items(rows.stream().map(TeamService::mapToCommentResponse).collect(Collectors.toList()))
+                .nextCursor(last != null ? new CommentCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
     }
 
     /**
@@ -248,14 +383,42 @@ public class TeamService {
             return null;
         }
         
+        User user = comment.getUser();
         return CommentResponse.builder()
                 .id(comment.getId())
                 .content(comment.getContent())
-                .userId(comment.getUser() != null ? comment.getUser().getId() : null)
+                .userId(user != null ? user.getId() : null)
+                .username(user != null ? user.getUsername() : null)
+                .userDisplayName(user != null ? displayName(user.getFirstName(), user.getLastName()) : null)
                 .createdAt(comment.getCreatedAt())
                 .build();
     }
 
+    private static CommentResponse mapToCommentResponse(CommentRow row) {
+        return CommentResponse.builder()
+                .id(row.getId())
+                .content(row.getContent())
+                .userId(row.getUserId())
+                .username(row.getUsername())
+                .userDisplayName(displayName(row.getFirstName(), row.getLastName()))
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    private static String displayName(String firstName, String lastName) {
+        return String.format("%s %s", firstName, lastName).trim();
+    }
+
+    private static int resolveCommentPageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_COMMENT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_COMMENT_PAGE_SIZE);
+    }
+
     /**
      * Maps a Team entity to a TeamResponse DTO.
      *
@@ -297,25 +460,4 @@ public class TeamService {
             throw new BadRequestException("Team name must be less than 100 characters");
         }
     }
-    public List<TaskResponse> getAllTasks(String status, String search) {
-        log.debug("Fetching tasks with status: {}, search: {}", status, search);
-
-        List<Task> tasks;
-        if (search != null && !search.trim().isEmpty()) {
-            tasks = taskRepository.searchTasks(search);
-        } else if (status != null && !status.trim().isEmpty()) {
-            try {
-                Task.TaskStatus taskStatus = Task.TaskStatus.valueOf(status.toUpperCase());
-                tasks = taskRepository.findByStatus(Task.TaskStatus.valueOf(String.valueOf(taskStatus)));
-            } catch (IllegalArgumentException e) {
-                throw new BadRequestException("Invalid status value: " + status);
-            }
-        } else {
-            tasks = taskRepository.findAll();
-        }
-
-        return tasks.stream()
-                .map(this::mapToTaskResponse)
-                .collect(Collectors.toList());
-    }
 }
@@ -0,0 +1,257 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.TaskStatsRow;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.TeamTaskStat;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import com.Assignment.Task_Tracker.Repository.TeamTaskStatRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains {@code team_task_stats}, the per-team task counts behind the team summary.
+ * <p>
+ * Write paths report the cells their tasks leave and enter, and the net change is applied as
+ * one multi-row {@code INSERT ... ON CONFLICT DO UPDATE} that adds to the stored counts, so
+ * concurrent writers never overwrite each other and no team is recounted on the request path.
+ * Tasks changed with set-based UPDATEs are read and locked first, so their old cells cannot
+ * change between the read and the write.
+ * <p>
+ * A reconciliation pass recounts each team and applies the difference, which backfills teams
+ * that predate the table and repairs drift from writes made outside the application.
+ */
+@Slf4j
+@Component
+public class TeamTaskStats {
+
+    private static final Comparator<TeamTaskStat.Key> KEY_ORDER = Comparator
+            .comparing(TeamTaskStat.Key::getTeamId)
+            .thenComparing(TeamTaskStat.Key::getStatus)
+            .thenComparing(TeamTaskStat.Key::getPriority)
+            .thenComparing(TeamTaskStat.Key::getAssigneeId);
+
+    private final TeamTaskStatRepository statRepository;
+    private final TaskRepository taskRepository;
+    private final TeamRepository teamRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate reconcileTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.stats.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @Value("${app.stats.reconcile-batch-size:200}")
+    private int batchSize;
+
+    public TeamTaskStats(TeamTaskStatRepository statRepository, TaskRepository taskRepository,
+                         TeamRepository teamRepository, EntityManager entityManager,
+                         PlatformTransactionManager transactionManager) {
+        this.statRepository = statRepository;
+        this.taskRepository = taskRepository;
+        this.teamRepository = teamRepository;
+        this.entityManager = entityManager;
+        // The recount and the stored cells must come from the same snapshot, or a change
+        // committed in between would be counted twice
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public static TaskStatsRow rowOf(Task task) {
+        return new TaskStatsRow(task.getId(), task.getTeam().getId(), task.getStatus(), task.getPriority(),
+                task.getAssignedTo() != null ? task.getAssignedTo().getId() : null);
+    }
+
+    /**
+     * Reads the current cells of the given tasks and locks them until the transaction ends.
+     * Call before changing the tasks with a set-based UPDATE.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<TaskStatsRow> lock(Collection<String> taskIds) {
+        return taskRepository.lockStatsRows(taskIds);
+    }
+
+    /**
+     * Reads the current cells of the given tasks, e.g. after a set-based UPDATE.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<TaskStatsRow> read(Collection<String> taskIds) {
+        return taskRepository.findStatsRows(taskIds);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Collection<Task> tasks) {
+        Map<TeamTaskStat.Key, Long> deltas = new HashMap<>();
+        tasks.forEach(task -> add(deltas, rowOf(task), 1));
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Collection<TaskStatsRow> rows) {
+        Map<TeamTaskStat.Key, Long> deltas = new HashMap<>();
+        rows.forEach(row -> add(deltas, row, -1));
+        apply(deltas);
+    }
+
+    /**
+     * Moves tasks from their {@code before} cells to their {@code after} cells. Tasks that
+     * stayed in the same cell cost nothing.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moved(Collection<TaskStatsRow> before, Collection<TaskStatsRow> after) {
+        Map<TeamTaskStat.Key, Long> deltas = new HashMap<>();
+        before.forEach(row -> add(deltas, row, -1));
+        after.forEach(row -> add(deltas, row, 1));
+        apply(deltas);
+    }
+
+    private static void add(Map<TeamTaskStat.Key, Long> deltas, TaskStatsRow row, long delta) {
+        deltas.merge(keyOf(row), delta, Long::sum);
+    }
+
+    private static TeamTaskStat.Key keyOf(TaskStatsRow row) {
+        return new TeamTaskStat.Key(row.getTeamId(), row.getStatus(), row.getPriority(),
+                row.getAssigneeId() != null ? row.getAssigneeId() : TeamTaskStat.UNASSIGNED);
+    }
+
+    /**
+     * Adds the non-zero deltas to their cells in one statement. Cells are written in key order
+     * so two transactions touching the same cells lock them in the same order.
+     */
+    private void apply(Map<TeamTaskStat.Key, Long> deltas) {
+        Map<TeamTaskStat.Key, Long> changes = new TreeMap<>(KEY_ORDER);
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                changes.put(key, delta);
+            }
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        StringBuilder hql = new StringBuilder(
+                "INSERT INTO TeamTaskStat (teamId, status, priority, assigneeId, taskCount) VALUES ");
+        for (int i = 0; i < changes.size(); i++) {
+            hql.append(i > 0 ? ", " : "")
+                    .append(String.format("(:team%1$d, :status%1$d, :priority%1$d, :assignee%1$d, :delta%1$d)", i));
+        }
+        hql.append(" ON CONFLICT (teamId, status, priority, assigneeId) " +
+                "DO UPDATE SET taskCount = taskCount + excluded.taskCount");
+
+        Query query = entityManager.createQuery(hql.toString());
+        int i = 0;
+        for (Map.Entry<TeamTaskStat.Key, Long> change : changes.entrySet()) {
+            TeamTaskStat.Key key = change.getKey();
+            query.setParameter("team" + i, key.getTeamId())
+                    .setParameter("status" + i, key.getStatus())
+                    .setParameter("priority" + i, key.getPriority())
+                    .setParameter("assignee" + i, key.getAssigneeId())
+                    .setParameter("delta" + i, change.getValue());
+            i++;
+        }
+        query.executeUpdate();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (reconcileOnStartup) {
+            Thread.ofPlatform().name("team-stats-reconcile").daemon().start(this::reconcile);
+        }
+    }
+
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 45 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recounts every team in chunks and corrects the stored cells, unless a pass is already
+     * running on this node. A chunk that conflicts with a concurrent write is left for the
+     * next pass.
+     *
+     * @return the number of cells corrected
+     */
+    public long reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Team stats reconciliation already running, skipping");
+            return 0;
+        }
+        long corrected = 0;
+        long teams = 0;
+        try {
+            String afterId = "";
+            List<String> teamIds;
+            do {
+                teamIds = teamRepository.findIdsAfter(afterId, Limit.of(batchSize));
+                if (teamIds.isEmpty()) {
+                    break;
+                }
+                List<String> chunk = teamIds;
+                try {
+                    Integer fixed = reconcileTransaction.execute(status -> reconcileTeams(chunk));
+                    corrected += fixed != null ? fixed : 0;
+                } catch (RuntimeException e) {
+                    log.warn("Team stats reconciliation skipped {} teams after {}: {}", chunk.size(), afterId, e.getMessage());
+                }
+                teams += teamIds.size();
+                afterId = teamIds.get(teamIds.size() - 1);
+            } while (teamIds.size() == batchSize);
+
+            if (corrected > 0) {
+                log.warn("Corrected {} team stats cells across {} teams", corrected, teams);
+            } else {
+                log.info("Team stats consistent across {} teams", teams);
+            }
+        } catch (Exception e) {
+            log.error("Team stats reconciliation failed after {} teams: {}", teams, e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+        return corrected;
+    }
+
+    private int reconcileTeams(List<String> teamIds) {
+        Map<TeamTaskStat.Key, Long> deltas = new HashMap<>();
+        for (TeamTaskStat actual : statRepository.countByTeamIdIn(teamIds)) {
+            deltas.merge(keyOf(actual), actual.getTaskCount(), Long::sum);
+        }
+        for (TeamTaskStat stored : statRepository.findByTeamIdIn(teamIds)) {
+            deltas.merge(keyOf(stored), -stored.getTaskCount(), Long::sum);
+        }
+        Set<TeamTaskStat.Key> drifted = new HashSet<>();
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                drifted.add(key);
+            }
+        });
+        apply(deltas);
+        statRepository.deleteEmptyCells(teamIds);
+        return drifted.size();
+    }
+
+    private static TeamTaskStat.Key keyOf(TeamTaskStat stat) {
+        return new TeamTaskStat.Key(stat.getTeamId(), stat.getStatus(), stat.getPriority(), stat.getAssigneeId());
+    }
+}
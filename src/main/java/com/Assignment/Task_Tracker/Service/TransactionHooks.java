@@ -0,0 +1,31 @@
+package com.Assignment.Task_Tracker.Service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for deferring in-memory side effects until the database change is durable.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+        // Utility class
+    }
+
+    /**
+     * Runs {@code action} after the current transaction commits, or immediately when no
+     * transaction is active. Nothing runs if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,351 @@
+package com.Assignment.Task_Tracker.Storage;
+
+import com.Assignment.Task_Tracker.Exception.PayloadTooLargeException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed blob storage on the local filesystem.
+ * <p>
+ * A blob lives under the hex SHA-256 of its bytes, fanned out over two directory levels
+ * ({@code ab/cd/abcd…}) so no directory grows too large. Identical uploads therefore share
+ * one file, and a stored file never changes, which makes its hash a strong ETag.
+ * <p>
+ * Writing is split in two. Content is first staged: streamed to a temporary file on the same
+ * filesystem while the digest is computed, and flushed to disk. {@link #publish} then renames
+ * it into place atomically, or drops it if the address is already taken; a reader never sees
+ * a partial blob. Callers publish while holding the blob's reference row locked (see
+ * {@code BlobRepository}), so a blob cannot be collected between the check and the rename.
+ * <p>
+ * Chunks of resumable uploads are kept under {@code uploads/<uploadId>/} until assembly.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+
+    /**
+     * Prefix of the locator stored in {@code Attachment.fileUrl} for blobs kept here.
+     */
+    public static final String URI_PREFIX = "sha256:";
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-fA-F-]{1,36}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private Path tmpDir;
+    private Path uploadsDir;
+
+    public BlobStore(@Value("${app.attachments.storage-dir:data/attachments}") String storageDir) {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        tmpDir = Files.createDirectories(root.resolve("tmp"));
+        uploadsDir = Files.createDirectories(root.resolve("uploads"));
+        log.info("Attachment blobs stored under {}", root);
+    }
+
+    /**
+     * Streams {@code content} to a temporary file without holding it in memory. The caller
+     * must {@link #publish} or {@link #discard} the result.
+     *
+     * @param maxBytes the largest content accepted
+     * @throws PayloadTooLargeException if the stream is longer than {@code maxBytes}
+     */
+    public StagedBlob stage(InputStream content, long maxBytes) throws IOException {
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            BufferedInputStream in = new BufferedInputStream(content, BUFFER_SIZE);
+            // Reads the first few bytes and resets the stream
+            String detectedType = URLConnection.guessContentTypeFromStream(in);
+            long size = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new PayloadTooLargeException("Upload is limited to " + maxBytes + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+                out.force(false);
+            }
+            return new StagedBlob(HexFormat.of().formatHex(digest.digest()), size, detectedType, tmp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * Hashes the concatenation of {@code parts} without copying it. The result has no file;
+     * pass it to {@link #concatenate} if the store does not have the blob yet.
+     */
+    public StagedBlob digest(List<Path> parts) throws IOException {
+        MessageDigest digest = sha256();
+        String detectedType = null;
+        long size = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        for (Path part : parts) {
+            try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                if (detectedType == null && size == 0) {
+                    try (InputStream head = new BufferedInputStream(Files.newInputStream(part))) {
+                        detectedType = URLConnection.guessContentTypeFromStream(head);
+                    }
+                }
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+        }
+        return new StagedBlob(HexFormat.of().formatHex(digest.digest()), size, detectedType, null);
+    }
+
+    /**
+     * Stages the concatenation of {@code parts}, whose digest is already known. The copy is
+     * hashed as it is written and must match {@code digest}: a part replaced since it was
+     * hashed (a chunk sent again) would otherwise be published under the wrong address.
+     *
+     * @throws OptimisticLockingFailureException if the parts no longer match {@code digest}
+     */
+    public StagedBlob concatenate(List<Path> parts, StagedBlob digest) throws IOException {
+        Path tmp = Files.createTempFile(tmpDir, "assemble-", ".part");
+        try {
+            MessageDigest hash = sha256();
+            long size = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                for (Path part : parts) {
+                    try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                        while (in.read(buffer) != -1) {
+                            buffer.flip();
+                            size += buffer.remaining();
+                            hash.update(buffer.duplicate());
+                            while (buffer.hasRemaining()) {
+                                out.write(buffer);
+                            }
+                            buffer.clear();
+                        }
+                    }
+                }
+                out.force(false);
+            }
+            if (size != digest.size() || !HexFormat.of().formatHex(hash.digest()).equals(digest.sha256())) {
+                throw new OptimisticLockingFailureException("Parts changed while being assembled");
+            }
+            return new StagedBlob(digest.sha256(), digest.size(), digest.detectedType(), tmp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves staged content to its address, unless the store already has it.
+     *
+     * @return true if the file was written, false if it was already there
+     * @throws IllegalStateException if the blob is missing and nothing was staged
+     */
+    public boolean publish(StagedBlob blob) throws IOException {
+        Path target = pathOf(blob.sha256());
+        if (Files.exists(target)) {
+            return false;
+        }
+        if (blob.file() == null) {
+            throw new IllegalStateException("Blob " + blob.sha256() + " is not stored and was not staged");
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(blob.file(), target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content got there first
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the temporary file of a staged blob, if it is still there.
+     */
+    public void discard(StagedBlob blob) {
+        if (blob == null || blob.file() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(blob.file());
+        } catch (IOException e) {
+            log.warn("Could not delete staged file {}: {}", blob.file(), e.getMessage());
+        }
+    }
+
+    /**
+     * The file holding a blob, if the store has it.
+     */
+    public Optional<Path> find(String sha256) {
+        Path path = pathOf(sha256);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Deletes a blob's file. Only call this while holding its reference row locked.
+     */
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(pathOf(sha256));
+    }
+
+    /**
+     * Moves a staged chunk into its upload's directory, replacing an earlier copy.
+     */
+    public void publishChunk(StagedBlob chunk, String uploadId, int index) throws IOException {
+        Path target = chunkPath(uploadId, index);
+        Files.createDirectories(target.getParent());
+        Files.move(chunk.file(), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * The chunk files of an upload in order.
+     */
+    public List<Path> chunkFiles(String uploadId, int count) {
+        List<Path> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            parts.add(chunkPath(uploadId, i));
+        }
+        return parts;
+    }
+
+    /**
+     * Deletes an upload's chunks.
+     */
+    public void deleteChunks(String uploadId) {
+        deleteTree(uploadDir(uploadId));
+    }
+
+    /**
+     * Deletes temporary files last modified before {@code before}: what crashed or
+     * interrupted writes left behind.
+     *
+     * @return the number of files deleted
+     */
+    public int sweepTemporary(Instant before) throws IOException {
+        int removed = 0;
+        for (Path entry : entriesOlderThan(tmpDir, before)) {
+            deleteTree(entry);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Ids of the uploads whose chunk directories were last modified before {@code before}.
+     */
+    public List<String> uploadsOlderThan(Instant before) throws IOException {
+        return entriesOlderThan(uploadsDir, before).stream()
+                .map(entry -> entry.getFileName().toString())
+                .toList();
+    }
+
+    /**
+     * The hash addressed by a locator produced by {@link StagedBlob#uri()}, or empty for
+     * anything else (such as the external URLs of older attachments).
+     */
+    public static Optional<String> hashOf(String uri) {
+        if (uri == null || !uri.startsWith(URI_PREFIX)) {
+            return Optional.empty();
+        }
+        String hash = uri.substring(URI_PREFIX.length());
+        return SHA256_HEX.matcher(hash).matches() ? Optional.of(hash) : Optional.empty();
+    }
+
+    Path pathOf(String sha256) {
+        if (!SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private Path uploadDir(String uploadId) {
+        if (!UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("Not an upload id: " + uploadId);
+        }
+        return uploadsDir.resolve(uploadId);
+    }
+
+    private Path chunkPath(String uploadId, int index) {
+        return uploadDir(uploadId).resolve(Integer.toString(index));
+    }
+
+    private static List<Path> entriesOlderThan(Path dir, Instant before) throws IOException {
+        List<Path> old = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                try {
+                    if (Files.getLastModifiedTime(entry).toInstant().isBefore(before)) {
+                        old.add(entry);
+                    }
+                } catch (NoSuchFileException e) {
+                    // Deleted while listing
+                }
+            }
+        }
+        return old;
+    }
+
+    private static void deleteTree(Path path) {
+        try (Stream<Path> tree = Files.walk(path)) {
+            for (Path entry : tree.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (NoSuchFileException e) {
+            // Already gone
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
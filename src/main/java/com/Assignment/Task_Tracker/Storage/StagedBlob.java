@@ -0,0 +1,19 @@
+package com.Assignment.Task_Tracker.Storage;
+
+import java.nio.file.Path;
+
+/**
+ * Content written to a temporary file of the {@link BlobStore}, hashed but not yet
+ * published under its address.
+ *
+ * @param sha256       hex SHA-256 of the content, which is also its address in the store
+ * @param size         length in bytes
+ * @param detectedType media type sniffed from the first bytes, or null if unrecognised
+ * @param file         the temporary file; moved into place by {@link BlobStore#publish}
+ */
+public record StagedBlob(String sha256, long size, String detectedType, Path file) {
+
+    public String uri() {
+        return BlobStore.URI_PREFIX + sha256;
+    }
+}
@@ -0,0 +1,198 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Entity.OutboxEvent;
+import com.Assignment.Task_Tracker.Repository.OutboxEventRepository;
+import com.Assignment.Task_Tracker.Security.JwtUtil;
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uploads through the blob store and downloads with ranges and entity tags.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class AttachmentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData.SeededTeam seeded;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(2, 0);
+    }
+
+    private String bearer() {
+        return "Bearer " + seeded.ownerToken();
+    }
+
+    private String attachmentsOf(int index) {
+        return "/api/v1/tasks/" + seeded.tasks().get(index).getId() + "/attachments";
+    }
+
+    private JsonNode upload(int index, String fileName, byte[] content) throws Exception {
+        String body = mockMvc.perform(post(attachmentsOf(index))
+                        .param("fileName", fileName)
+                        .header("Authorization", bearer())
+                        .contentType("application/octet-stream")
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 31 + 7);
+        }
+        return bytes;
+    }
+
+    @Test
+    void uploadFillsMetadataAndDownloadReturnsTheBytes() throws Exception {
+        // A random tail keeps this content apart from other runs against the same store
+        byte[] bytes = ("%PDF-1.4 report " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        JsonNode attachment = upload(0, "../../etc/report.txt", bytes);
+
+        assertEquals("report.txt", attachment.get("fileName").asText());
+        assertEquals("text/plain", attachment.get("fileType").asText());
+        assertEquals(bytes.length, attachment.get("fileSize").asLong());
+        String url = attachment.get("fileUrl").asText();
+        assertEquals(attachmentsOf(0) + "/" + attachment.get("id").asText(), url);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT attachment_count FROM tasks WHERE id = ?",
+                Integer.class, seeded.tasks().get(0).getId()));
+        assertTrue(outboxEventRepository.findAll().stream()
+                .map(OutboxEvent::getType)
+                .anyMatch("ATTACHMENT_ADDED"::equals));
+
+        MockHttpServletResponse response = mockMvc.perform(get(url).header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn().getResponse();
+        assertArrayEquals(bytes, response.getContentAsByteArray());
+        assertEquals("text/plain", response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("report.txt"));
+    }
+
+    @Test
+    void rangesAndEntityTags() throws Exception {
+        byte[] bytes = content(10_000);
+        bytes[0] = (byte) System.nanoTime();
+        String url = upload(0, "data.bin", bytes).get("fileUrl").asText();
+
+        String etag = mockMvc.perform(get(url).header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header("Authorization", bearer()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        MockHttpServletResponse partial = mockMvc.perform(get(url).header("Authorization", bearer())
+                        .header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/10000"))
+                .andReturn().getResponse();
+        assertArrayEquals(Arrays.copyOfRange(bytes, 100, 200), partial.getContentAsByteArray());
+
+        MockHttpServletResponse suffix = mockMvc.perform(get(url).header("Authorization", bearer())
+                        .header(HttpHeaders.RANGE, "bytes=-10").header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse();
+        assertArrayEquals(Arrays.copyOfRange(bytes, 9_990, 10_000), suffix.getContentAsByteArray());
+
+        // A stale If-Range gets the whole file
+        assertEquals(10_000, mockMvc.perform(get(url).header("Authorization", bearer())
+                        .header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length);
+
+        mockMvc.perform(get(url).header("Authorization", bearer()).header(HttpHeaders.RANGE, "bytes=20000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10000"));
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        byte[] bytes = content(2_000);
+        bytes[0] = (byte) System.nanoTime();
+        JsonNode first = upload(0, "a.bin", bytes);
+        JsonNode second = upload(1, "b.bin", bytes);
+
+        String firstEtag = mockMvc.perform(get(first.get("fileUrl").asText()).header("Authorization", bearer()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String secondEtag = mockMvc.perform(get(second.get("fileUrl").asText()).header("Authorization", bearer()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(firstEtag, secondEtag);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT file_url) FROM attachments WHERE id IN (?, ?)",
+                Integer.class, first.get("id").asText(), second.get("id").asText()));
+    }
+
+    @Test
+    void rejectsOversizedUploadsAndOutsiders() throws Exception {
+        mockMvc.perform(post(attachmentsOf(0))
+                        .param("fileName", "huge.bin")
+                        .header("Authorization", bearer())
+                        .content(new byte[1_048_577]))
+                .andExpect(status().isPayloadTooLarge());
+
+        String outsider = "Bearer " + jwtUtil.generateToken(UUID.randomUUID().toString());
+        mockMvc.perform(post(attachmentsOf(0))
+                        .param("fileName", "x.bin")
+                        .header("Authorization", outsider)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isForbidden());
+
+        String url = upload(0, "mine.bin", new byte[]{4, 5, 6}).get("fileUrl").asText();
+        mockMvc.perform(get(url).header("Authorization", outsider))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(attachmentsOf(1) + "/" + url.substring(url.lastIndexOf('/') + 1))
+                        .header("Authorization", bearer()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,264 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Service.AttachmentUploadService;
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Resumable uploads: chunks out of order with per-chunk digests, assembly on completion,
+ * reference-counted deduplication across tasks, and cleanup of what is left behind. The test
+ * profile uses 4 KiB chunks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class AttachmentUploadTest {
+
+    private static final int CHUNK = 4096;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private AttachmentUploadService uploadService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData.SeededTeam seeded;
+    private final Random random = new Random();
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(2, 0);
+    }
+
+    private String bearer() {
+        return "Bearer " + seeded.ownerToken();
+    }
+
+    private String uploadsOf(int index) {
+        return "/api/v1/tasks/" + seeded.tasks().get(index).getId() + "/attachments/uploads";
+    }
+
+    private byte[] randomContent(int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] sha256(byte[] bytes) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(bytes);
+    }
+
+    private static String contentDigest(byte[] bytes) throws Exception {
+        return "sha-256=:" + Base64.getEncoder().encodeToString(sha256(bytes)) + ":";
+    }
+
+    private JsonNode read(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+
+    private String createSession(int task, byte[] content, String sha256) throws Exception {
+        Map<String, Object> request = sha256 == null
+                ? Map.of("fileName", "bundle.log", "size", content.length)
+                : Map.of("fileName", "bundle.log", "size", content.length, "sha256", sha256);
+        JsonNode session = read(mockMvc.perform(post(uploadsOf(task))
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated()));
+        assertEquals(CHUNK, session.get("chunkSize").asInt());
+        return session.get("uploadId").asText();
+    }
+
+    private ResultActions sendChunk(int task, String uploadId, byte[] content, int index, String digest) throws Exception {
+        byte[] chunk = Arrays.copyOfRange(content, index * CHUNK, Math.min((index + 1) * CHUNK, content.length));
+        return mockMvc.perform(put(uploadsOf(task) + "/" + uploadId + "/chunks/" + index)
+                .header("Authorization", bearer())
+                .header("Content-Digest", digest != null ? digest : contentDigest(chunk))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(chunk));
+    }
+
+    private JsonNode uploadResumably(int task, byte[] content) throws Exception {
+        String uploadId = createSession(task, content, null);
+        int chunks = Math.ceilDiv(content.length, CHUNK);
+        for (int index = chunks - 1; index >= 0; index--) {
+            sendChunk(task, uploadId, content, index, null).andExpect(status().isNoContent());
+        }
+        return read(mockMvc.perform(post(uploadsOf(task) + "/" + uploadId + "/complete")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isCreated()));
+    }
+
+    private byte[] download(JsonNode attachment) throws Exception {
+        return mockMvc.perform(get(attachment.get("fileUrl").asText()).header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private Long refCount(byte[] content) throws Exception {
+        List<Long> counts = jdbcTemplate.queryForList("SELECT ref_count FROM blobs WHERE sha256 = ?",
+                Long.class, HexFormat.of().formatHex(sha256(content)));
+        return counts.isEmpty() ? null : counts.get(0);
+    }
+
+    @Test
+    void chunksArriveInAnyOrderAndAreVerified() throws Exception {
+        byte[] content = randomContent(3 * CHUNK + 100);
+        String sha = HexFormat.of().formatHex(sha256(content));
+        String uploadId = createSession(0, content, sha);
+        String session = uploadsOf(0) + "/" + uploadId;
+
+        sendChunk(0, uploadId, content, 2, null).andExpect(status().isNoContent());
+        sendChunk(0, uploadId, content, 0, contentDigest(new byte[]{1})).andExpect(status().isBadRequest());
+        sendChunk(0, uploadId, content, 0, null).andExpect(status().isNoContent());
+        // Sending a chunk again is harmless
+        sendChunk(0, uploadId, content, 0, null).andExpect(status().isNoContent());
+        mockMvc.perform(put(session + "/chunks/1").header("Authorization", bearer()).content(new byte[CHUNK]))
+                .andExpect(status().isBadRequest());
+
+        JsonNode state = read(mockMvc.perform(get(session).header("Authorization", bearer()))
+                .andExpect(status().isOk()));
+        assertEquals(4, state.get("chunkCount").asInt());
+        List<Integer> received = new ArrayList<>();
+        state.get("receivedChunks").forEach(node -> received.add(node.asInt()));
+        assertEquals(List.of(0, 2), received);
+
+        mockMvc.perform(post(session + "/complete").header("Authorization", bearer()))
+                .andExpect(status().isBadRequest());
+
+        sendChunk(0, uploadId, content, 3, null).andExpect(status().isNoContent());
+        sendChunk(0, uploadId, content, 1, null).andExpect(status().isNoContent());
+        JsonNode attachment = read(mockMvc.perform(post(session + "/complete").header("Authorization", bearer()))
+                .andExpect(status().isCreated()));
+
+        assertEquals(content.length, attachment.get("fileSize").asLong());
+        assertArrayEquals(content, download(attachment));
+        assertEquals(1L, refCount(content));
+        mockMvc.perform(get(session).header("Authorization", bearer())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void identicalContentIsReferencedNotStoredAgain() throws Exception {
+        byte[] content = randomContent(2 * CHUNK + 1);
+        JsonNode direct = read(mockMvc.perform(post("/api/v1/tasks/" + seeded.tasks().get(0).getId() + "/attachments")
+                        .param("fileName", "first.log")
+                        .header("Authorization", bearer())
+                        .content(content))
+                .andExpect(status().isCreated()));
+        JsonNode resumed = uploadResumably(1, content);
+
+        assertNotEquals(direct.get("id").asText(), resumed.get("id").asText());
+        assertEquals(2L, refCount(content));
+        assertArrayEquals(content, download(resumed));
+
+        mockMvc.perform(delete("/api/v1/tasks/" + seeded.tasks().get(0).getId()).header("Authorization", bearer()))
+                .andExpect(status().isOk());
+        assertEquals(1L, refCount(content));
+        uploadService.collectBlobs();
+        assertArrayEquals(content, download(resumed));
+
+        mockMvc.perform(post("/api/v1/tasks/bulk")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "taskIds", List.of(seeded.tasks().get(1).getId()), "action", "DELETE"))))
+                .andExpect(status().isOk());
+        assertEquals(0L, refCount(content));
+        uploadService.collectBlobs();
+        assertNull(refCount(content));
+
+    }
+
+    @Test
+    void mismatchedFileDigestKeepsTheSession() throws Exception {
+        byte[] content = randomContent(CHUNK + 10);
+        String uploadId = createSession(0, content, HexFormat.of().formatHex(new byte[32]));
+        for (int index = 0; index < 2; index++) {
+            sendChunk(0, uploadId, content, index, null).andExpect(status().isNoContent());
+        }
+        mockMvc.perform(post(uploadsOf(0) + "/" + uploadId + "/complete").header("Authorization", bearer()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(uploadsOf(0) + "/" + uploadId).header("Authorization", bearer()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete(uploadsOf(0) + "/" + uploadId).header("Authorization", bearer()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(uploadsOf(0) + "/" + uploadId).header("Authorization", bearer()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void expiredSessionsAreCollected() throws Exception {
+        byte[] content = randomContent(2 * CHUNK);
+        String uploadId = createSession(0, content, null);
+        sendChunk(0, uploadId, content, 0, null).andExpect(status().isNoContent());
+
+        jdbcTemplate.update("UPDATE upload_sessions SET expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(1), uploadId);
+        sendChunk(0, uploadId, content, 1, null).andExpect(status().isGone());
+
+        uploadService.expireSessions(LocalDateTime.now());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM upload_chunks WHERE session_id = ?", Integer.class, uploadId));
+        mockMvc.perform(get(uploadsOf(0) + "/" + uploadId).header("Authorization", bearer()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsOversizedFilesAndOtherUsersSessions() throws Exception {
+        mockMvc.perform(post(uploadsOf(0))
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("fileName", "huge.log", "size", 1_048_577))))
+                .andExpect(status().isPayloadTooLarge());
+
+        String uploadId = createSession(0, randomContent(10), null);
+        mockMvc.perform(get(uploadsOf(0) + "/" + uploadId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + testData.teamWithTasks(0, 0).ownerToken()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,196 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static com.Assignment.Task_Tracker.Support.QueryBudget.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag / If-None-Match on the task and team task reads, and If-Match on task writes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    private TestData.SeededTeam seeded;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(5, 1);
+    }
+
+    private String bearer() {
+        return "Bearer " + seeded.ownerToken();
+    }
+
+    private String taskUrl() {
+        return "/api/v1/tasks/" + seeded.tasks().get(0).getId();
+    }
+
+    private String teamTasksUrl() {
+        return "/api/v1/teams/" + seeded.team().getId() + "/tasks";
+    }
+
+    private String eTagOf(String url) throws Exception {
+        String eTag = mockMvc.perform(get(url).header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    @Test
+    void unchangedTask_isNotModified_fromOneLightQuery() throws Exception {
+        String eTag = eTagOf(taskUrl());
+
+        assertMaxQueries(1, () -> mockMvc.perform(get(taskUrl())
+                        .header("Authorization", bearer())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string("")));
+    }
+
+    @Test
+    void statusChange_changesTaskAndTeamETags() throws Exception {
+        String taskETag = eTagOf(taskUrl());
+        String teamETag = eTagOf(teamTasksUrl());
+
+        String newTaskETag = mockMvc.perform(patch(taskUrl() + "/status")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "status", "DONE", "currentUserId", seeded.owner().getId()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(taskETag, newTaskETag);
+
+        mockMvc.perform(get(taskUrl()).header("Authorization", bearer()).header(HttpHeaders.IF_NONE_MATCH, taskETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, newTaskETag))
+                .andExpect(jsonPath("$.status").value("DONE"));
+        mockMvc.perform(get(teamTasksUrl()).header("Authorization", bearer()).header(HttpHeaders.IF_NONE_MATCH, teamETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unchangedTeamTasks_areNotModified_untilACommentIsAdded() throws Exception {
+        String eTag = eTagOf(teamTasksUrl());
+
+        assertMaxQueries(1, () -> mockMvc.perform(get(teamTasksUrl())
+                        .header("Authorization", bearer())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified()));
+
+        mockMvc.perform(post("/api/v1/teams/tasks/" + seeded.tasks().get(1).getId() + "/comments")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("content", "New comment"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get(teamTasksUrl()).header("Authorization", bearer()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateWithStaleIfMatch_isRejected() throws Exception {
+        String eTag = eTagOf(taskUrl());
+        String update = objectMapper.writeValueAsString(Map.of("title", "Renamed"));
+
+        String newETag = mockMvc.perform(put(taskUrl())
+                        .header("Authorization", bearer())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(update))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+
+        mockMvc.perform(put(taskUrl())
+                        .header("Authorization", bearer())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Lost update"))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(taskUrl()).header("Authorization", bearer()))
+                .andExpect(jsonPath("$.title").value("Renamed"));
+    }
+
+    @Test
+    void statusChangeWithStaleIfMatch_isRejectedWithoutWriting() throws Exception {
+        String eTag = eTagOf(taskUrl());
+        mockMvc.perform(post("/api/v1/teams/tasks/" + seeded.tasks().get(0).getId() + "/comments")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("content", "Changes the ETag"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(patch(taskUrl() + "/status")
+                        .header("Authorization", bearer())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "status", "DONE", "currentUserId", seeded.owner().getId()))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(taskUrl()).header("Authorization", bearer()))
+                .andExpect(jsonPath("$.status").value("OPEN"));
+    }
+
+    @Test
+    void assignWithCurrentIfMatch_succeeds_andNonManagerIsForbidden() throws Exception {
+        String eTag = eTagOf(taskUrl());
+
+        mockMvc.perform(patch(taskUrl() + "/assign")
+                        .header("Authorization", bearer())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "userId", seeded.owner().getId(), "currentUserId", seeded.owner().getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignedToId").value(seeded.owner().getId()));
+
+        mockMvc.perform(patch(taskUrl() + "/assign")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "userId", seeded.member().getId(), "currentUserId", seeded.member().getId()))))
+                .andExpect(status().isForbidden());
+    }
+}
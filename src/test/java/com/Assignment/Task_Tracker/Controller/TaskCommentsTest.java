@@ -0,0 +1,125 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.Assignment.Task_Tracker.Support.QueryBudget.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The keyset-paginated comment timeline: ordering, cursors across comments created in the
+ * same instant, author names, and a constant cost per page however long the thread is.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TaskCommentsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockHttpServletRequestBuilder comments(TestData.SeededTeam seeded, String query) {
+        return get("/api/v1/teams/tasks/" + seeded.tasks().get(0).getId() + "/comments" + query)
+                .header("Authorization", "Bearer " + seeded.ownerToken());
+    }
+
+    private JsonNode page(TestData.SeededTeam seeded, String query) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(comments(seeded, query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    @Test
+    void pagesThroughTheThreadOldestFirst() throws Exception {
+        TestData.SeededTeam seeded = testData.teamWithTasks(1, 7);
+        // Put three comments in the same instant so the cursor has to break ties on id
+        LocalDateTime base = LocalDateTime.now().minusDays(1).withNano(0);
+        List<String> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM comments WHERE task_id = ? ORDER BY content", String.class, seeded.tasks().get(0).getId());
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE comments SET created_at = ? WHERE id = ?",
+                    Timestamp.valueOf(base.plusMinutes(Math.max(i - 2, 0))), ids.get(i));
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = page(seeded, "?limit=3" + (cursor != null ? "&cursor=" + cursor : ""));
+            page.get("items").forEach(item -> {
+                seen.add(item.get("content").asText());
+                assertEquals(seeded.member().getId(), item.get("userId").asText());
+                assertEquals(seeded.member().getUsername(), item.get("username").asText());
+                assertEquals("Test " + seeded.member().getLastName(), item.get("userDisplayName").asText());
+            });
+            cursor = page.has("nextCursor") ? page.get("nextCursor").asText() : null;
+            assertEquals(cursor != null, page.get("hasMore").asBoolean());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        List<String> tied = new ArrayList<>(seen.subList(0, 3));
+        tied.sort(null);
+        assertEquals(List.of("Comment 0", "Comment 1", "Comment 2"), tied);
+        assertEquals(List.of("Comment 3", "Comment 4", "Comment 5", "Comment 6"), seen.subList(3, 7));
+    }
+
+    @Test
+    void deepPagesCostOneQuery() throws Exception {
+        TestData.SeededTeam seeded = testData.teamWithTasks(1, 60);
+        JsonNode first = page(seeded, "?limit=50");
+        assertTrue(first.get("hasMore").asBoolean());
+        String cursor = first.get("nextCursor").asText();
+
+        assertMaxQueries(1, () -> mockMvc.perform(comments(seeded, "?limit=50&cursor=" + cursor))
+                .andExpect(status().isOk()));
+        JsonNode last = page(seeded, "?limit=50&cursor=" + cursor);
+        assertEquals(10, last.get("items").size());
+        assertFalse(last.get("hasMore").asBoolean());
+    }
+
+    @Test
+    void rejectsUnknownTasksAndBadParameters() throws Exception {
+        TestData.SeededTeam seeded = testData.teamWithTasks(1, 0);
+        JsonNode empty = page(seeded, "");
+        assertEquals(0, empty.get("items").size());
+        assertEquals(50, empty.get("limit").asInt());
+
+        mockMvc.perform(get("/api/v1/teams/tasks/" + UUID.randomUUID() + "/comments")
+                        .header("Authorization", "Bearer " + seeded.ownerToken()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(comments(seeded, "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+        mockMvc.perform(comments(seeded, "?limit=0")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,190 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Search.TaskSearchIndex;
+import com.Assignment.Task_Tracker.Search.TaskSearchIndexer;
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.Assignment.Task_Tracker.Support.QueryBudget.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets for the task endpoints. A failure here means a change added queries
+ * per request (usually an N+1); fix the query rather than raising the budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TaskControllerQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskSearchIndexer searchIndexer;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    private TestData.SeededTeam seeded;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(20, 2);
+    }
+
+    private String bearer() {
+        return "Bearer " + seeded.ownerToken();
+    }
+
+    @Test
+    void listTasks_isOneQueryRegardlessOfPageSize() throws Exception {
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/v1/tasks").param("limit", "20")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getTask_isOneQuery() throws Exception {
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/v1/tasks/" + seeded.tasks().get(0).getId())
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk()));
+    }
+
+    /**
+     * Indexes the tasks under a word no other test uses, so the match count is known.
+     */
+    private String indexUnderUniqueWord(List<Task> tasks) {
+        searchIndexer.rebuild();
+        String word = "budget" + UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        tasks.forEach(task -> searchIndex.indexTask(task.getId(), word + " " + task.getTitle(), null));
+        return word;
+    }
+
+    @Test
+    void listTasks_withSearchIsStillOneQuery() throws Exception {
+        String word = indexUnderUniqueWord(seeded.tasks());
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/v1/tasks").param("limit", "20").param("search", word)
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(20)));
+    }
+
+    @Test
+    void listTasks_withSearchPagesThroughEveryMatch() throws Exception {
+        // More matches than fit one IN list (1000), and more than the old candidate cap
+        List<Task> tasks = testData.teamWithTasks(1050, 0).tasks();
+        String word = indexUnderUniqueWord(tasks);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        JsonNode page;
+        do {
+            var request = get("/api/v1/tasks").param("limit", "200").param("status", "OPEN").param("search", word)
+                    .header("Authorization", bearer());
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            // One query per chunk of matches
+            JsonNode[] result = new JsonNode[1];
+            assertMaxQueries(2, () -> result[0] = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()));
+            page = result[0];
+            assertTrue(page.get("truncated") == null);
+            page.get("items").forEach(item -> seen.add(item.get("id").asText()));
+            cursor = page.path("nextCursor").asText(null);
+        } while (page.get("hasMore").asBoolean());
+
+        assertEquals(tasks.size(), seen.size());
+        assertEquals(tasks.stream().map(Task::getId).collect(Collectors.toSet()), Set.copyOf(seen));
+    }
+
+    @Test
+    void searchTasks_isOneQueryForTheWholePage() throws Exception {
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/v1/tasks/search").param("q", "Task").param("limit", "20")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20)));
+    }
+
+    @Test
+    void createTask_staysWithinBudget() throws Exception {
+        Map<String, Object> body = Map.of(
+                "title", "New task",
+                "projectId", seeded.team().getId(),
+                "assignedToId", seeded.member().getId());
+
+        // +2 for the outbox: its INSERT, and the id sequence call made once every 50 events;
+        // +1 for the delta sync change sequence; +1 for the team summary stats upsert
+        assertMaxQueries(8, () -> mockMvc.perform(post("/api/v1/tasks")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void assignTask_staysWithinBudget() throws Exception {
+        Map<String, String> body = Map.of(
+                "userId", seeded.member().getId(),
+                "currentUserId", seeded.owner().getId());
+
+        // +2 for the outbox: its INSERT, and the id sequence call made once every 50 events;
+        // +1 for the delta sync change sequence;
+        // +2 for the team summary stats: reading the task's current cell, and the upsert moving it
+        assertMaxQueries(8, () -> mockMvc.perform(patch("/api/v1/tasks/" + seeded.tasks().get(1).getId() + "/assign")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void updateStatus_staysWithinBudget() throws Exception {
+        Map<String, String> body = Map.of(
+                "status", "IN_PROGRESS",
+                "currentUserId", seeded.owner().getId());
+
+        // +2 for the outbox: its INSERT, and the id sequence call made once every 50 events;
+        // +1 for the delta sync change sequence;
+        // +2 for the team summary stats: reading the task's current cell, and the upsert moving it
+        assertMaxQueries(8, () -> mockMvc.perform(patch("/api/v1/tasks/" + seeded.tasks().get(1).getId() + "/status")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.Assignment.Task_Tracker.Controller;
 
+import com.Assignment.Task_Tracker.DTO.TaskPageResponse;
 import com.Assignment.Task_Tracker.DTO.TaskResponse;
 import com.Assignment.Task_Tracker.Service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,6 +17,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -55,14 +57,18 @@ public class TaskControllerTest {
                 .build();
 
         // Mock service to return TaskResponse list
-        when(taskService.getAllTasks(anyString(), anyString()))
-                .thenReturn(List.of(taskResponse));
+        when(taskService.getAllTasks(any(), any(), any(), any(), any()))
+                .thenReturn(TaskPageResponse.builder()
+                        .items(List.of(taskResponse))
+                        .sort("createdAt")
+                        .limit(50)
+                        .build());
 
         // Perform the request
         mockMvc.perform(get("/api/v1/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value("test-id"))
-                .andExpect(jsonPath("$[0].title").value("Test Task"));
+                .andExpect(jsonPath("$.items[0].id").value("test-id"))
+                .andExpect(jsonPath("$.items[0].title").value("Test Task"));
     }
 
     @Test
@@ -84,13 +90,17 @@ public class TaskControllerTest {
                 .attachmentCount(0)
                 .build();
 
-        when(taskService.getAllTasks(anyString(), anyString()))
-                .thenReturn(List.of(taskResponse));
+        when(taskService.getAllTasks(any(), any(), any(), any(), any()))
+                .thenReturn(TaskPageResponse.builder()
+                        .items(List.of(taskResponse))
+                        .sort("createdAt")
+                        .limit(50)
+                        .build());
 
         mockMvc.perform(get("/api/v1/tasks")
                         .param("status", "IN_PROGRESS"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].status").value("IN_PROGRESS"));
+                .andExpect(jsonPath("$.items[0].status").value("IN_PROGRESS"));
     }
 
     @Test
@@ -112,13 +122,17 @@ public class TaskControllerTest {
                 .attachmentCount(0)
                 .build();
 
-        when(taskService.getAllTasks(anyString(), anyString()))
-                .thenReturn(List.of(taskResponse));
+        when(taskService.getAllTasks(any(), any(), any(), any(), any()))
+                .thenReturn(TaskPageResponse.builder()
+                        .items(List.of(taskResponse))
+                        .sort("createdAt")
+                        .limit(50)
+                        .build());
 
         mockMvc.perform(get("/api/v1/tasks")
                         .param("search", "Searchable"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].title").value("Searchable Task"));
+                .andExpect(jsonPath("$.items[0].title").value("Searchable Task"));
     }
 
     @Test
@@ -0,0 +1,289 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Service.TaskChangeSequence;
+import com.Assignment.Task_Tracker.Service.TaskSyncToken;
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.Assignment.Task_Tracker.Support.QueryBudget.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The task delta feed: changes and deletions since a token, paging, token expiry, and that a
+ * transaction still open when a client syncs, on this node or another, is not skipped once it
+ * commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TaskSyncTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskChangeSequence changeSequence;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData.SeededTeam seeded;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(5, 0);
+    }
+
+    private JsonNode sync(String since, Integer limit) throws Exception {
+        return sync(seeded.team().getId(), since, limit);
+    }
+
+    private JsonNode sync(String teamId, String since, Integer limit) throws Exception {
+        var request = get("/api/v1/tasks/changes")
+                .header("Authorization", "Bearer " + seeded.ownerToken());
+        if (teamId != null) {
+            request.param("teamId", teamId);
+        }
+        if (since != null) {
+            request.param("since", since);
+        }
+        if (limit != null) {
+            request.param("limit", limit.toString());
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> ids(JsonNode page, String list, String field) {
+        List<String> ids = new ArrayList<>();
+        page.get(list).forEach(node -> ids.add(node.get(field).asText()));
+        return ids;
+    }
+
+    private JsonNode syncToEnd(String since, Set<String> changed, Set<String> deleted) throws Exception {
+        JsonNode page;
+        do {
+            page = sync(since, null);
+            changed.addAll(ids(page, "changed", "id"));
+            deleted.addAll(ids(page, "deleted", "taskId"));
+            since = page.get("nextToken").asText();
+        } while (page.get("hasMore").asBoolean());
+        return page;
+    }
+
+    @Test
+    void returnsOnlyChangesAndDeletionsSinceTheToken() throws Exception {
+        JsonNode initial = syncToEnd(null, new HashSet<>(), new HashSet<>());
+        String token = initial.get("nextToken").asText();
+
+        String changedId = seeded.tasks().get(1).getId();
+        String deletedId = seeded.tasks().get(2).getId();
+        mockMvc.perform(patch("/api/v1/tasks/" + changedId + "/status")
+                        .header("Authorization", "Bearer " + seeded.ownerToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "status", "DONE", "currentUserId", seeded.owner().getId()))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/tasks/" + deletedId)
+                        .header("Authorization", "Bearer " + seeded.ownerToken()))
+                .andExpect(status().isOk());
+
+        JsonNode delta = sync(token, null);
+        assertEquals(List.of(changedId), ids(delta, "changed", "id"));
+        assertEquals("DONE", delta.get("changed").get(0).get("status").asText());
+        assertEquals(List.of(deletedId), ids(delta, "deleted", "taskId"));
+        assertFalse(delta.get("hasMore").asBoolean());
+
+        // Caught up: the next sync is empty and costs the visible bound plus one range scan per table
+        String caughtUp = delta.get("nextToken").asText();
+        assertMaxQueries(3, () -> {
+            JsonNode empty = sync(caughtUp, null);
+            assertTrue(empty.get("changed").isEmpty());
+            assertTrue(empty.get("deleted").isEmpty());
+        });
+    }
+
+    @Test
+    void pagesThroughLargeDeltasWithoutGapsOrRepeats() throws Exception {
+        List<String> seen = new ArrayList<>();
+        String since = null;
+        JsonNode page;
+        do {
+            page = sync(since, 2);
+            assertTrue(page.get("changed").size() <= 2);
+            seen.addAll(ids(page, "changed", "id"));
+            since = page.get("nextToken").asText();
+        } while (page.get("hasMore").asBoolean());
+
+        assertEquals(5, seen.size());
+        assertEquals(seeded.tasks().stream().map(Task::getId).sorted().toList(), seen.stream().sorted().toList());
+    }
+
+    @Test
+    void waitsForTransactionsThatAreStillOpen() throws Exception {
+        String token = syncToEnd(null, new HashSet<>(), new HashSet<>()).get("nextToken").asText();
+        String slowId = seeded.tasks().get(3).getId();
+        String fastId = seeded.tasks().get(4).getId();
+
+        // The slow writer takes its sequence value first but commits last
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.adjustCommentCount(slowId, 0, changeSequence.current());
+            allocated.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(allocated.await(5, TimeUnit.SECONDS));
+        transactionTemplate.executeWithoutResult(status ->
+                taskRepository.adjustCommentCount(fastId, 0, changeSequence.current()));
+
+        JsonNode whileOpen = sync(token, null);
+        assertTrue(whileOpen.get("changed").isEmpty());
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+
+        Set<String> changed = new HashSet<>();
+        syncToEnd(whileOpen.get("nextToken").asText(), changed, new HashSet<>());
+        assertEquals(Set.of(slowId, fastId), changed);
+    }
+
+    @Test
+    void waitsForTransactionsStillOpenOnOtherNodes() throws Exception {
+        String token = syncToEnd(null, new HashSet<>(), new HashSet<>()).get("nextToken").asText();
+        String slowId = seeded.tasks().get(3).getId();
+        String fastId = seeded.tasks().get(4).getId();
+
+        // Another node has taken a value it has not committed yet, and says so in its heartbeat
+        long slowSeq = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_change_seq", Long.class);
+        jdbcTemplate.update("INSERT INTO task_change_nodes (node_id, safe_up_to, heartbeat_at) VALUES (?, ?, ?)",
+                OTHER_NODE, slowSeq - 1, Timestamp.valueOf(LocalDateTime.now()));
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    taskRepository.adjustCommentCount(fastId, 0, changeSequence.current()));
+
+            JsonNode whileOpen = sync(token, null);
+            assertTrue(whileOpen.get("changed").isEmpty());
+
+            jdbcTemplate.update("UPDATE tasks SET change_seq = ? WHERE id = ?", slowSeq, slowId);
+            jdbcTemplate.update("UPDATE task_change_nodes SET safe_up_to = ? WHERE node_id = ?", Long.MAX_VALUE, OTHER_NODE);
+
+            Set<String> changed = new HashSet<>();
+            syncToEnd(whileOpen.get("nextToken").asText(), changed, new HashSet<>());
+            assertEquals(Set.of(slowId, fastId), changed);
+        } finally {
+            jdbcTemplate.update("DELETE FROM task_change_nodes WHERE node_id = ?", OTHER_NODE);
+        }
+    }
+
+    @Test
+    void joiningATeamInvalidatesTheUnfilteredToken() throws Exception {
+        TestData.SeededTeam other = testData.teamWithTasks(2, 0);
+        String token = sync(null, null, null).get("nextToken").asText();
+
+        mockMvc.perform(post("/api/v1/teams/" + other.team().getId() + "/members")
+                        .header("Authorization", "Bearer " + other.ownerToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", seeded.owner().getId()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/tasks/changes").param("since", token)
+                        .header("Authorization", "Bearer " + seeded.ownerToken()))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void withoutATeamTheFeedCoversOnlyTheCallersTeams() throws Exception {
+        TestData.SeededTeam other = testData.teamWithTasks(2, 0);
+
+        JsonNode initial = sync(null, null, null);
+        assertFalse(initial.get("hasMore").asBoolean());
+        assertEquals(seeded.tasks().stream().map(Task::getId).sorted().toList(),
+                ids(initial, "changed", "id").stream().sorted().toList());
+
+        String ownDeleted = seeded.tasks().get(0).getId();
+        for (TestData.SeededTeam team : List.of(seeded, other)) {
+            mockMvc.perform(patch("/api/v1/tasks/" + team.tasks().get(1).getId() + "/status")
+                            .header("Authorization", "Bearer " + team.ownerToken())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of(
+                                    "status", "DONE", "currentUserId", team.owner().getId()))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/api/v1/tasks/" + team.tasks().get(0).getId())
+                            .header("Authorization", "Bearer " + team.ownerToken()))
+                    .andExpect(status().isOk());
+        }
+
+        JsonNode delta = sync(null, initial.get("nextToken").asText(), null);
+        assertEquals(List.of(seeded.tasks().get(1).getId()), ids(delta, "changed", "id"));
+        assertEquals(List.of(ownDeleted), ids(delta, "deleted", "taskId"));
+    }
+
+    @Test
+    void expiredTokensAreGoneAndMalformedOnesRejected() throws Exception {
+        String expired = new TaskSyncToken(1, "", Instant.now().minus(Duration.ofDays(365)), "").encode();
+        mockMvc.perform(get("/api/v1/tasks/changes").param("since", expired)
+                        .header("Authorization", "Bearer " + seeded.ownerToken()))
+                .andExpect(status().isGone());
+
+        mockMvc.perform(get("/api/v1/tasks/changes").param("since", "not-a-token")
+                        .header("Authorization", "Bearer " + seeded.ownerToken()))
+                .andExpect(status().isBadRequest());
+    }
+}
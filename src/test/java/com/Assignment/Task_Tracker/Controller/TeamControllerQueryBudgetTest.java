@@ -0,0 +1,76 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static com.Assignment.Task_Tracker.Support.QueryBudget.assertMaxQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets for the team and comment endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TeamControllerQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    private TestData.SeededTeam seeded;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(20, 2);
+    }
+
+    private String bearer() {
+        return "Bearer " + seeded.ownerToken();
+    }
+
+    @Test
+    void teamTasks_doesNotGrowWithTaskCount() throws Exception {
+        assertMaxQueries(3, () -> mockMvc.perform(get("/api/v1/teams/" + seeded.team().getId() + "/tasks")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void addComment_staysWithinBudget() throws Exception {
+        // +2 for the outbox: its INSERT, and the id sequence call made once every 50 events;
+        // +1 for the delta sync change sequence
+        assertMaxQueries(7, () -> mockMvc.perform(post("/api/v1/teams/tasks/" + seeded.tasks().get(0).getId() + "/comments")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("content", "Looks good"))))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void taskComments_isOneQueryWithAuthors() throws Exception {
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/v1/teams/tasks/" + seeded.tasks().get(0).getId() + "/comments")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk()));
+    }
+}
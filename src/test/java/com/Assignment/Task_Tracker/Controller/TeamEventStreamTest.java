@@ -0,0 +1,106 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The per-team Server-Sent Events stream, end to end: committed writes show up on the stream
+ * and only team members may open it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TeamEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    private TestData.SeededTeam seeded;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(2, 0);
+    }
+
+    private String eventsUrl() {
+        return "/api/v1/teams/" + seeded.team().getId() + "/events";
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!response.getContentAsString().contains(expected)) {
+            if (System.nanoTime() > deadline) {
+                fail("Stream did not contain " + expected + ": " + response.getContentAsString());
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void committedChangesArePushedToTheTeamStream() throws Exception {
+        MvcResult stream = mockMvc.perform(get(eventsUrl())
+                        .header("Authorization", "Bearer " + seeded.ownerToken())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+        awaitContent(response, ":connected");
+
+        String taskId = seeded.tasks().get(0).getId();
+        mockMvc.perform(patch("/api/v1/tasks/" + taskId + "/status")
+                        .header("Authorization", "Bearer " + seeded.ownerToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "status", "DONE", "currentUserId", seeded.owner().getId()))))
+                .andExpect(status().isOk());
+        awaitContent(response, "event:STATUS_CHANGED");
+        assertTrue(response.getContentAsString().contains("\"taskId\":\"" + taskId + "\""));
+
+        mockMvc.perform(post("/api/v1/teams/tasks/" + taskId + "/comments")
+                        .header("Authorization", "Bearer " + seeded.ownerToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("content", "Pushed"))))
+                .andExpect(status().isCreated());
+        awaitContent(response, "event:COMMENT_ADDED");
+    }
+
+    @Test
+    void nonMembersAreForbidden() throws Exception {
+        TestData.SeededTeam other = testData.teamWithTasks(0, 0);
+
+        mockMvc.perform(get(eventsUrl())
+                        .header("Authorization", "Bearer " + other.ownerToken())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,226 @@
+package com.Assignment.Task_Tracker.Controller;
+
+import com.Assignment.Task_Tracker.DTO.UpdateTaskRequest;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.TeamTaskStat;
+import com.Assignment.Task_Tracker.Repository.TeamTaskStatRepository;
+import com.Assignment.Task_Tracker.Service.TaskService;
+import com.Assignment.Task_Tracker.Service.TeamTaskStats;
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.Assignment.Task_Tracker.Support.QueryBudget.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The team summary: kept in step with every write path by delta upserts, including concurrent
+ * ones on the same team, read in one query, and repaired by reconciliation when the stats
+ * drift from the tasks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TeamSummaryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TeamTaskStats teamStats;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TeamTaskStatRepository statRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData.SeededTeam seeded;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(6, 0);
+    }
+
+    private String bearer() {
+        return "Bearer " + seeded.ownerToken();
+    }
+
+    private JsonNode summary() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/teams/" + seeded.team().getId() + "/summary")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void send(MockHttpServletRequestBuilder request,
+                      Object body) throws Exception {
+        mockMvc.perform(request.header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    /**
+     * The summary as a recount of the tasks table would produce it.
+     */
+    private void assertMatchesRecount() {
+        String teamId = seeded.team().getId();
+        Map<String, Long> stored = transactionTemplate.execute(status -> cells(statRepository.findByTeamIdIn(List.of(teamId))));
+        Map<String, Long> actual = transactionTemplate.execute(status -> cells(statRepository.countByTeamIdIn(List.of(teamId))));
+        assertEquals(actual, stored);
+    }
+
+    private static Map<String, Long> cells(List<TeamTaskStat> stats) {
+        return stats.stream()
+                .filter(stat -> stat.getTaskCount() != 0)
+                .collect(Collectors.toMap(
+                        stat -> stat.getStatus() + "/" + stat.getPriority() + "/" + stat.getAssigneeId(),
+                        TeamTaskStat::getTaskCount));
+    }
+
+    @Test
+    void summaryFollowsEveryWritePath() throws Exception {
+        JsonNode initial = summary();
+        assertEquals(6, initial.get("total").asLong());
+        assertEquals(6, initial.get("byStatus").get("OPEN").asLong());
+        assertEquals(0, initial.get("byStatus").get("DONE").asLong());
+        assertEquals(6, initial.get("byPriority").get("MEDIUM").get("OPEN").asLong());
+
+        List<Task> tasks = seeded.tasks();
+        String owner = seeded.owner().getId();
+        String member = seeded.member().getId();
+
+        send(post("/api/v1/tasks"), Map.of("title", "Unassigned", "projectId", seeded.team().getId(), "priority", "HIGH"));
+        send(patch("/api/v1/tasks/" + tasks.get(0).getId() + "/status"), Map.of("status", "DONE", "currentUserId", owner));
+        send(patch("/api/v1/tasks/" + tasks.get(1).getId() + "/assign"), Map.of("userId", member, "currentUserId", owner));
+        send(put("/api/v1/tasks/" + tasks.get(2).getId()), Map.of("status", "IN_PROGRESS"));
+        mockMvc.perform(delete("/api/v1/tasks/" + tasks.get(3).getId()).header("Authorization", bearer()))
+                .andExpect(status().isOk());
+        send(post("/api/v1/tasks/bulk"), Map.of("taskIds", List.of(tasks.get(4).getId(), tasks.get(5).getId()),
+                "action", "PRIORITY", "value", "LOW"));
+        send(post("/api/v1/tasks/bulk"), Map.of("taskIds", List.of(tasks.get(5).getId()), "action", "UNASSIGN"));
+        assertMatchesRecount();
+
+        JsonNode after = summary();
+        assertEquals(6, after.get("total").asLong());
+        assertEquals(4, after.get("byStatus").get("OPEN").asLong());
+        assertEquals(1, after.get("byStatus").get("IN_PROGRESS").asLong());
+        assertEquals(1, after.get("byStatus").get("DONE").asLong());
+        assertEquals(1, after.get("byPriority").get("HIGH").get("OPEN").asLong());
+        assertEquals(2, after.get("byPriority").get("LOW").get("OPEN").asLong());
+
+        long unassigned = 0;
+        for (JsonNode assignee : after.get("byAssignee")) {
+            if (assignee.get("assigneeId").isNull()) {
+                unassigned = assignee.get("total").asLong();
+            } else if (assignee.get("assigneeId").asText().equals(member)) {
+                // tasks 0, 2 and 4 were seeded to the member, and task 1 was assigned to them
+                assertEquals(4, assignee.get("total").asLong());
+                assertEquals(1, assignee.get("byStatus").get("DONE").asLong());
+            }
+        }
+        assertEquals(2, unassigned);
+    }
+
+    @Test
+    void concurrentUpdateAndAssignOnOneTeamBothCommit() throws Exception {
+        String updated = seeded.tasks().get(0).getId();
+        String assigned = seeded.tasks().get(1).getId();
+        String owner = seeded.owner().getId();
+        String member = seeded.member().getId();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                String status = round % 2 == 0 ? "IN_PROGRESS" : "OPEN";
+                String assignee = round % 2 == 0 ? member : owner;
+                CyclicBarrier start = new CyclicBarrier(2);
+                UpdateTaskRequest request = new UpdateTaskRequest();
+                request.setStatus(status);
+                Future<?> update = executor.submit(() -> {
+                    start.await();
+                    return taskService.updateTask(updated, request, null);
+                });
+                Future<?> assign = executor.submit(() -> {
+                    start.await();
+                    return taskService.assignTask(assigned, assignee, owner, null);
+                });
+                update.get(30, TimeUnit.SECONDS);
+                assign.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertMatchesRecount();
+    }
+
+    @Test
+    void summaryIsOneQuery() throws Exception {
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/v1/teams/" + seeded.team().getId() + "/summary")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void unknownTeamIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/teams/no-such-team/summary").header("Authorization", bearer()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reconciliationRepairsDriftedCells() throws Exception {
+        String teamId = seeded.team().getId();
+        jdbcTemplate.update("UPDATE team_task_stats SET task_count = task_count + 5 WHERE team_id = ?", teamId);
+        jdbcTemplate.update("INSERT INTO team_task_stats (team_id, status, priority, assignee_id, task_count) " +
+                "VALUES (?, 'DONE', 'LOW', '', 3)", teamId);
+
+        assertTrue(teamStats.reconcile() >= 2);
+        assertMatchesRecount();
+        assertEquals(6, summary().get("total").asLong());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM team_task_stats WHERE team_id = ? AND task_count = 0", Integer.class, teamId));
+    }
+}
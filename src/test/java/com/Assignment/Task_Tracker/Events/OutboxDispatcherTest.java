@@ -0,0 +1,164 @@
+package com.Assignment.Task_Tracker.Events;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.Entity.OutboxEvent;
+import com.Assignment.Task_Tracker.Repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Outbox writes and dispatch against a real database. The background worker is disabled so
+ * each test drives {@link OutboxDispatcher#drain()} itself.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(OutboxDispatcherTest.RecordingListener.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.outbox.enabled=false",
+        "app.outbox.max-attempts=3",
+        "app.outbox.backoff-initial-ms=0",
+        "app.outbox.retention-hours=0"
+})
+public class OutboxDispatcherTest {
+
+    static final String POISON = "poison";
+
+    @TestComponent
+    static class RecordingListener {
+        final List<TaskChangeEvent> received = new CopyOnWriteArrayList<>();
+        final List<TaskChangeEvent> broadcast = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void on(TaskChangeEvent event) {
+            if (POISON.equals(event.getTaskId())) {
+                throw new IllegalStateException("Listener rejected " + event.getTaskId());
+            }
+            received.add(event);
+        }
+
+        @EventListener
+        public void on(TaskChangeBroadcast broadcast) {
+            this.broadcast.add(broadcast.event());
+        }
+    }
+
+    @Autowired
+    private EventOutbox outbox;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        listener.received.clear();
+        listener.broadcast.clear();
+    }
+
+    private void recordInTransaction(String taskId) {
+        transactionTemplate.executeWithoutResult(status -> outbox.record(
+                TaskChangeEvent.withoutBody(TaskChangeEvent.Type.STATUS_CHANGED, "team-1", taskId)));
+    }
+
+    private OutboxEvent onlyEvent() {
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        return events.get(0);
+    }
+
+    @Test
+    void recordedEventIsDeliveredOnceAndMarkedDispatched() {
+        recordInTransaction("task-1");
+        recordInTransaction("task-2");
+
+        assertEquals(2, dispatcher.drain());
+        assertEquals(0, dispatcher.drain());
+
+        assertEquals(List.of("task-1", "task-2"),
+                listener.received.stream().map(TaskChangeEvent::getTaskId).toList());
+        assertTrue(outboxEventRepository.findAll().stream()
+                .allMatch(event -> event.getStatus() == OutboxEvent.Status.DISPATCHED && event.getDispatchedAt() != null));
+    }
+
+    @Test
+    void eventsAreOnlyWrittenInsideTheCallersTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.record(TaskChangeEvent.withoutBody(TaskChangeEvent.Type.CREATED, "team-1", "rolled-back"));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, outboxEventRepository.count());
+
+        assertThrows(IllegalTransactionStateException.class, () -> outbox.record(
+                TaskChangeEvent.withoutBody(TaskChangeEvent.Type.CREATED, "team-1", "no-transaction")));
+    }
+
+    @Test
+    void failingEventIsRetriedThenParked() {
+        recordInTransaction(POISON);
+
+        dispatcher.drain();
+        OutboxEvent afterFirst = onlyEvent();
+        assertEquals(OutboxEvent.Status.PENDING, afterFirst.getStatus());
+        assertEquals(1, afterFirst.getAttempts());
+        assertTrue(afterFirst.getLastError().contains("Listener rejected"));
+
+        dispatcher.drain();
+        dispatcher.drain();
+        OutboxEvent parked = onlyEvent();
+        assertEquals(OutboxEvent.Status.FAILED, parked.getStatus());
+        assertEquals(3, parked.getAttempts());
+
+        assertEquals(0, dispatcher.drain());
+        assertTrue(listener.received.isEmpty());
+    }
+
+    @Test
+    void everyRecentEventIsBroadcastOnceWhateverItsDeliveryStatus() {
+        recordInTransaction("task-1");
+        // Claimed and delivered already, possibly by another node
+        dispatcher.drain();
+        recordInTransaction(POISON);
+
+        assertEquals(2, dispatcher.follow());
+        assertEquals(0, dispatcher.follow());
+
+        assertEquals(List.of("task-1", POISON),
+                listener.broadcast.stream().map(TaskChangeEvent::getTaskId).toList());
+    }
+
+    @Test
+    void cleanupRemovesDispatchedEventsPastRetention() {
+        recordInTransaction("task-1");
+        dispatcher.drain();
+
+        dispatcher.cleanup();
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+}
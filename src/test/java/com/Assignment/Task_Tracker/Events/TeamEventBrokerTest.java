@@ -0,0 +1,228 @@
+package com.Assignment.Task_Tracker.Events;
+
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.Service.TeamMembershipIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.when;
+
+public class TeamEventBrokerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private TeamEventBroker broker;
+
+    /** Records every frame as the text that would go on the wire. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            frames.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> eventNames() {
+            return frames.stream()
+                    .filter(frame -> frame.contains("event:"))
+                    .map(frame -> frame.substring(frame.indexOf("event:") + 6, frame.indexOf('\n', frame.indexOf("event:"))))
+                    .collect(Collectors.toList());
+        }
+
+        String lastId() {
+            String last = null;
+            for (String frame : frames) {
+                int start = frame.indexOf("id:");
+                if (start >= 0) {
+                    last = frame.substring(start + 3, frame.indexOf('\n', start));
+                }
+            }
+            return last;
+        }
+    }
+
+    /** Never finishes a send until released, like a client that stopped reading. */
+    private static class StuckEmitter extends SseEmitter {
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private TeamEventBroker broker(TeamMembershipIndex membershipIndex, int replaySize, int queueCapacity) {
+        broker = new TeamEventBroker(membershipIndex, new ObjectMapper().findAndRegisterModules(),
+                replaySize, 60_000, queueCapacity, 60_000, clock);
+        return broker;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (broker != null) {
+            broker.shutdown();
+        }
+    }
+
+    private static TaskChangeEvent change(String teamId, String taskId) {
+        return TaskChangeEvent.withoutBody(TaskChangeEvent.Type.STATUS_CHANGED, teamId, taskId);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void deliversChangesToSubscribersOfTheTeamOnly() throws Exception {
+        TeamEventBroker broker = broker(null, 16, 16);
+        RecordingEmitter team1 = new RecordingEmitter();
+        RecordingEmitter team2 = new RecordingEmitter();
+        broker.attach("t1", null, team1);
+        broker.attach("t2", null, team2);
+
+        broker.onTaskChange(change("t1", "task-1"));
+
+        await(() -> team1.eventNames().size() == 1);
+        assertEquals(List.of("STATUS_CHANGED"), team1.eventNames());
+        assertTrue(team1.frames.get(team1.frames.size() - 1).contains("\"taskId\":\"task-1\""));
+        assertTrue(team1.frames.get(0).contains("connected"));
+        Thread.sleep(50);
+        assertTrue(team2.eventNames().isEmpty());
+    }
+
+    @Test
+    void reconnectWithLastEventId_replaysOnlyMissedEvents() throws Exception {
+        TeamEventBroker broker = broker(null, 16, 16);
+        RecordingEmitter first = new RecordingEmitter();
+        broker.attach("t1", null, first);
+        broker.onTaskChange(change("t1", "task-1"));
+        await(() -> first.eventNames().size() == 1);
+        String lastSeen = first.lastId();
+
+        broker.onTaskChange(change("t1", "task-2"));
+        broker.onTaskChange(change("t1", "task-3"));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        broker.attach("t1", lastSeen, resumed);
+        await(() -> resumed.eventNames().size() == 2);
+        assertTrue(resumed.frames.get(1).contains("task-2"));
+        assertTrue(resumed.frames.get(2).contains("task-3"));
+    }
+
+    @Test
+    void unknownOrExpiredLastEventId_getsReset() throws Exception {
+        TeamEventBroker broker = broker(null, 16, 16);
+        RecordingEmitter foreign = new RecordingEmitter();
+        broker.attach("t1", "previous-run-42", foreign);
+        await(() -> foreign.eventNames().equals(List.of(TeamEventBroker.RESET_EVENT)));
+
+        RecordingEmitter first = new RecordingEmitter();
+        broker.attach("t1", null, first);
+        broker.onTaskChange(change("t1", "task-1"));
+        await(() -> first.eventNames().size() == 1);
+        String beforeExpiry = first.lastId();
+        broker.onTaskChange(change("t1", "task-2"));
+
+        clock.advanceMillis(120_000);
+        broker.heartbeat();
+
+        RecordingEmitter late = new RecordingEmitter();
+        broker.attach("t1", beforeExpiry, late);
+        await(() -> late.eventNames().equals(List.of(TeamEventBroker.RESET_EVENT)));
+    }
+
+    @Test
+    void subscriberThatStopsReading_isEvicted() throws Exception {
+        TeamEventBroker broker = broker(null, 2, 4);
+        StuckEmitter stuck = new StuckEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        broker.attach("t1", null, stuck);
+        broker.attach("t1", null, healthy);
+
+        for (int i = 0; i < 10; i++) {
+            broker.onTaskChange(change("t1", "task-" + i));
+            int delivered = i + 1;
+            await(() -> healthy.eventNames().size() == delivered);
+        }
+
+        await(() -> stuck.completed);
+        assertEquals(1, broker.evictionCount());
+        assertEquals(1, broker.subscriberCount());
+        stuck.release.countDown();
+    }
+
+    @Test
+    void nonMembersCannotSubscribe() {
+        TeamMembershipIndex membershipIndex = Mockito.mock(TeamMembershipIndex.class);
+        when(membershipIndex.isMember("t1", "outsider")).thenReturn(false);
+        TeamEventBroker broker = broker(membershipIndex, 16, 16);
+
+        assertThrows(SecurityException.class, () -> broker.subscribe("t1", "outsider", null));
+        assertEquals(0, broker.subscriberCount());
+        assertFalse(broker.evictionCount() > 0);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceMillis(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SecondLevelCacheConfigTest {
+
+    private static final String PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Test
+    void regionsAreBoundedAndRecordStatistics() throws Exception {
+        CachingProvider provider = Caching.getCachingProvider(PROVIDER);
+        // Resolved the way Hibernate resolves hibernate.javax.cache.uri: a plain resource name
+        URI uri = getClass().getClassLoader().getResource("hibernate-cache.conf").toURI();
+        try (CacheManager manager = provider.getCacheManager(uri, getClass().getClassLoader())) {
+            for (String region : new String[] {"users", "teams", "team-members"}) {
+                Cache<Object, Object> cache = manager.getCache(region);
+                @SuppressWarnings("unchecked")
+                CaffeineConfiguration<Object, Object> config = cache.getConfiguration(CaffeineConfiguration.class);
+
+                assertTrue(config.isStatisticsEnabled(), region);
+                assertTrue(config.getMaximumSize().isPresent(), region);
+                assertTrue(config.getExpireAfterWrite().isPresent(), region);
+                if (region.equals("users")) {
+                    assertEquals(OptionalLong.of(20000), config.getMaximumSize());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.Assignment.Task_Tracker.Repository;
+
+import com.Assignment.Task_Tracker.Entity.Team;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application with the second-level cache settings from application.properties,
+ * on an in-memory database, so a cache configuration Hibernate cannot load fails here
+ * rather than at deployment.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.search.rebuild-on-startup=false",
+        "app.counters.reconcile-on-startup=false"
+})
+public class SecondLevelCacheContextTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void contextStartsWithCachedRegions() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        assertNotNull(sessionFactory.getCache().getRegion("users"));
+        assertNotNull(sessionFactory.getCache().getRegion("teams"));
+        assertNotNull(sessionFactory.getCache().getRegion("team-members"));
+        assertTrue(sessionFactory.getMappingMetamodel().getEntityDescriptor(Team.class).canReadFromCache());
+    }
+}
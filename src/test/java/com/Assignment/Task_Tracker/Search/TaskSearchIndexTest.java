@@ -0,0 +1,68 @@
+package com.Assignment.Task_Tracker.Search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        index.indexTask("t1", "Database migration", "Move the billing tables");
+        index.indexTask("t2", "Fix login page", "Migration of the database caused a login loop");
+        index.indexTask("t3", "Update docs", "Nothing to see here");
+    }
+
+    private List<String> ids(String query) {
+        return index.search(query, 10).stream().map(SearchHit::taskId).toList();
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        assertEquals(List.of("t1", "t2"), ids("database migration"));
+    }
+
+    @Test
+    void matchesPrefixesAndMisspellings() {
+        assertEquals(List.of("t1", "t2"), ids("migra"));
+        assertTrue(ids("databse").contains("t1"));
+    }
+
+    @Test
+    void commentsAreSearchableAndRemovable() {
+        index.indexComment("t3", "c1", "Customer reported a regression");
+        assertEquals(List.of("t3"), ids("regression"));
+
+        index.removeComment("t3", "c1");
+        assertTrue(ids("regression").isEmpty());
+    }
+
+    @Test
+    void updatesReplaceOldTermsAndRemovalDropsTask() {
+        index.indexTask("t3", "Rewrite onboarding", null);
+        assertTrue(ids("docs").isEmpty());
+        assertEquals(List.of("t3"), ids("onboarding"));
+
+        index.removeTask("t3");
+        assertTrue(ids("onboarding").isEmpty());
+    }
+
+    @Test
+    void changesDuringRebuildAreReplayed() {
+        TaskSearchIndex.IndexState rebuilt = index.beginRebuild();
+        rebuilt.putTask("t1", TaskSearchIndex.taskTerms("Database migration", null));
+        index.indexTask("t4", "Quarterly report", null);
+        index.completeRebuild(rebuilt);
+
+        assertTrue(index.isReady());
+        assertEquals(List.of("t4"), ids("quarterly"));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.Assignment.Task_Tracker.Search;
+
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes made on another node reach this node's index through the change-sequence resync.
+ * They are simulated with plain SQL, which the local entity listener never sees.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TaskSearchResyncTest {
+
+    @Autowired
+    private TaskSearchIndexer indexer;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long nextChangeSeq() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_change_seq", Long.class);
+    }
+
+    private List<String> search(String query) {
+        return searchIndex.search(query, 10).stream().map(SearchHit::taskId).toList();
+    }
+
+    @Test
+    void picksUpWritesCommittedElsewhere() {
+        TestData.SeededTeam seeded = testData.teamWithTasks(2, 0);
+        String edited = seeded.tasks().get(0).getId();
+        String deleted = seeded.tasks().get(1).getId();
+        String word = "zephyr" + UUID.randomUUID().toString().substring(0, 8).replace("-", "");
+        indexer.rebuild();
+        assertTrue(search(word).isEmpty());
+
+        jdbcTemplate.update("UPDATE tasks SET title = ?, change_seq = ? WHERE id = ?",
+                "Renamed " + word, nextChangeSeq(), edited);
+        jdbcTemplate.update("INSERT INTO comments (id, content, task_id, user_id, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", UUID.randomUUID().toString(), "remote comment " + word + "note",
+                edited, seeded.member().getId(), Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update("UPDATE tasks SET change_seq = ? WHERE id = ?", nextChangeSeq(), edited);
+        jdbcTemplate.update("INSERT INTO task_tombstones (task_id, team_id, change_seq, deleted_at) VALUES (?, ?, ?, ?)",
+                deleted, seeded.team().getId(), nextChangeSeq(), Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", deleted);
+
+        assertTrue(indexer.resync(Instant.now()) >= 2);
+        assertEquals(List.of(edited), search(word));
+        assertEquals(List.of(edited), search(word + "note"));
+        assertTrue(search("Task 1").stream().noneMatch(deleted::equals));
+
+        // A later poll still covers the lookback window, which re-applies the same changes
+        indexer.resync(Instant.now());
+        assertEquals(List.of(edited), search(word));
+    }
+}
@@ -0,0 +1,70 @@
+package com.Assignment.Task_Tracker.Security;
+
+import com.Assignment.Task_Tracker.Exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordHashingExecutorTest {
+
+    /** Encoder whose work blocks until released, so the pool can be saturated on demand. */
+    private static final class BlockingEncoder implements PasswordEncoder {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    }
+
+    @Test
+    void delegatesToEncoder() {
+        PasswordHashingExecutor hasher = new PasswordHashingExecutor(new BlockingEncoder(), 1, 4);
+
+        assertTrue(hasher.matches("secret", "hash:secret"));
+        assertFalse(hasher.matches("secret", "hash:other"));
+        hasher.shutdown();
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenQueueIsFull() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        PasswordHashingExecutor hasher = new PasswordHashingExecutor(encoder, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        while (hasher.queueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> hasher.encode("c"));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1, hasher.rejectedCount());
+
+        encoder.release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+        hasher.shutdown();
+    }
+}
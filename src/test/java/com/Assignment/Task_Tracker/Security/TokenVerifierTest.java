@@ -0,0 +1,106 @@
+package com.Assignment.Task_Tracker.Security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenVerifierTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60_000L);
+    }
+
+    private TokenVerifier verifierAt(Instant now, int maxEntries) {
+        return new TokenVerifier(jwtUtil, maxEntries, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void repeatTokenIsServedFromCache() {
+        TokenVerifier verifier = verifierAt(Instant.now(), 10);
+        String token = jwtUtil.generateToken("u1");
+
+        assertEquals("u1", verifier.verify(token).orElseThrow().userId());
+        assertEquals("u1", verifier.verify(token).orElseThrow().userId());
+
+        assertEquals(1, verifier.missCount());
+        assertEquals(1, verifier.hitCount());
+    }
+
+    @Test
+    void rejectsTamperedAndForeignTokens() {
+        TokenVerifier verifier = verifierAt(Instant.now(), 10);
+        String token = jwtUtil.generateToken("u1");
+        String foreign = new JwtUtil("another-secret-key-that-is-also-32-bytes", 60_000L).generateToken("u1");
+
+        assertTrue(verifier.verify(token.substring(0, token.length() - 2) + "xx").isEmpty());
+        assertTrue(verifier.verify(foreign).isEmpty());
+        assertTrue(verifier.verify("not-a-jwt").isEmpty());
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void cachedTokenStopsWorkingOnceExpired() {
+        MutableClock clock = new MutableClock(Instant.now());
+        TokenVerifier verifier = new TokenVerifier(jwtUtil, 10, clock);
+        String token = jwtUtil.generateToken("u1");
+        assertTrue(verifier.verify(token).isPresent());
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertFalse(verifier.verify(token).isPresent());
+        assertEquals(1, verifier.evictionCount());
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void evictsWhenFull() {
+        TokenVerifier verifier = verifierAt(Instant.now(), 2);
+        verifier.verify(jwtUtil.generateToken("u1"));
+        verifier.verify(jwtUtil.generateToken("u2"));
+        verifier.verify(jwtUtil.generateToken("u3"));
+
+        assertTrue(verifier.size() <= 2);
+        assertTrue(verifier.evictionCount() >= 1);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Entity.OutboxEvent;
+import com.Assignment.Task_Tracker.Repository.OutboxEventRepository;
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reminder and overdue events against a real database. The background worker is disabled,
+ * so each test drives {@link DueDateScheduler#refill} and {@link DueDateScheduler#fireDue}
+ * with its own clock.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class DueDateSchedulerTest {
+
+    @Autowired
+    private DueDateScheduler scheduler;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    // The scheduler is shared by every test in the context and its wheel never moves back,
+    // so each test's clock starts after the latest time an earlier test advanced it to
+    private static LocalDateTime latest = LocalDateTime.MIN;
+
+    private TestData.SeededTeam seeded;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        seeded = testData.teamWithTasks(3, 0);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (!now.isAfter(latest)) {
+            now = latest.plusSeconds(1);
+        }
+    }
+
+    private void fireDue(LocalDateTime at) {
+        scheduler.fireDue(at);
+        if (at.isAfter(latest)) {
+            latest = at;
+        }
+    }
+
+    private String taskId(int index) {
+        return seeded.tasks().get(index).getId();
+    }
+
+    private void setDueDate(int index, LocalDateTime dueDate) {
+        jdbcTemplate.update("UPDATE tasks SET due_date = ? WHERE id = ?", dueDate, taskId(index));
+    }
+
+    private List<String> events(String type, int index) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> type.equals(event.getType()) && taskId(index).equals(event.getTaskId()))
+                .map(OutboxEvent::getPayload)
+                .toList();
+    }
+
+    @Test
+    void firesEachEventOnceForTheCurrentDueDate() throws Exception {
+        setDueDate(0, now.minusHours(1));
+        setDueDate(1, now.plusHours(2));
+        setDueDate(2, now.plusDays(3));
+
+        scheduler.refill(now);
+        now = now.plusSeconds(2);
+        fireDue(now);
+
+        assertEquals(1, events("OVERDUE", 0).size());
+        assertEquals(1, events("REMINDER", 1).size());
+        assertEquals(0, events("OVERDUE", 1).size());
+        // Beyond the reminder lead and the window
+        assertEquals(0, events("REMINDER", 2).size());
+
+        // A later refill, or a second node, finds the events already fired
+        scheduler.refill(now);
+        scheduler.reschedule(taskId(0), now.minusHours(1));
+        now = now.plusSeconds(2);
+        fireDue(now);
+        assertEquals(1, events("OVERDUE", 0).size());
+        assertEquals(1, events("REMINDER", 1).size());
+
+        // Moving the due date re-arms it; the task becomes overdue again at the new date
+        LocalDateTime newDueDate = now.plusSeconds(5);
+        mockMvc.perform(put("/api/v1/tasks/" + taskId(0))
+                        .header("Authorization", "Bearer " + seeded.ownerToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("dueDate", newDueDate.toString()))))
+                .andExpect(status().isOk());
+        fireDue(now.plusSeconds(2));
+        assertEquals(1, events("OVERDUE", 0).size());
+        // Already inside the reminder lead, so the reminder fires straight away
+        assertEquals(1, events("REMINDER", 0).size());
+        fireDue(now.plusSeconds(7));
+        assertEquals(2, events("OVERDUE", 0).size());
+    }
+
+    @Test
+    void closedTasksFireNothing() {
+        setDueDate(0, now.minusMinutes(5));
+        jdbcTemplate.update("UPDATE tasks SET status = 'DONE' WHERE id = ?", taskId(0));
+
+        scheduler.refill(now);
+        fireDue(now.plusSeconds(2));
+
+        assertEquals(0, events("OVERDUE", 0).size());
+    }
+}
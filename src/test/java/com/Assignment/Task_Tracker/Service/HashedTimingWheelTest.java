@@ -0,0 +1,60 @@
+package com.Assignment.Task_Tracker.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    void firesOnTheFirstTickAtOrAfterTheDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 300);
+
+        assertTrue(wheel.advance(200).isEmpty());
+        assertTrue(wheel.advance(299).isEmpty());
+        assertEquals(List.of("a", "b"), wheel.advance(300).stream().sorted().toList());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneTurnUntilTheirOwnTurn() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0);
+        // Same slot as tick 1, three turns later
+        wheel.schedule("late", 1300);
+
+        assertTrue(wheel.advance(100).isEmpty());
+        assertTrue(wheel.advance(1200).isEmpty());
+        assertEquals(List.of("late"), wheel.advance(1300));
+    }
+
+    @Test
+    void catchesUpAfterALongPause() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0);
+        wheel.schedule("a", 100);
+        wheel.schedule("b", 900);
+        wheel.schedule("c", 5000);
+
+        assertEquals(List.of("a", "b"), wheel.advance(2000).stream().sorted().toList());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void cancelledAndPastTimers() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 200);
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+        assertEquals(0, wheel.size());
+
+        wheel.advance(500);
+        // A deadline already passed fires on the next tick
+        wheel.schedule("past", 100);
+        assertEquals(List.of("past"), wheel.advance(600));
+        assertTrue(wheel.advance(1000).isEmpty());
+    }
+}
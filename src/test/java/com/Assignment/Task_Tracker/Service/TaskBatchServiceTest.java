@@ -0,0 +1,214 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.BatchCreateTasksResponse;
+import com.Assignment.Task_Tracker.DTO.BulkTaskRequest;
+import com.Assignment.Task_Tracker.DTO.BulkTaskResponse;
+import com.Assignment.Task_Tracker.DTO.CreateTaskRequest;
+import com.Assignment.Task_Tracker.DTO.TaskChangeEvent;
+import com.Assignment.Task_Tracker.DTO.TaskTeamRow;
+import com.Assignment.Task_Tracker.DTO.TeamMemberRow;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.Team;
+import com.Assignment.Task_Tracker.Entity.User;
+import com.Assignment.Task_Tracker.Events.EventOutbox;
+import com.Assignment.Task_Tracker.Repository.AttachmentRepository;
+import com.Assignment.Task_Tracker.Repository.BlobRepository;
+import com.Assignment.Task_Tracker.Repository.CommentRepository;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TaskTombstoneRepository;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import com.Assignment.Task_Tracker.Repository.UserRepository;
+import com.Assignment.Task_Tracker.Search.TaskSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskBatchServiceTest {
+
+    private final TeamRepository teams = Mockito.mock(TeamRepository.class);
+    private final UserRepository users = Mockito.mock(UserRepository.class);
+    private final EntityManager entityManager = Mockito.mock(EntityManager.class);
+    private final TeamChangeStamps changeStamps = Mockito.mock(TeamChangeStamps.class);
+    private final EventOutbox outbox = Mockito.mock(EventOutbox.class);
+    private final TaskChangeSequence changeSequence = Mockito.mock(TaskChangeSequence.class);
+    private final TeamTaskStats teamStats = Mockito.mock(TeamTaskStats.class);
+    private final TaskRepository tasks = Mockito.mock(TaskRepository.class);
+    private final CommentRepository comments = Mockito.mock(CommentRepository.class);
+    private final AttachmentRepository attachments = Mockito.mock(AttachmentRepository.class);
+    private final BlobRepository blobs = Mockito.mock(BlobRepository.class);
+    private final TaskSearchIndex searchIndex = Mockito.mock(TaskSearchIndex.class);
+    private final TaskTombstoneRepository tombstones = Mockito.mock(TaskTombstoneRepository.class);
+    private final TaskBatchService service = new TaskBatchService(teams, users, tasks, comments, attachments, blobs,
+            searchIndex, entityManager, changeStamps, outbox, changeSequence, tombstones, teamStats, null);
+
+    private final User creator = User.builder().id("u1").firstName("Ada").lastName("L").build();
+    private final User outsider = User.builder().id("u2").build();
+    private final Team team = Team.builder().id("t1").name("Core").build();
+
+    @BeforeEach
+    void setUp() {
+        when(changeSequence.current()).thenReturn(7L);
+        when(users.findById("u1")).thenReturn(Optional.of(creator));
+        when(users.findAllById(any())).thenReturn(List.of(outsider));
+        when(teams.findAllById(any())).thenReturn(List.of(team));
+        when(teams.findMemberships(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new TeamMemberRow("t1", "u1")));
+    }
+
+    private CreateTaskRequest request(String title, String teamId, String assigneeId) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle(title);
+        request.setProjectId(teamId);
+        request.setAssignedToId(assigneeId);
+        return request;
+    }
+
+    @Test
+    void createTasks_reportsInvalidItemsAndPersistsTheRest() {
+        BatchCreateTasksResponse response = service.createTasks("u1", List.of(
+                request("First", "t1", null),
+                request(" ", "t1", null),
+                request("Third", "missing", null),
+                request("Fourth", "t1", "u2")));
+
+        assertEquals(4, response.getRequested());
+        assertEquals(1, response.getCreated());
+        assertEquals(3, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("Core", response.getResults().get(0).getTask().getTeamName());
+        assertFalse(response.getResults().get(3).isSuccess());
+        verify(entityManager, times(1)).persist(argThat(entity -> entity instanceof Task task && task.getChangeSeq() == 7L));
+        verify(entityManager, times(1)).flush();
+        verify(changeStamps, times(1)).touch("t1");
+        verify(teamStats).created(argThat(tasks -> tasks.size() == 1));
+        verify(outbox, times(1)).recordAll(argThat(events -> events.size() == 1
+                && events.get(0).getType() == TaskChangeEvent.Type.CREATED));
+    }
+
+    @Test
+    void createTasks_reportsValuesLongerThanTheirColumns() {
+        CreateTaskRequest longDescription = request("Fine", "t1", null);
+        longDescription.setDescription("d".repeat(TaskBatchService.MAX_DESCRIPTION_LENGTH + 1));
+
+        BatchCreateTasksResponse response = service.createTasks("u1", List.of(
+                request("t".repeat(TaskBatchService.MAX_TITLE_LENGTH + 1), "t1", null),
+                longDescription,
+                // Surrounding whitespace is trimmed before it is stored
+                request(" " + "t".repeat(TaskBatchService.MAX_TITLE_LENGTH) + " ", "t1", null)));
+
+        assertEquals(1, response.getCreated());
+        assertEquals("Title must be at most 100 characters", response.getResults().get(0).getError());
+        assertEquals("Description must be at most 2000 characters", response.getResults().get(1).getError());
+        assertTrue(response.getResults().get(2).isSuccess());
+        verify(entityManager, times(1)).persist(any(Task.class));
+    }
+
+    private static BulkTaskRequest bulk(String action, String value, List<String> taskIds) {
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setAction(action);
+        request.setValue(value);
+        request.setTaskIds(taskIds);
+        return request;
+    }
+
+    private static List<TaskTeamRow> rows(Collection<String> taskIds, String teamId) {
+        return taskIds.stream().map(id -> new TaskTeamRow(id, teamId)).toList();
+    }
+
+    @Test
+    void applyBulk_leavesTasksTheCallerMayNotManage() {
+        when(tasks.findManagedBy(anyCollection(), eq("u1"))).thenReturn(rows(List.of("a"), "t1"));
+        when(tasks.updatePriorityByIds(anyCollection(), any(), any(), anyLong())).thenReturn(1);
+
+        BulkTaskResponse response = service.applyBulk("u1", bulk("PRIORITY", "HIGH", List.of("a", "b", "c")));
+
+        assertEquals(3, response.getMatched());
+        assertEquals(2, response.getDenied());
+        assertEquals(1, response.getAffected());
+        assertEquals(0, response.getSkipped());
+        verify(tasks).updatePriorityByIds(eq(List.of("a")), eq(Task.Priority.HIGH), any(), eq(7L));
+        verify(outbox).recordAll(argThat(events -> events.size() == 1 && events.get(0).getTaskId().equals("a")));
+    }
+
+    @Test
+    void applyBulk_runsOneStatementPerChunk() {
+        List<String> ids = IntStream.range(0, 2 * TaskBatchService.BULK_CHUNK_SIZE + 1)
+                .mapToObj(i -> "task-" + i).toList();
+        when(tasks.findWorkableBy(anyCollection(), eq("u1")))
+                .thenAnswer(call -> rows(call.getArgument(0), "t1"));
+        when(tasks.updateStatusByIds(anyCollection(), any(), any(), anyLong()))
+                .thenAnswer(call -> ((Collection<?>) call.getArgument(0)).size());
+
+        BulkTaskResponse response = service.applyBulk("u1", bulk("STATUS", "DONE", ids));
+
+        assertEquals(ids.size(), response.getAffected());
+        verify(tasks, times(3)).findWorkableBy(anyCollection(), eq("u1"));
+        verify(tasks, times(2)).updateStatusByIds(argThat(chunk -> chunk.size() == TaskBatchService.BULK_CHUNK_SIZE),
+                eq(Task.TaskStatus.DONE), any(), eq(7L));
+        verify(tasks).updateStatusByIds(argThat(chunk -> chunk.size() == 1), eq(Task.TaskStatus.DONE), any(), eq(7L));
+    }
+
+    @Test
+    void applyBulk_deleteRemovesDependentsFirst() {
+        List<String> ids = List.of("a", "b");
+        when(tasks.findManagedBy(anyCollection(), eq("u1"))).thenReturn(rows(ids, "t1"));
+        when(tasks.deleteByIds(ids)).thenReturn(2);
+
+        BulkTaskResponse response = service.applyBulk("u1", bulk("DELETE", null, ids));
+
+        assertEquals(2, response.getAffected());
+        InOrder order = inOrder(tombstones, comments, blobs, attachments, tasks);
+        order.verify(tombstones).insertForTasks(eq(ids), eq(7L), any());
+        order.verify(comments).deleteByTaskIds(ids);
+        order.verify(blobs).releaseForTasks(eq(ids), any());
+        order.verify(attachments).deleteByTaskIds(ids);
+        order.verify(tasks).deleteByIds(ids);
+        verify(teamStats).deleted(any());
+        verify(searchIndex).removeTask("a");
+        verify(searchIndex).removeTask("b");
+    }
+
+    @Test
+    void applyBulk_assignSkipsTeamsWithoutTheAssigneeAndSendsThemNoEvents() {
+        when(users.existsById("u2")).thenReturn(true);
+        when(users.getReferenceById("u2")).thenReturn(outsider);
+        when(tasks.findManagedBy(anyCollection(), eq("u1")))
+                .thenReturn(List.of(new TaskTeamRow("a", "t1"), new TaskTeamRow("b", "t2")));
+        when(teams.findMemberships(anyCollection(), eq(List.of("u2"))))
+                .thenReturn(List.of(new TeamMemberRow("t1", "u2")));
+        when(tasks.assignByIds(anyCollection(), any(), any(), anyLong())).thenReturn(1);
+
+        BulkTaskResponse response = service.applyBulk("u1", bulk("ASSIGN", "u2", List.of("a", "b")));
+
+        assertEquals(0, response.getDenied());
+        assertEquals(1, response.getAffected());
+        assertEquals(1, response.getSkipped());
+        verify(tasks).assignByIds(eq(List.of("a")), eq(outsider), any(), eq(7L));
+        verify(outbox).recordAll(argThat(events -> events.size() == 1
+                && events.get(0).getTaskId().equals("a")
+                && events.get(0).getType() == TaskChangeEvent.Type.ASSIGNED));
+        verify(changeStamps).touch("t1");
+        verify(changeStamps, never()).touch("t2");
+    }
+}
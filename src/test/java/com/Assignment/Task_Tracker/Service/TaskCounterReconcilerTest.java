@@ -0,0 +1,68 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Support.StatementCountingDataSourceConfig;
+import com.Assignment.Task_Tracker.Support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drift in the denormalized counters is written back from the real rows; tasks whose
+ * counters already match are left alone, so their change sequence does not move.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCountingDataSourceConfig.class, TestData.class})
+public class TaskCounterReconcilerTest {
+
+    @Autowired
+    private TaskCounterReconciler reconciler;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Map<String, Object> counters(String taskId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT comment_count, attachment_count, change_seq FROM tasks WHERE id = ?", taskId);
+    }
+
+    @Test
+    void correctsDriftedCountersOnly() {
+        TestData.SeededTeam seeded = testData.teamWithTasks(3, 2);
+        String commentsDrifted = seeded.tasks().get(0).getId();
+        String attachmentsDrifted = seeded.tasks().get(1).getId();
+        String consistent = seeded.tasks().get(2).getId();
+        jdbcTemplate.update("UPDATE tasks SET comment_count = 99 WHERE id = ?", commentsDrifted);
+        jdbcTemplate.update("UPDATE tasks SET attachment_count = 5 WHERE id = ?", attachmentsDrifted);
+        Map<String, Object> before = counters(consistent);
+        long driftedSeq = ((Number) counters(commentsDrifted).get("change_seq")).longValue();
+
+        assertTrue(reconciler.reconcile() >= 2);
+
+        Map<String, Object> fixedComments = counters(commentsDrifted);
+        assertEquals(2, ((Number) fixedComments.get("comment_count")).intValue());
+        assertEquals(0, ((Number) fixedComments.get("attachment_count")).intValue());
+        assertNotEquals(driftedSeq, ((Number) fixedComments.get("change_seq")).longValue());
+        Map<String, Object> fixedAttachments = counters(attachmentsDrifted);
+        assertEquals(2, ((Number) fixedAttachments.get("comment_count")).intValue());
+        assertEquals(0, ((Number) fixedAttachments.get("attachment_count")).intValue());
+        assertEquals(before, counters(consistent));
+
+        // A second pass over consistent data changes nothing
+        assertEquals(0, reconciler.reconcile());
+    }
+}
@@ -0,0 +1,54 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TaskCursorTest {
+
+    @Test
+    void priorityCursor_roundTrips() {
+        Task task = new Task();
+        task.setId("b0c1");
+        task.setPriority(Task.Priority.HIGH);
+        task.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30));
+
+        TaskCursor decoded = TaskCursor.decode(TaskCursor.after(TaskSort.PRIORITY, task).encode(), TaskSort.PRIORITY);
+
+        assertEquals("HIGH", decoded.bucket());
+        assertEquals(task.getCreatedAt(), decoded.value());
+        assertEquals("b0c1", decoded.id());
+    }
+
+    @Test
+    void dueDateCursor_keepsMissingDueDate() {
+        Task task = new Task();
+        task.setId("a1");
+
+        TaskCursor decoded = TaskCursor.decode(TaskCursor.after(TaskSort.DUE_DATE, task).encode(), TaskSort.DUE_DATE);
+
+        assertNull(decoded.value());
+        assertEquals("a1", decoded.id());
+    }
+
+    @Test
+    void decode_rejectsCursorFromOtherSort() {
+        Task task = new Task();
+        task.setId("a1");
+        task.setCreatedAt(LocalDateTime.now());
+        String cursor = TaskCursor.after(TaskSort.CREATED_AT, task).encode();
+
+        assertThrows(BadRequestException.class, () -> TaskCursor.decode(cursor, TaskSort.UPDATED_AT));
+    }
+
+    @Test
+    void decode_rejectsGarbage() {
+        assertThrows(BadRequestException.class, () -> TaskCursor.decode("not-a-cursor", TaskSort.CREATED_AT));
+    }
+}
@@ -0,0 +1,70 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.DTO.TaskExportRow;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class TaskExportServiceTest {
+
+    private final TaskRepository repo = Mockito.mock(TaskRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final TaskExportService service = new TaskExportService(repo, null, objectMapper);
+
+    private TaskExportRow row(String id, String title) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        return new TaskExportRow(id, title, null, Task.TaskStatus.OPEN, Task.Priority.HIGH, null,
+                null, null, "u1", "alice", now, now);
+    }
+
+    @Test
+    void ndjson_writesOneObjectPerLine() throws Exception {
+        when(repo.streamExportRowsByTeamId("t1")).thenReturn(Stream.of(row("a", "First"), row("b", "Second")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.exportTeamTasks("t1", TaskExportService.ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{\"id\":\"b\""));
+    }
+
+    @Test
+    void csv_quotesSpecialCharacters() throws Exception {
+        when(repo.streamExportRowsByTeamId("t1")).thenReturn(Stream.of(row("a", "Fix \"login\", now")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportTeamTasks("t1", TaskExportService.ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("a,\"Fix \"\"login\"\", now\",,OPEN,HIGH,"));
+    }
+
+    @Test
+    void csv_neutralisesFormulas() {
+        assertEquals("'=1+2", TaskExportService.escapeCsv("=1+2"));
+        assertEquals("'+31 20 555", TaskExportService.escapeCsv("+31 20 555"));
+        assertEquals("'-cmd", TaskExportService.escapeCsv("-cmd"));
+        assertEquals("'@SUM(A1)", TaskExportService.escapeCsv("@SUM(A1)"));
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\", \"\"y\"\")\"",
+                TaskExportService.escapeCsv("=HYPERLINK(\"http://x\", \"y\")"));
+        assertEquals("a=b", TaskExportService.escapeCsv("a=b"));
+    }
+}
@@ -1,22 +1,98 @@
 package com.Assignment.Task_Tracker.Service;
 
+import com.Assignment.Task_Tracker.DTO.TaskStateRow;
 import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.Team;
+import com.Assignment.Task_Tracker.Entity.User;
+import com.Assignment.Task_Tracker.Events.EventOutbox;
 import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.UserRepository;
 import com.Assignment.Task_Tracker.Service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TaskServiceTest {
+    private final TaskRepository tasks = Mockito.mock(TaskRepository.class);
+    private final UserRepository users = Mockito.mock(UserRepository.class);
+    private final TeamMembershipIndex membershipIndex = Mockito.mock(TeamMembershipIndex.class);
+    private final TeamTaskStats teamStats = Mockito.mock(TeamTaskStats.class);
+    private final TaskChangeSequence changeSequence = Mockito.mock(TaskChangeSequence.class);
+    private final TaskService service = new TaskService(tasks, users, null, null, membershipIndex,
+            Mockito.mock(TeamChangeStamps.class), Mockito.mock(EventOutbox.class), changeSequence, null, teamStats,
+            null, null);
+
+    private final User owner = User.builder().id("owner").firstName("Team").lastName("Owner").build();
+    private final User outsider = User.builder().id("outsider").build();
+
     @Test
     void basicCrud() {
         TaskRepository repo = Mockito.mock(TaskRepository.class);
-        TaskService service = new TaskService(repo, null, null);
+        TaskService service = new TaskService(repo, null, null, null, null, null, null, null, null, null, null, null);
         Task t = new Task();
         t.setId("1L");
         when(repo.findById("1L")).thenReturn(Optional.of(t));
     }
+
+    private Task task(Task.TaskStatus status, long version) {
+        return Task.builder().id("t1").title("Task").status(status).priority(Task.Priority.MEDIUM)
+                .team(Team.builder().id("team").createdBy(owner).build())
+                .createdBy(owner).version(version).build();
+    }
+
+    private static TaskStateRow state(Task.TaskStatus status, long version) {
+        return new TaskStateRow("t1", "team", status, Task.Priority.MEDIUM, null, version, 0, 0);
+    }
+
+    @Test
+    void updateTaskStatus_retriesWhenAnotherWriteMovesTheTaskFirst() {
+        when(changeSequence.current()).thenReturn(7L);
+        when(users.existsById("owner")).thenReturn(true);
+        // Another request moves the task to IN_PROGRESS between the read and the UPDATE
+        when(tasks.findStateRowById("t1"))
+                .thenReturn(Optional.of(state(Task.TaskStatus.OPEN, 1)))
+                .thenReturn(Optional.of(state(Task.TaskStatus.IN_PROGRESS, 2)));
+        when(tasks.updateStatusIfPermitted(eq("t1"), eq(Task.TaskStatus.DONE), eq("owner"), any(), eq(7L),
+                eq(1L), eq(0), eq(0))).thenReturn(0);
+        when(tasks.updateStatusIfPermitted(eq("t1"), eq(Task.TaskStatus.DONE), eq("owner"), any(), eq(7L),
+                eq(2L), eq(0), eq(0))).thenReturn(1);
+        when(tasks.findById("t1")).thenReturn(Optional.of(task(Task.TaskStatus.IN_PROGRESS, 2)));
+        when(tasks.findWithDetailsById("t1")).thenReturn(Optional.of(task(Task.TaskStatus.DONE, 3)));
+
+        service.updateTaskStatus("t1", "DONE", "owner", null);
+
+        // The task leaves the cell the successful UPDATE replaced, not the one first read
+        verify(teamStats).moved(
+                argThat(before -> before.size() == 1
+                        && before.iterator().next().getStatus() == Task.TaskStatus.IN_PROGRESS),
+                argThat(after -> after.size() == 1
+                        && after.iterator().next().getStatus() == Task.TaskStatus.DONE));
+        verify(teamStats, never()).lock(anyCollection());
+    }
+
+    @Test
+    void updateTaskStatus_deniedCallerLocksNothing() {
+        when(changeSequence.current()).thenReturn(7L);
+        when(users.existsById("outsider")).thenReturn(true);
+        when(tasks.findStateRowById("t1")).thenReturn(Optional.of(state(Task.TaskStatus.OPEN, 1)));
+        when(tasks.findById("t1")).thenReturn(Optional.of(task(Task.TaskStatus.OPEN, 1)));
+
+        assertThrows(SecurityException.class, () -> service.updateTaskStatus("t1", "DONE", outsider.getId(), null));
+
+        verify(tasks, times(1)).updateStatusIfPermitted(any(), any(), any(), any(), anyLong(), any(), any(), any());
+        verify(teamStats, never()).lock(anyCollection());
+        verify(teamStats, never()).moved(any(), any());
+    }
 }
@@ -0,0 +1,157 @@
+package com.Assignment.Task_Tracker.Service;
+
+import com.Assignment.Task_Tracker.Entity.Team;
+import com.Assignment.Task_Tracker.Entity.TeamMembershipChangedEvent;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TeamMembershipIndexTest {
+
+    private TeamRepository teams;
+    private TeamMembershipIndex index;
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        teams = Mockito.mock(TeamRepository.class);
+        index = new TeamMembershipIndex(teams, true, 2, 30_000, 3, clock);
+        when(teams.findCreatedById("t1")).thenReturn(Optional.of("owner"));
+        when(teams.findMemberIds("t1")).thenReturn(List.of("owner", "u1"));
+    }
+
+    @Test
+    void answersFromOneLoadPerTeam() {
+        assertTrue(index.isMember("t1", "u1"));
+        assertTrue(index.isMember("t1", "owner"));
+        assertFalse(index.isMember("t1", "u2"));
+        assertTrue(index.isOwner("t1", "owner"));
+        assertFalse(index.isOwner("t1", "u1"));
+
+        verify(teams, times(1)).findMemberIds("t1");
+    }
+
+    @Test
+    void unknownTeamIsNeitherCachedNorMatched() {
+        when(teams.findCreatedById("missing")).thenReturn(Optional.empty());
+
+        assertFalse(index.isMember("missing", "u1"));
+        assertEquals(0, index.cachedTeams());
+    }
+
+    @Test
+    void membershipChangeEventReloadsTeam() {
+        assertFalse(index.isMember("t1", "u2"));
+        when(teams.findMemberIds("t1")).thenReturn(List.of("owner", "u1", "u2"));
+
+        Team team = Team.builder().id("t1").build();
+        index.onMembershipChanged(new TeamMembershipChangedEvent(team, "u2", true));
+
+        assertTrue(index.isMember("t1", "u2"));
+        verify(teams, times(2)).findMemberIds("t1");
+    }
+
+    @Test
+    void evictsWhenFull() {
+        for (String id : List.of("t2", "t3")) {
+            when(teams.findCreatedById(id)).thenReturn(Optional.of("owner"));
+            when(teams.findMemberIds(id)).thenReturn(List.of("owner"));
+        }
+
+        index.isMember("t1", "u1");
+        index.isMember("t2", "u1");
+        index.isMember("t3", "u1");
+
+        assertEquals(2, index.cachedTeams());
+    }
+
+    @Test
+    void reloadsAfterTheTtlSoOtherNodesChangesShowUp() {
+        assertTrue(index.isMember("t1", "u1"));
+        // Removed on another node: no local event arrives
+        when(teams.findMemberIds("t1")).thenReturn(List.of("owner"));
+
+        clock.advance(Duration.ofSeconds(29));
+        assertTrue(index.isMember("t1", "u1"));
+        clock.advance(Duration.ofSeconds(2));
+        assertFalse(index.isMember("t1", "u1"));
+        verify(teams, times(2)).findMemberIds("t1");
+    }
+
+    @Test
+    void startsOverWhenUserOrdinalsRunOut() {
+        when(teams.findCreatedById("t2")).thenReturn(Optional.of("owner"));
+        when(teams.findMemberIds("t2")).thenReturn(List.of("owner", "u2", "u3"));
+
+        assertTrue(index.isMember("t1", "u1"));
+        assertEquals(2, index.knownUsers());
+        assertTrue(index.isMember("t2", "u3"));
+        assertFalse(index.isMember("t2", "u1"));
+        assertTrue(index.isMember("t1", "u1"));
+
+        assertTrue(index.knownUsers() <= 3);
+        assertTrue(index.cachedTeams() <= 1);
+    }
+
+    @Test
+    void invalidatingUnknownTeamsKeepsNothing() {
+        for (int i = 0; i < 100; i++) {
+            index.invalidate("gone-" + i);
+        }
+
+        assertEquals(0, index.cachedTeams());
+        assertEquals(0, index.knownUsers());
+    }
+
+    @Test
+    void fallsBackToExistenceQueryWhenDisabled() {
+        TeamMembershipIndex disabled = new TeamMembershipIndex(teams, false, 2, 30_000, 3, clock);
+        when(teams.existsMembership("t1", "u1")).thenReturn(true);
+
+        assertTrue(disabled.isMember("t1", "u1"));
+        verify(teams, times(0)).findMemberIds("t1");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.Assignment.Task_Tracker.Storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private BlobStore store;
+    private final String uploadId = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new BlobStore(root.toString());
+        store.init();
+    }
+
+    private void sendChunk(int index, byte[] content) throws IOException {
+        StagedBlob chunk = store.stage(new ByteArrayInputStream(content), content.length);
+        store.publishChunk(chunk, uploadId, index);
+    }
+
+    private static byte[] filled(int size, int value) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+    @Test
+    void concatenatesPartsMatchingTheirDigest() throws IOException {
+        sendChunk(0, filled(10, 'a'));
+        sendChunk(1, filled(5, 'b'));
+        List<Path> parts = store.chunkFiles(uploadId, 2);
+
+        StagedBlob assembled = store.concatenate(parts, store.digest(parts));
+        store.publish(assembled);
+
+        byte[] expected = new byte[15];
+        System.arraycopy(filled(10, 'a'), 0, expected, 0, 10);
+        System.arraycopy(filled(5, 'b'), 0, expected, 10, 5);
+        assertArrayEquals(expected, Files.readAllBytes(store.find(assembled.sha256()).orElseThrow()));
+    }
+
+    @Test
+    void rejectsAChunkReplacedBetweenDigestAndConcatenate() throws IOException {
+        sendChunk(0, filled(10, 'a'));
+        sendChunk(1, filled(5, 'b'));
+        List<Path> parts = store.chunkFiles(uploadId, 2);
+        StagedBlob digest = store.digest(parts);
+
+        // Same size, different bytes: a size check alone would let this through
+        sendChunk(1, filled(5, 'c'));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> store.concatenate(parts, digest));
+        assertTrue(store.find(digest.sha256()).isEmpty());
+        try (var leftovers = Files.list(root.resolve("tmp"))) {
+            assertTrue(leftovers.findAny().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.Assignment.Task_Tracker.Support;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails a test when an action runs more SQL statements than its budget, listing the statements
+ * so the offending N+1 is obvious. Requires {@link StatementCountingDataSourceConfig}.
+ *
+ * <pre>
+ * assertMaxQueries(2, () -> mockMvc.perform(get("/api/v1/tasks")).andExpect(status().isOk()));
+ * </pre>
+ */
+public final class QueryBudget {
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+
+    private QueryBudget() {
+        // Utility class
+    }
+
+    public static void assertMaxQueries(int max, SqlAction action) throws Exception {
+        SqlStatementCounter.reset();
+        action.run();
+        List<String> statements = SqlStatementCounter.statements();
+        if (statements.size() > max) {
+            StringBuilder message = new StringBuilder(String.format(
+                    "Expected at most %d SQL statements but %d were executed:%n", max, statements.size()));
+            for (int i = 0; i < statements.size(); i++) {
+                message.append(String.format("  %d. %s%n", i + 1, statements.get(i)));
+            }
+            fail(message.toString());
+        }
+    }
+}
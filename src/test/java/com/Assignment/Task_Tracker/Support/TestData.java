@@ -0,0 +1,95 @@
+package com.Assignment.Task_Tracker.Support;
+
+import com.Assignment.Task_Tracker.Entity.Comment;
+import com.Assignment.Task_Tracker.Entity.Task;
+import com.Assignment.Task_Tracker.Entity.Team;
+import com.Assignment.Task_Tracker.Entity.User;
+import com.Assignment.Task_Tracker.Repository.CommentRepository;
+import com.Assignment.Task_Tracker.Repository.TaskRepository;
+import com.Assignment.Task_Tracker.Repository.TeamRepository;
+import com.Assignment.Task_Tracker.Repository.UserRepository;
+import com.Assignment.Task_Tracker.Security.JwtUtil;
+import com.Assignment.Task_Tracker.Service.TaskChangeSequence;
+import com.Assignment.Task_Tracker.Service.TeamChangeStamps;
+import com.Assignment.Task_Tracker.Service.TeamTaskStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds a team with an owner, a second member and a page of tasks for integration tests.
+ * Names are unique per call because the test database lives as long as the Spring context.
+ */
+@TestComponent
+public class TestData {
+
+    public record SeededTeam(User owner, User member, Team team, List<Task> tasks, String ownerToken) {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private TeamChangeStamps changeStamps;
+    @Autowired
+    private TaskChangeSequence changeSequence;
+    @Autowired
+    private TeamTaskStats teamStats;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Transactional
+    public SeededTeam teamWithTasks(int taskCount, int commentsPerTask) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = userRepository.save(user("owner-" + suffix));
+        User member = userRepository.save(user("member-" + suffix));
+
+        Team team = Team.builder().name("team-" + suffix).createdBy(owner).build();
+        team.addMember(owner);
+        team.addMember(member);
+        team = teamRepository.save(team);
+        changeStamps.register(team.getId());
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .priority(Task.Priority.MEDIUM)
+                    .status(Task.TaskStatus.OPEN)
+                    .dueDate(LocalDateTime.now().plusDays(i))
+                    .team(team)
+                    .createdBy(owner)
+                    .assignedTo(i % 2 == 0 ? member : owner)
+                    .changeSeq(changeSequence.current())
+                    .build());
+            for (int c = 0; c < commentsPerTask; c++) {
+                commentRepository.save(Comment.builder().content("Comment " + c).task(task).user(member).build());
+                taskRepository.adjustCommentCount(task.getId(), 1, changeSequence.current());
+            }
+            tasks.add(task);
+        }
+        teamStats.created(tasks);
+        return new SeededTeam(owner, member, team, tasks, jwtUtil.generateToken(owner.getId()));
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}secret")
+                .firstName("Test")
+                .lastName(username)
+                .build();
+    }
+}